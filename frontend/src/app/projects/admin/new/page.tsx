@@ -4,6 +4,7 @@ import { FormEvent, useEffect, useState } from "react";
 import { useRouter } from "next/navigation";
 import { clearAdminAuthHeader, getAdminRole, isAdminLoggedIn, setAdminAuthSession, withAdminAuthHeaders } from "@/lib/admin-auth";
 import NotionMarkdownEditor from "@/components/notion-markdown-editor";
+import { uploadProjectAssets } from "@/lib/project-asset-upload";
 import type { ProjectCategory, ProjectDto } from "@/lib/types";
 
 const ADMIN_PROJECT_API_BASE = "/api/admin/projects";
@@ -27,30 +28,8 @@ async function uploadSelectedFiles(projectId: number, files: File[]): Promise<st
   if (files.length === 0) {
     return [];
   }
-
-  const failures: string[] = [];
-
-  for (const file of files) {
-    const formData = new FormData();
-    formData.append("file", file);
-
-    try {
-      const response = await fetch(`${ADMIN_PROJECT_API_BASE}/${projectId}/assets`, {
-        method: "POST",
-        headers: withAdminAuthHeaders(),
-        credentials: "include",
-        body: formData,
-      });
-
-      if (!response.ok) {
-        failures.push(file.name);
-      }
-    } catch {
-      failures.push(file.name);
-    }
-  }
-
-  return failures;
+  const { failed } = await uploadProjectAssets(projectId, files);
+  return failed;
 }
 
 export default function AdminProjectCreatePage() {
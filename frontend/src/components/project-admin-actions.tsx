@@ -4,6 +4,7 @@ import { FormEvent, useEffect, useMemo, useState, useSyncExternalStore } from "r
 import { useRouter } from "next/navigation";
 import { canAdminManageProjects, clearAdminAuthHeader, isAdminLoggedIn, subscribeAdminAuth, withAdminAuthHeaders } from "@/lib/admin-auth";
 import { resolvePublicAssetUrl } from "@/lib/asset-url";
+import { uploadProjectAssets } from "@/lib/project-asset-upload";
 import { useSiteLanguage } from "@/components/i18n-text";
 import NotionMarkdownEditor from "@/components/notion-markdown-editor";
 import type { ProjectAssetDto, ProjectCategory, ProjectDto } from "@/lib/types";
@@ -156,34 +157,7 @@ export default function ProjectAdminActions({ project, returnPath, disabled = fa
   }
 
   async function uploadSelectedFiles(): Promise<{ uploaded: ProjectAssetDto[]; failed: string[] }> {
-    const uploaded: ProjectAssetDto[] = [];
-    const failed: string[] = [];
-
-    for (const file of selectedFiles) {
-      const formData = new FormData();
-      formData.append("file", file);
-
-      try {
-        const response = await fetch(`${ADMIN_PROJECT_API_BASE}/${project.id}/assets`, {
-          method: "POST",
-          headers: withAdminAuthHeaders(),
-          credentials: "include",
-          body: formData,
-        });
-
-        if (!response.ok) {
-          failed.push(file.name);
-          continue;
-        }
-
-        const createdAsset = (await response.json()) as ProjectAssetDto;
-        uploaded.push(createdAsset);
-      } catch {
-        failed.push(file.name);
-      }
-    }
-
-    return { uploaded, failed };
+    return uploadProjectAssets(project.id, selectedFiles);
   }
 
   function onStartEdit() {
@@ -0,0 +1,179 @@
+import { withAdminAuthHeaders } from "./admin-auth";
+import type { ProjectAssetDto } from "./types";
+
+const ADMIN_PROJECT_API_BASE = "/api/admin/projects";
+// Stay below the server's multipart max-request-size (50MB) and batch max-files limits.
+const MAX_FILES_PER_REQUEST = 20;
+const MAX_BYTES_PER_REQUEST = 40 * 1024 * 1024;
+// Files above the server's multipart max-file-size (20MB) go through a resumable upload session instead.
+const RESUMABLE_THRESHOLD = 16 * 1024 * 1024;
+const RESUMABLE_CHUNK_SIZE = 8 * 1024 * 1024;
+const RESUMABLE_MAX_RETRIES = 5;
+
+type BatchUploadResponse = {
+  uploaded: number;
+  failed: number;
+  results: Array<{
+    fileName: string;
+    uploaded: boolean;
+    asset: ProjectAssetDto | null;
+    error: string | null;
+  }>;
+};
+
+type UploadSessionDto = {
+  uploadId: string;
+  offset: number;
+  length: number;
+};
+
+export type ProjectAssetUploadResult = {
+  uploaded: ProjectAssetDto[];
+  failed: string[];
+};
+
+function splitIntoRequests(files: File[]): File[][] {
+  const groups: File[][] = [];
+  let current: File[] = [];
+  let currentBytes = 0;
+
+  for (const file of files) {
+    const full = current.length >= MAX_FILES_PER_REQUEST || currentBytes + file.size > MAX_BYTES_PER_REQUEST;
+    if (current.length > 0 && full) {
+      groups.push(current);
+      current = [];
+      currentBytes = 0;
+    }
+    current.push(file);
+    currentBytes += file.size;
+  }
+  if (current.length > 0) {
+    groups.push(current);
+  }
+  return groups;
+}
+
+async function readSession(response: Response): Promise<UploadSessionDto | null> {
+  if (!response.ok && response.status !== 409) {
+    return null;
+  }
+  const body = (await response.json()) as UploadSessionDto;
+  return typeof body.offset === "number" ? body : null;
+}
+
+async function uploadResumable(projectId: number, file: File): Promise<ProjectAssetDto | null> {
+  const sessionUrl = `${ADMIN_PROJECT_API_BASE}/${projectId}/assets/uploads`;
+  const created = await fetch(sessionUrl, {
+    method: "POST",
+    headers: withAdminAuthHeaders({ "Content-Type": "application/json" }),
+    credentials: "include",
+    body: JSON.stringify({ fileName: file.name, contentType: file.type || null, length: file.size }),
+  });
+  if (!created.ok) {
+    return null;
+  }
+  const { uploadId } = (await created.json()) as UploadSessionDto;
+  const uploadUrl = `${sessionUrl}/${uploadId}`;
+
+  let offset = 0;
+  let retries = 0;
+  while (offset < file.size) {
+    try {
+      const response = await fetch(uploadUrl, {
+        method: "PATCH",
+        headers: withAdminAuthHeaders({
+          "Content-Type": "application/offset+octet-stream",
+          "Upload-Offset": String(offset),
+        }),
+        credentials: "include",
+        body: file.slice(offset, Math.min(offset + RESUMABLE_CHUNK_SIZE, file.size)),
+      });
+      const session = await readSession(response);
+      if (session === null) {
+        throw new Error(`Chunk upload failed: ${response.status}`);
+      }
+      offset = session.offset;
+      if (response.ok) {
+        retries = 0;
+        continue;
+      }
+    } catch {
+      // Fall through and ask the server how far it got.
+    }
+
+    retries += 1;
+    if (retries > RESUMABLE_MAX_RETRIES) {
+      await fetch(uploadUrl, { method: "DELETE", headers: withAdminAuthHeaders(), credentials: "include" }).catch(() => {});
+      return null;
+    }
+    try {
+      const status = await fetch(uploadUrl, { headers: withAdminAuthHeaders(), credentials: "include" });
+      const session = await readSession(status);
+      if (session === null) {
+        return null;
+      }
+      offset = session.offset;
+    } catch {
+      // Retry the chunk from the last known offset.
+    }
+  }
+
+  const completed = await fetch(`${uploadUrl}/complete`, {
+    method: "POST",
+    headers: withAdminAuthHeaders(),
+    credentials: "include",
+  });
+  return completed.ok ? ((await completed.json()) as ProjectAssetDto) : null;
+}
+
+export async function uploadProjectAssets(projectId: number, files: File[]): Promise<ProjectAssetUploadResult> {
+  const uploaded: ProjectAssetDto[] = [];
+  const failed: string[] = [];
+
+  for (const file of files.filter((candidate) => candidate.size > RESUMABLE_THRESHOLD)) {
+    try {
+      const asset = await uploadResumable(projectId, file);
+      if (asset) {
+        uploaded.push(asset);
+      } else {
+        failed.push(file.name);
+      }
+    } catch {
+      failed.push(file.name);
+    }
+  }
+
+  for (const group of splitIntoRequests(files.filter((candidate) => candidate.size <= RESUMABLE_THRESHOLD))) {
+    const formData = new FormData();
+    for (const file of group) {
+      formData.append("files", file);
+    }
+
+    try {
+      const response = await fetch(`${ADMIN_PROJECT_API_BASE}/${projectId}/assets/batch`, {
+        method: "POST",
+        headers: withAdminAuthHeaders(),
+        credentials: "include",
+        body: formData,
+      });
+
+      if (!response.ok) {
+        failed.push(...group.map((file) => file.name));
+        continue;
+      }
+
+      const body = (await response.json()) as BatchUploadResponse;
+      for (const result of body.results) {
+        if (result.uploaded && result.asset) {
+          uploaded.push(result.asset);
+        } else {
+          failed.push(result.fileName);
+        }
+      }
+    } catch {
+      failed.push(...group.map((file) => file.name));
+    }
+  }
+
+  return { uploaded, failed };
+}
@@ -35,6 +35,16 @@ function isGifAsset(asset: ProjectAssetDto): boolean {
   return hasGifExtension(asset.originalName) || hasGifExtension(asset.url);
 }
 
+const PREVIEW_CARD_WIDTH = 640;
+
+function withPreviewWidth(asset: ProjectAssetDto): string {
+  if (!asset.derivativeWidths?.length) {
+    return asset.url;
+  }
+  const separator = asset.url.includes("?") ? "&" : "?";
+  return `${asset.url}${separator}w=${PREVIEW_CARD_WIDTH}`;
+}
+
 export type ProjectPreviewMedia = {
   alt: string;
   isGif: boolean;
@@ -49,7 +59,7 @@ export function pickProjectPreviewMedia(project: { assets?: ProjectAssetDto[]; t
   }
 
   return {
-    url: resolvePublicAssetUrl(imageAsset.url),
+    url: resolvePublicAssetUrl(withPreviewWidth(imageAsset)),
     alt: imageAsset.originalName?.trim() || `${project.title} preview`,
     isGif: isGifAsset(imageAsset),
   };
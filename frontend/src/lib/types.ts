@@ -7,7 +7,12 @@ export type ProjectAssetDto = {
   originalName: string;
   contentType: string | null;
   fileSize: number;
+  sha256?: string | null;
   url: string;
+  derivativeWidths?: number[];
+  width?: number | null;
+  height?: number | null;
+  blurhash?: string | null;
   createdAt: string;
 };
 
@@ -19,6 +24,7 @@ export type ProjectDto = {
   summary: string;
   projectPeriod: string | null;
   contentMarkdown: string;
+  contentHtml?: string | null;
   githubUrl: string | null;
   assets?: ProjectAssetDto[];
   createdAt: string;
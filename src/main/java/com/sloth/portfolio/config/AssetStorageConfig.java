@@ -0,0 +1,124 @@
+package com.sloth.portfolio.config;
+
+import com.sloth.portfolio.storage.AssetStorage;
+import com.sloth.portfolio.storage.CachingAssetStorage;
+import com.sloth.portfolio.storage.CircuitBreakingAssetStorage;
+import com.sloth.portfolio.storage.HedgingAssetStorage;
+import com.sloth.portfolio.storage.InMemoryAssetStorage;
+import com.sloth.portfolio.storage.LocalAssetStorage;
+import com.sloth.portfolio.storage.MeteredAssetStorage;
+import com.sloth.portfolio.storage.RetryingAssetStorage;
+import com.sloth.portfolio.storage.SupabaseAssetStorage;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Builds the asset storage stack for {@code app.upload.provider}. The remote backend is wrapped, outermost
+ * first, in the node-local cache, the circuit breaker, retries, optional hedged reads and metrics, so a cache
+ * hit never reaches the network, an open circuit skips the retry loop, and every attempt is measured on its
+ * own. Local files are already on disk and only get metrics. Spring closes the outermost layer on shutdown,
+ * and each layer closes the one it wraps.
+ */
+@Configuration
+public class AssetStorageConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(AssetStorageConfig.class);
+
+    @Bean
+    public AssetStorage assetStorage(
+            MeterRegistry meterRegistry,
+            @Value("${app.upload.provider:auto}") String uploadProvider,
+            @Value("${app.upload.dir:uploads}") String uploadDir,
+            @Value("${app.upload.supabase.url:}") String supabaseUrl,
+            @Value("${app.upload.supabase.bucket:}") String supabaseBucket,
+            @Value("${app.upload.supabase.service-role-key:}") String supabaseServiceRoleKey,
+            @Value("${app.upload.supabase.connect-timeout:3s}") Duration supabaseConnectTimeout,
+            @Value("${app.upload.supabase.read-timeout:15s}") Duration supabaseReadTimeout,
+            @Value("${app.upload.supabase.upload-timeout:120s}") Duration supabaseUploadTimeout,
+            @Value("${app.upload.cache.enabled:true}") boolean cacheEnabled,
+            @Value("${app.upload.cache.dir:asset-cache}") String cacheDir,
+            @Value("${app.upload.cache.max-size:1GB}") DataSize cacheMaxSize,
+            @Value("${app.upload.cache.max-entry-size:64MB}") DataSize cacheMaxEntrySize,
+            @Value("${app.upload.cache.fill-wait-timeout:60s}") Duration cacheFillWaitTimeout,
+            @Value("${app.upload.retry.max-attempts:3}") int retryMaxAttempts,
+            @Value("${app.upload.retry.initial-backoff:200ms}") Duration retryInitialBackoff,
+            @Value("${app.upload.circuit-breaker.failure-threshold:5}") int circuitFailureThreshold,
+            @Value("${app.upload.circuit-breaker.open-duration:30s}") Duration circuitOpenDuration,
+            @Value("${app.upload.hedge.enabled:false}") boolean hedgeEnabled,
+            @Value("${app.upload.hedge.delay:300ms}") Duration hedgeDelay,
+            @Value("${app.upload.hedge.max-concurrency:32}") int hedgeMaxConcurrency
+    ) {
+        String provider = resolveProvider(uploadProvider, supabaseUrl, supabaseBucket, supabaseServiceRoleKey);
+        switch (provider) {
+            case "local" -> {
+                Path root = Path.of(uploadDir).toAbsolutePath().normalize();
+                log.info("Project asset storage provider: LOCAL (dir={})", root);
+                return new MeteredAssetStorage(new LocalAssetStorage(root), meterRegistry);
+            }
+            case "memory" -> {
+                log.info("Project asset storage provider: MEMORY (objects are lost on restart)");
+                return new MeteredAssetStorage(new InMemoryAssetStorage(), meterRegistry);
+            }
+            default -> {
+                log.info("Project asset storage provider: SUPABASE (bucket={})", supabaseBucket.trim());
+                AssetStorage storage = new MeteredAssetStorage(
+                        new SupabaseAssetStorage(
+                                SupabaseAssetStorage.newHttpClient(supabaseConnectTimeout),
+                                supabaseUrl,
+                                supabaseBucket,
+                                supabaseServiceRoleKey,
+                                supabaseReadTimeout,
+                                supabaseUploadTimeout
+                        ),
+                        meterRegistry
+                );
+                if (hedgeEnabled) {
+                    storage = new HedgingAssetStorage(storage, hedgeDelay, supabaseReadTimeout, hedgeMaxConcurrency, meterRegistry);
+                }
+                storage = new RetryingAssetStorage(storage, retryMaxAttempts, retryInitialBackoff);
+                storage = new CircuitBreakingAssetStorage(storage, circuitFailureThreshold, circuitOpenDuration, meterRegistry);
+                return cacheEnabled
+                        ? new CachingAssetStorage(storage, Path.of(cacheDir), cacheMaxSize.toBytes(), cacheMaxEntrySize.toBytes(), cacheFillWaitTimeout)
+                        : storage;
+            }
+        }
+    }
+
+    private static String resolveProvider(
+            String configuredProvider,
+            String supabaseUrl,
+            String supabaseBucket,
+            String serviceRoleKey
+    ) {
+        String providerValue = isBlank(configuredProvider) ? "auto" : configuredProvider.trim().toLowerCase(Locale.ROOT);
+        boolean supabaseConfigComplete = !isBlank(supabaseUrl) && !isBlank(supabaseBucket) && !isBlank(serviceRoleKey);
+
+        return switch (providerValue) {
+            case "auto" -> supabaseConfigComplete ? "supabase" : "local";
+            case "local", "memory" -> providerValue;
+            case "supabase" -> {
+                if (!supabaseConfigComplete) {
+                    throw new IllegalStateException(
+                            "APP_UPLOAD_PROVIDER is 'supabase' but Supabase Storage config is incomplete. "
+                                    + "Required: APP_UPLOAD_SUPABASE_URL, APP_UPLOAD_SUPABASE_BUCKET, APP_UPLOAD_SUPABASE_SERVICE_ROLE_KEY"
+                    );
+                }
+                yield providerValue;
+            }
+            default -> throw new IllegalStateException("Unsupported app.upload.provider value: " + configuredProvider);
+        };
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
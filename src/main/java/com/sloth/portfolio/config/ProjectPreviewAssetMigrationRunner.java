@@ -0,0 +1,59 @@
+package com.sloth.portfolio.config;
+
+import com.sloth.portfolio.repo.PreviewImageView;
+import com.sloth.portfolio.repo.ProjectAssetRepository;
+import com.sloth.portfolio.repo.ProjectRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Fills {@code projects.preview_asset_id} for projects created before the column existed. Uploads and
+ * deletes keep it current afterwards, so once every project with an image has one this finds nothing to do.
+ * Runs before the public catalog is first built, so the first snapshot already has the previews.
+ */
+@Component
+@ConditionalOnProperty(
+        prefix = "app.migration.backfill-preview-assets",
+        name = "enabled",
+        havingValue = "true",
+        matchIfMissing = true
+)
+public class ProjectPreviewAssetMigrationRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectPreviewAssetMigrationRunner.class);
+    private static final int BATCH_SIZE = 500;
+
+    private final ProjectRepository projectRepository;
+    private final ProjectAssetRepository projectAssetRepository;
+
+    public ProjectPreviewAssetMigrationRunner(
+            ProjectRepository projectRepository,
+            ProjectAssetRepository projectAssetRepository
+    ) {
+        this.projectRepository = projectRepository;
+        this.projectAssetRepository = projectAssetRepository;
+    }
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        List<Long> projectIds = projectRepository.findIdsWithoutPreviewAsset();
+        int updated = 0;
+        for (int from = 0; from < projectIds.size(); from += BATCH_SIZE) {
+            List<Long> batch = projectIds.subList(from, Math.min(from + BATCH_SIZE, projectIds.size()));
+            for (PreviewImageView preview : projectAssetRepository.findFirstImagePerProject(batch)) {
+                updated += projectRepository.claimPreviewAsset(preview.getProjectId(), preview.getId());
+            }
+        }
+        if (updated > 0) {
+            log.info("Project preview asset backfill set {} preview(s).", updated);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.sloth.portfolio.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * One stored object, shared by every project asset uploaded with the same bytes. The object is removed
+ * from storage once the last referencing asset is deleted.
+ */
+@Entity
+@Table(
+        name = "asset_blobs",
+        indexes = {
+                @Index(name = "uk_asset_blobs_sha256", columnList = "sha256", unique = true),
+                @Index(name = "uk_asset_blobs_stored_name", columnList = "stored_name", unique = true)
+        }
+)
+public class AssetBlob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "sha256", nullable = false, length = 64, unique = true)
+    private String sha256;
+
+    @Column(name = "stored_name", nullable = false, length = 140, unique = true)
+    private String storedName;
+
+    @Column(name = "file_size", nullable = false)
+    private long fileSize;
+
+    /**
+     * Widths of the resized copies stored next to the object, ascending and comma separated.
+     */
+    @Column(name = "derivative_widths", length = 64)
+    private String derivativeWidths;
+
+    @Column(name = "image_width")
+    private Integer imageWidth;
+
+    @Column(name = "image_height")
+    private Integer imageHeight;
+
+    @Column(name = "blurhash", length = 64)
+    private String blurhash;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    protected AssetBlob() {
+        // JPA default constructor
+    }
+
+    public AssetBlob(String sha256, String storedName, long fileSize) {
+        if (sha256 == null || sha256.length() != 64) {
+            throw new IllegalArgumentException("sha256 must be a 64 character hex digest");
+        }
+        if (storedName == null || storedName.isBlank()) {
+            throw new IllegalArgumentException("storedName must not be blank");
+        }
+        if (fileSize < 0) {
+            throw new IllegalArgumentException("fileSize must be non-negative");
+        }
+        this.sha256 = sha256;
+        this.storedName = storedName.trim();
+        this.fileSize = fileSize;
+        this.refCount = 0;
+    }
+
+    @PrePersist
+    void onCreate() {
+        this.createdAt = Instant.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public String getStoredName() {
+        return storedName;
+    }
+
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    public int getRefCount() {
+        return refCount;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public List<Integer> getDerivativeWidths() {
+        return ProjectAsset.parseDerivativeWidths(derivativeWidths);
+    }
+
+    public void recordDerivativeWidths(List<Integer> widths) {
+        this.derivativeWidths = widths == null || widths.isEmpty()
+                ? null
+                : widths.stream().sorted().distinct().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    public Integer getImageWidth() {
+        return imageWidth;
+    }
+
+    public Integer getImageHeight() {
+        return imageHeight;
+    }
+
+    public String getBlurhash() {
+        return blurhash;
+    }
+
+    /**
+     * Dimensions and placeholder read from the image at upload; all null for files that are not images.
+     */
+    public void recordImageMetadata(Integer width, Integer height, String blurhash) {
+        this.imageWidth = width;
+        this.imageHeight = height;
+        this.blurhash = blurhash;
+    }
+
+    public void retain() {
+        refCount++;
+    }
+
+    /**
+     * @return {@code true} when no asset references the blob any more
+     */
+    public boolean release() {
+        if (refCount > 0) {
+            refCount--;
+        }
+        return refCount == 0;
+    }
+}
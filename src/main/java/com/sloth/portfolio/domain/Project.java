@@ -10,7 +10,9 @@ import java.util.List;
         name = "projects",
         indexes = {
                 @Index(name = "idx_projects_category", columnList = "category"),
-                @Index(name = "idx_projects_created_at", columnList = "created_at", unique = false),
+                // Keyset pagination walks (created_at, id) newest first, optionally within one category.
+                @Index(name = "idx_projects_created_at_id", columnList = "created_at, id"),
+                @Index(name = "idx_projects_category_created_at_id", columnList = "category, created_at, id"),
                 @Index(name = "uk_projects_slug", columnList = "slug", unique = true)
         }
 )
@@ -49,12 +51,35 @@ public class Project {
     @Column(nullable = false)
     private String contentMarkdown;
 
+    /**
+     * contentMarkdown을 서버에서 렌더링해 sanitize한 HTML. 아직 렌더링되지 않았으면 null.
+     */
+    @Lob
+    @Column(name = "content_html")
+    private String contentHtml;
+
+    /**
+     * contentHtml을 만든 원문의 SHA-256(hex)과 렌더러 버전. 둘 다 같으면 다시 렌더링하지 않는다.
+     */
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "content_renderer_version")
+    private Integer contentRendererVersion;
+
     /**
      * GitHub repositort URL
      */
     @Column(length = 300)
     private String githubUrl;
 
+    /**
+     * 목록 미리보기 이미지(가장 먼저 올린 이미지 에셋)의 id. 에셋 업로드/삭제 시 ProjectAssetService가
+     * bulk update로만 갱신하므로 엔티티 저장으로는 덮어쓰지 않는다.
+     */
+    @Column(name = "preview_asset_id", insertable = false, updatable = false)
+    private Long previewAssetId;
+
     @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("createdAt ASC")
     private List<ProjectAsset> assets = new ArrayList<>();
@@ -97,10 +122,21 @@ public class Project {
         this.slug = normalizeSlug(requireNonBlank(slug, "slug"));
         this.summary = requireNonBlank(summary, "summary");
         this.projectPeriod = normalizeProjectPeriod(projectPeriod);
-        this.contentMarkdown = requireNonBlank(contentMarkdown, "contentMarkdown");
+        String markdown = requireNonBlank(contentMarkdown, "contentMarkdown");
+        if (!markdown.equals(this.contentMarkdown)) {
+            // 원문이 바뀌면 예전 HTML은 버린다 (다시 렌더링될 때까지 null).
+            recordRenderedContent(null, null, null);
+        }
+        this.contentMarkdown = markdown;
         this.githubUrl = normalizeOptional(githubUrl);
     }
 
+    public void recordRenderedContent(String contentHtml, String contentHash, Integer rendererVersion) {
+        this.contentHtml = contentHtml;
+        this.contentHash = contentHash;
+        this.contentRendererVersion = rendererVersion;
+    }
+
     // ===== getters (필요한 것만) =====
     public Long getId() { return id; }
     public ProjectCategory getCategory() { return category; }
@@ -109,7 +145,11 @@ public class Project {
     public String getSummary() { return summary; }
     public String getProjectPeriod() { return projectPeriod; }
     public String getContentMarkdown() { return contentMarkdown; }
+    public String getContentHtml() { return contentHtml; }
+    public String getContentHash() { return contentHash; }
+    public Integer getContentRendererVersion() { return contentRendererVersion; }
     public String getGithubUrl() { return githubUrl; }
+    public Long getPreviewAssetId() { return previewAssetId; }
     public List<ProjectAsset> getAssets() { return assets; }
     public Instant getCreatedAt() { return createdAt; }
     public Instant getUpdatedAt() { return updatedAt; }
@@ -3,6 +3,9 @@ package com.sloth.portfolio.domain;
 import jakarta.persistence.*;
 
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
 
 @Entity
 @Table(
@@ -32,12 +35,48 @@ public class ProjectAsset {
     @Column(name = "stored_name", nullable = false, length = 140, unique = true)
     private String storedName;
 
+    /**
+     * Shared stored object holding the bytes. {@code null} for assets uploaded before deduplication, whose
+     * object is stored under {@link #storedName} itself.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "blob_id")
+    private AssetBlob blob;
+
     @Column(name = "content_type", length = 160)
     private String contentType;
 
     @Column(name = "file_size", nullable = false)
     private long fileSize;
 
+    /**
+     * Hex SHA-256 of the original bytes. {@code null} until the checksum backfill reaches an asset uploaded
+     * before digests were recorded.
+     */
+    @Column(name = "sha256", length = 64)
+    private String sha256;
+
+    /**
+     * Widths of the resized copies stored next to the original, ascending and comma separated.
+     */
+    @Column(name = "derivative_widths", length = 64)
+    private String derivativeWidths;
+
+    /**
+     * Pixel size of an image asset, so clients can reserve layout space before it loads.
+     */
+    @Column(name = "image_width")
+    private Integer imageWidth;
+
+    @Column(name = "image_height")
+    private Integer imageHeight;
+
+    /**
+     * BlurHash placeholder (https://blurha.sh) painted while the image loads.
+     */
+    @Column(name = "blurhash", length = 64)
+    private String blurhash;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
@@ -86,6 +125,27 @@ public class ProjectAsset {
         return storedName;
     }
 
+    public AssetBlob getBlob() {
+        return blob;
+    }
+
+    public void attachBlob(AssetBlob blob) {
+        this.blob = require(blob, "blob");
+        this.sha256 = blob.getSha256();
+        this.imageWidth = blob.getImageWidth();
+        this.imageHeight = blob.getImageHeight();
+        this.blurhash = blob.getBlurhash();
+        recordDerivativeWidths(blob.getDerivativeWidths());
+    }
+
+    /**
+     * Name of the object in storage; differs from {@link #getStoredName()} (the public URL name) once the
+     * asset shares a blob.
+     */
+    public String getObjectName() {
+        return blob != null ? blob.getStoredName() : storedName;
+    }
+
     public String getContentType() {
         return contentType;
     }
@@ -94,10 +154,76 @@ public class ProjectAsset {
         return fileSize;
     }
 
+    public String getSha256() {
+        return sha256;
+    }
+
+    public Integer getImageWidth() {
+        return imageWidth;
+    }
+
+    public Integer getImageHeight() {
+        return imageHeight;
+    }
+
+    public String getBlurhash() {
+        return blurhash;
+    }
+
     public Instant getCreatedAt() {
         return createdAt;
     }
 
+    public List<Integer> getDerivativeWidths() {
+        return parseDerivativeWidths(derivativeWidths);
+    }
+
+    public void recordDerivativeWidths(List<Integer> widths) {
+        if (widths == null || widths.isEmpty()) {
+            this.derivativeWidths = null;
+            return;
+        }
+        this.derivativeWidths = widths.stream()
+                .sorted()
+                .distinct()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+    }
+
+    /**
+     * Smallest stored derivative at least {@code requestedWidth} wide, or {@code null} when the original
+     * is the closest match.
+     */
+    public static Integer selectDerivativeWidth(List<Integer> ascendingWidths, int requestedWidth) {
+        for (Integer width : ascendingWidths) {
+            if (width >= requestedWidth) {
+                return width;
+            }
+        }
+        return null;
+    }
+
+    public static String derivativeStoredName(String storedName, int width) {
+        int dot = storedName.lastIndexOf('.');
+        String suffix = "-w" + width;
+        return dot < 0
+                ? storedName + suffix
+                : storedName.substring(0, dot) + suffix + storedName.substring(dot);
+    }
+
+    /**
+     * Parses the comma separated {@code derivative_widths} column value.
+     */
+    public static List<Integer> parseDerivativeWidths(String widths) {
+        if (widths == null || widths.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(widths.split(","))
+                .map(String::trim)
+                .map(Integer::valueOf)
+                .toList();
+    }
+
     private static <T> T require(T v, String field) {
         if (v == null) {
             throw new IllegalArgumentException(field + " must not be null");
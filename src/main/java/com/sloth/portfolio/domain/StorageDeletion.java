@@ -0,0 +1,92 @@
+package com.sloth.portfolio.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+/**
+ * A stored object waiting to be removed from storage. Rows are written in the same transaction that drops
+ * the asset rows, so the queue only ever holds deletions that actually committed.
+ */
+@Entity
+@Table(
+        name = "storage_deletions",
+        indexes = {
+                @Index(name = "idx_storage_deletions_next_attempt_at", columnList = "next_attempt_at")
+        }
+)
+public class StorageDeletion {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "object_name", nullable = false, length = 140)
+    private String objectName;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(name = "last_error", length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    protected StorageDeletion() {
+        // JPA default constructor
+    }
+
+    public StorageDeletion(String objectName, Instant createdAt) {
+        if (objectName == null || objectName.isBlank()) {
+            throw new IllegalArgumentException("objectName must not be blank");
+        }
+        if (createdAt == null) {
+            throw new IllegalArgumentException("createdAt must not be null");
+        }
+        this.objectName = objectName.trim();
+        this.createdAt = createdAt;
+        this.nextAttemptAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getObjectName() {
+        return objectName;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public Instant getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void recordFailure(String error, Instant retryAt) {
+        this.attempts++;
+        this.nextAttemptAt = retryAt;
+        this.lastError = error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,145 @@
+package com.sloth.portfolio.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+/**
+ * A resumable upload in progress. The bytes received so far live in a part file on the instance that
+ * accepted the session; the row records how many of them are durable so a client can resume after a
+ * dropped connection. The project is referenced by id only, so open sessions never block deleting it.
+ */
+@Entity
+@Table(
+        name = "upload_sessions",
+        indexes = {
+                @Index(name = "uk_upload_sessions_upload_id", columnList = "upload_id", unique = true),
+                @Index(name = "idx_upload_sessions_expires_at", columnList = "expires_at")
+        }
+)
+public class UploadSession {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "upload_id", nullable = false, length = 36, unique = true)
+    private String uploadId;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Column(name = "original_name", nullable = false, length = 260)
+    private String originalName;
+
+    @Column(name = "content_type", length = 160)
+    private String contentType;
+
+    @Column(name = "total_bytes", nullable = false)
+    private long totalBytes;
+
+    @Column(name = "received_bytes", nullable = false)
+    private long receivedBytes;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    protected UploadSession() {
+        // JPA default constructor
+    }
+
+    public UploadSession(
+            String uploadId,
+            Long projectId,
+            String originalName,
+            String contentType,
+            long totalBytes,
+            Instant createdAt,
+            Instant expiresAt
+    ) {
+        this.uploadId = requireText(uploadId, "uploadId");
+        if (projectId == null) {
+            throw new IllegalArgumentException("projectId must not be null");
+        }
+        if (totalBytes <= 0) {
+            throw new IllegalArgumentException("totalBytes must be positive");
+        }
+        if (createdAt == null || expiresAt == null) {
+            throw new IllegalArgumentException("createdAt and expiresAt must not be null");
+        }
+        this.projectId = projectId;
+        this.originalName = requireText(originalName, "originalName");
+        this.contentType = contentType;
+        this.totalBytes = totalBytes;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUploadId() {
+        return uploadId;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public String getOriginalName() {
+        return originalName;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public long getReceivedBytes() {
+        return receivedBytes;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public boolean isComplete() {
+        return receivedBytes == totalBytes;
+    }
+
+    /**
+     * Records that the part file now durably holds {@code receivedBytes} bytes and pushes the expiry out,
+     * so a slow but active upload never expires mid-transfer.
+     */
+    public void recordProgress(long receivedBytes, Instant expiresAt) {
+        if (receivedBytes < 0 || receivedBytes > totalBytes) {
+            throw new IllegalArgumentException("receivedBytes must be between 0 and totalBytes");
+        }
+        this.receivedBytes = receivedBytes;
+        this.expiresAt = expiresAt;
+    }
+
+    private static String requireText(String value, String field) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(field + " must not be blank");
+        }
+        return value.trim();
+    }
+}
@@ -0,0 +1,33 @@
+package com.sloth.portfolio.repo;
+
+import com.sloth.portfolio.domain.AssetBlob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public interface AssetBlobRepository extends JpaRepository<AssetBlob, Long> {
+
+    /**
+     * Row-locks the blobs so concurrent uploads and deletes of the same bytes update their reference count
+     * one at a time.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<AssetBlob> findLockedBySha256In(Collection<String> digests);
+
+    @Query("select b.sha256 from AssetBlob b where b.sha256 in :digests")
+    Set<String> findExistingDigests(@Param("digests") Collection<String> digests);
+
+    @Query("select b.storedName from AssetBlob b where b.storedName in :storedNames")
+    Set<String> findExistingStoredNames(@Param("storedNames") Collection<String> storedNames);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from AssetBlob b where b.id = :id")
+    Optional<AssetBlob> findLockedById(@Param("id") Long id);
+}
@@ -0,0 +1,9 @@
+package com.sloth.portfolio.repo;
+
+/**
+ * A project's first image asset, as picked for {@code projects.preview_asset_id}.
+ */
+public interface PreviewImageView {
+    Long getProjectId();
+    Long getId();
+}
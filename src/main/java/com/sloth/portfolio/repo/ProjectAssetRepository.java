@@ -1,18 +1,81 @@
 package com.sloth.portfolio.repo;
 
 import com.sloth.portfolio.domain.ProjectAsset;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface ProjectAssetRepository extends JpaRepository<ProjectAsset, Long> {
 
     List<ProjectAsset> findByProjectIdOrderByCreatedAtAsc(Long projectId);
 
-    List<ProjectAsset> findByProjectIdInOrderByProjectIdAscCreatedAtAsc(List<Long> projectIds);
+    /**
+     * The oldest image asset of each listed project, one row per project. Images are recognised by type,
+     * content type, or file extension of either name, so assets uploaded before types were detected count.
+     * {@code row_number()} is used rather than Postgres' {@code DISTINCT ON} so the query also runs on H2.
+     */
+    @Query("""
+            select f.projectId as projectId, f.id as id
+            from (
+                select a.project.id as projectId, a.id as id,
+                       row_number() over (partition by a.project.id order by a.createdAt, a.id) as position
+                from ProjectAsset a
+                where a.project.id in :projectIds
+                  and (a.assetType = com.sloth.portfolio.domain.ProjectAssetType.IMAGE
+                       or lower(a.contentType) like 'image/%'
+                       or lower(a.originalName) like '%.png' or lower(a.storedName) like '%.png'
+                       or lower(a.originalName) like '%.jpg' or lower(a.storedName) like '%.jpg'
+                       or lower(a.originalName) like '%.jpeg' or lower(a.storedName) like '%.jpeg'
+                       or lower(a.originalName) like '%.gif' or lower(a.storedName) like '%.gif'
+                       or lower(a.originalName) like '%.webp' or lower(a.storedName) like '%.webp'
+                       or lower(a.originalName) like '%.svg' or lower(a.storedName) like '%.svg'
+                       or lower(a.originalName) like '%.avif' or lower(a.storedName) like '%.avif')
+            ) f
+            where f.position = 1
+            """)
+    List<PreviewImageView> findFirstImagePerProject(@Param("projectIds") Collection<Long> projectIds);
 
     Optional<ProjectAsset> findByIdAndProjectId(Long id, Long projectId);
 
+    @EntityGraph(attributePaths = "blob")
+    Optional<ProjectAsset> findWithBlobById(Long id);
+
+    @EntityGraph(attributePaths = "blob")
     Optional<ProjectAsset> findByStoredName(String storedName);
+
+    @EntityGraph(attributePaths = "blob")
+    List<ProjectAsset> findByStoredNameIn(List<String> storedNames);
+
+    @Query("select a.storedName from ProjectAsset a where a.storedName in :storedNames")
+    Set<String> findExistingStoredNames(@Param("storedNames") Collection<String> storedNames);
+
+    /**
+     * Assets still missing a digest whose bytes have to be read back from storage, in id order after
+     * {@code afterId}.
+     */
+    @Query("select a from ProjectAsset a where a.sha256 is null and a.blob is null and a.id > :afterId order by a.id")
+    List<ProjectAsset> findMissingDigestAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Copies the digest of the shared blob onto assets that reference one but predate the column.
+     */
+    @Modifying
+    @Transactional
+    @Query("update ProjectAsset a set a.sha256 = (select b.sha256 from AssetBlob b where b = a.blob) "
+            + "where a.sha256 is null and a.blob is not null")
+    int copyMissingDigestsFromBlobs();
+
+    @Modifying
+    @Transactional
+    @Query("update ProjectAsset a set a.sha256 = :sha256 where a.id = :id and a.sha256 is null")
+    int recordMissingDigest(@Param("id") Long id, @Param("sha256") String sha256);
 }
@@ -2,26 +2,126 @@ package com.sloth.portfolio.repo;
 
 import com.sloth.portfolio.domain.Project;
 import com.sloth.portfolio.domain.ProjectCategory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface ProjectRepository extends JpaRepository<Project, Long> {
 
+    String SUMMARY_COLUMNS = "p.id as id, p.category as category, p.title as title, p.slug as slug, p.summary as summary, "
+            + "p.projectPeriod as projectPeriod, p.createdAt as createdAt, p.updatedAt as updatedAt, "
+            + "a.id as previewAssetId, a.assetType as previewAssetType, a.originalName as previewOriginalName, "
+            + "a.storedName as previewStoredName, a.contentType as previewContentType, a.fileSize as previewFileSize, "
+            + "a.sha256 as previewSha256, a.derivativeWidths as previewDerivativeWidths, "
+            + "a.imageWidth as previewImageWidth, a.imageHeight as previewImageHeight, a.blurhash as previewBlurhash, "
+            + "a.createdAt as previewCreatedAt";
+    String SUMMARY_FROM = " from Project p left join ProjectAsset a on a.id = p.previewAssetId";
+    String BEFORE_CURSOR = "(p.createdAt < :createdAt or (p.createdAt = :createdAt and p.id < :id))";
+    String NEWEST_FIRST = " order by p.createdAt desc, p.id desc";
+
     @EntityGraph(attributePaths = "assets")
     Optional<Project> findBySlug(String slug);
 
     boolean existsBySlug(String slug);
 
     @EntityGraph(attributePaths = "assets")
-    List<Project> findByCategoryOrderByCreatedAtDesc(ProjectCategory category);
+    List<Project> findByCategoryOrderByCreatedAtDescIdDesc(ProjectCategory category);
+
+    @EntityGraph(attributePaths = "assets")
+    List<Project> findAllByOrderByCreatedAtDescIdDesc();
 
     @EntityGraph(attributePaths = "assets")
-    List<Project> findAllByOrderByCreatedAtDesc();
+    List<Project> findWithAssetsByIdIn(Collection<Long> ids);
+
+    /**
+     * Summaries with their preview image joined through {@code preview_asset_id}, newest first.
+     */
+    @Query("select " + SUMMARY_COLUMNS + SUMMARY_FROM + NEWEST_FIRST)
+    List<ProjectSummaryView> findSummaries();
+
+    @Query("select " + SUMMARY_COLUMNS + SUMMARY_FROM + " where p.category = :category" + NEWEST_FIRST)
+    List<ProjectSummaryView> findSummaries(@Param("category") ProjectCategory category);
+
+    /**
+     * Ids of the projects after the keyset cursor {@code (createdAt, id)}, newest first; walks
+     * {@code idx_projects_created_at_id}.
+     */
+    @Query("select p.id from Project p where " + BEFORE_CURSOR + NEWEST_FIRST)
+    List<Long> findIdsBefore(@Param("createdAt") Instant createdAt, @Param("id") Long id, Limit limit);
+
+    @Query("select p.id from Project p where p.category = :category and " + BEFORE_CURSOR + NEWEST_FIRST)
+    List<Long> findIdsBefore(
+            @Param("category") ProjectCategory category,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    @Query("select " + SUMMARY_COLUMNS + SUMMARY_FROM + " where " + BEFORE_CURSOR + NEWEST_FIRST)
+    List<ProjectSummaryView> findSummariesBefore(@Param("createdAt") Instant createdAt, @Param("id") Long id, Limit limit);
+
+    @Query("select " + SUMMARY_COLUMNS + SUMMARY_FROM + " where p.category = :category and " + BEFORE_CURSOR + NEWEST_FIRST)
+    List<ProjectSummaryView> findSummariesBefore(
+            @Param("category") ProjectCategory category,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    @Query("select p.id from Project p where p.previewAssetId is null order by p.id")
+    List<Long> findIdsWithoutPreviewAsset();
+
+    /**
+     * Makes {@code assetId} the preview unless the project already has one; a newer upload never displaces
+     * the oldest image.
+     */
+    @Modifying
+    @Transactional
+    @Query("update Project p set p.previewAssetId = :assetId where p.id = :projectId and p.previewAssetId is null")
+    int claimPreviewAsset(@Param("projectId") Long projectId, @Param("assetId") Long assetId);
+
+    /**
+     * Clears the preview if it is {@code assetId}.
+     *
+     * @return 1 if the preview was cleared and has to be chosen again
+     */
+    @Modifying
+    @Transactional
+    @Query("update Project p set p.previewAssetId = null where p.id = :projectId and p.previewAssetId = :assetId")
+    int releasePreviewAsset(@Param("projectId") Long projectId, @Param("assetId") Long assetId);
+
+    @Modifying
+    @Transactional
+    @Query("update Project p set p.previewAssetId = null where p.id = :projectId")
+    int clearPreviewAsset(@Param("projectId") Long projectId);
 
-    List<ProjectSummaryView> findProjectedByCategoryOrderByCreatedAtDesc(ProjectCategory category);
+    /**
+     * Projects whose stored HTML is missing or was rendered by another renderer version, in id order.
+     */
+    @Query("select p from Project p where p.contentRendererVersion is null or p.contentRendererVersion <> :version order by p.id")
+    List<Project> findWithOutdatedContent(@Param("version") int version, Limit limit);
 
-    List<ProjectSummaryView> findProjectedByOrderByCreatedAtDesc();
+    /**
+     * Stores rendered HTML unless the project was edited after {@code updatedAt} was read.
+     */
+    @Modifying
+    @Transactional
+    @Query("update Project p set p.contentHtml = :html, p.contentHash = :hash, p.contentRendererVersion = :version "
+            + "where p.id = :id and p.updatedAt = :updatedAt")
+    int recordRenderedContent(
+            @Param("id") Long id,
+            @Param("updatedAt") Instant updatedAt,
+            @Param("html") String html,
+            @Param("hash") String hash,
+            @Param("version") int version
+    );
 }
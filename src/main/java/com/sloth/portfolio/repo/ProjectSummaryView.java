@@ -1,5 +1,6 @@
 package com.sloth.portfolio.repo;
 
+import com.sloth.portfolio.domain.ProjectAssetType;
 import com.sloth.portfolio.domain.ProjectCategory;
 
 import java.time.Instant;
@@ -13,4 +14,20 @@ public interface ProjectSummaryView {
     String getProjectPeriod();
     Instant getCreatedAt();
     Instant getUpdatedAt();
+
+    /**
+     * Preview image columns, all {@code null} when the project has no image.
+     */
+    Long getPreviewAssetId();
+    ProjectAssetType getPreviewAssetType();
+    String getPreviewOriginalName();
+    String getPreviewStoredName();
+    String getPreviewContentType();
+    Long getPreviewFileSize();
+    String getPreviewSha256();
+    String getPreviewDerivativeWidths();
+    Integer getPreviewImageWidth();
+    Integer getPreviewImageHeight();
+    String getPreviewBlurhash();
+    Instant getPreviewCreatedAt();
 }
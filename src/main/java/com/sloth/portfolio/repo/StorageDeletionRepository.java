@@ -0,0 +1,16 @@
+package com.sloth.portfolio.repo;
+
+import com.sloth.portfolio.domain.StorageDeletion;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface StorageDeletionRepository extends JpaRepository<StorageDeletion, Long> {
+
+    @Query("select d from StorageDeletion d where d.nextAttemptAt <= :now order by d.id")
+    List<StorageDeletion> findDue(@Param("now") Instant now, Pageable pageable);
+}
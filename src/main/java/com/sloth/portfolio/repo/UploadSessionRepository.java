@@ -0,0 +1,19 @@
+package com.sloth.portfolio.repo;
+
+import com.sloth.portfolio.domain.UploadSession;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface UploadSessionRepository extends JpaRepository<UploadSession, Long> {
+
+    Optional<UploadSession> findByUploadId(String uploadId);
+
+    @Query("select s from UploadSession s where s.expiresAt <= :now order by s.id")
+    List<UploadSession> findExpired(@Param("now") Instant now, Pageable pageable);
+}
@@ -0,0 +1,87 @@
+package com.sloth.portfolio.service;
+
+import com.sloth.portfolio.domain.ProjectAsset;
+import com.sloth.portfolio.repo.ProjectAssetRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Records SHA-256 digests for assets uploaded before the column existed. Assets backed by a shared blob
+ * take the blob's digest with a single update; older assets own their object and are read back from storage,
+ * at most {@code app.upload.checksum-backfill.batch-size} per poll so the backfill never competes with
+ * visitors for storage bandwidth. Assets whose object cannot be read are skipped until the next pass.
+ */
+@Component
+public class AssetChecksumBackfillWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(AssetChecksumBackfillWorker.class);
+
+    private final ProjectAssetRepository projectAssetRepository;
+    private final ProjectAssetService projectAssetService;
+    private final boolean enabled;
+    private final int batchSize;
+    private long cursor;
+
+    public AssetChecksumBackfillWorker(
+            ProjectAssetRepository projectAssetRepository,
+            ProjectAssetService projectAssetService,
+            @Value("${app.upload.checksum-backfill.enabled:true}") boolean enabled,
+            @Value("${app.upload.checksum-backfill.batch-size:20}") int batchSize
+    ) {
+        this.projectAssetRepository = projectAssetRepository;
+        this.projectAssetService = projectAssetService;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.upload.checksum-backfill.poll-interval:1m}",
+            fixedDelayString = "${app.upload.checksum-backfill.poll-interval:1m}"
+    )
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            backfillBatch();
+        } catch (RuntimeException e) {
+            log.warn("Asset checksum backfill failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Runs one throttled step of the backfill.
+     *
+     * @return number of assets that got a digest
+     */
+    public synchronized int backfillBatch() {
+        int recorded = projectAssetService.copyBlobDigests();
+
+        List<ProjectAsset> pending = projectAssetRepository.findMissingDigestAfter(cursor, PageRequest.of(0, batchSize));
+        if (pending.isEmpty()) {
+            // Start over next time so assets skipped after a storage failure are retried.
+            cursor = 0;
+            return recorded;
+        }
+        for (ProjectAsset asset : pending) {
+            cursor = asset.getId();
+            try {
+                String digest = projectAssetService.digestStoredObject(asset.getStoredName());
+                projectAssetService.recordMissingDigest(asset.getId(), asset.getStoredName(), digest);
+                recorded++;
+            } catch (ProjectAssetService.NotFoundException | ProjectAssetService.StorageException e) {
+                log.warn("Skipping checksum backfill for asset {}: {}", asset.getId(), e.getMessage());
+            }
+        }
+        if (recorded > 0) {
+            log.info("Asset checksum backfill recorded {} digest(s)", recorded);
+        }
+        return recorded;
+    }
+}
@@ -0,0 +1,225 @@
+package com.sloth.portfolio.service;
+
+import com.sloth.portfolio.domain.ProjectAsset;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Negative cache for the public asset routes: a Bloom filter over every asset id and public stored name,
+ * the two keys those routes look assets up by. A lookup the filter rules out is answered 404 without
+ * touching storage, and for ids without touching the database.
+ * <p>
+ * The filter is rebuilt from the database at startup and on {@code app.upload.negative-cache.rebuild-interval},
+ * which also drops deleted names; uploads add their keys immediately. Until the first build completes every
+ * lookup passes through.
+ * <p>
+ * Each instance keeps its own filter, so it must not reject assets another instance inserted since the last
+ * rebuild. Ids only grow, so ids past the rebuild's watermark pass through. A stored name the filter rules out
+ * is checked against the rows past the watermark first, which also adds them to the filter.
+ */
+@Component
+public class AssetLookupFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(AssetLookupFilter.class);
+    private static final String REBUILD_SQL = "select id, stored_name, created_at from project_assets";
+    private static final String CATCH_UP_SQL = "select id, stored_name from project_assets where id > ?";
+    // Rows this recent at a rebuild stay past the watermark: a lower id may still commit after a higher one.
+    private static final Duration COMMIT_SLACK = Duration.ofSeconds(30);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final long expectedKeys;
+    private final double targetFalsePositiveRate;
+    private final Counter rejectedLookups;
+    private final Counter falsePositives;
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong falsePositiveCount = new AtomicLong();
+
+    private volatile BloomFilter filter;
+    // Highest id every row at or below which the current filter holds.
+    private volatile long watermark;
+    // Keys added since the current rebuild started; replayed into the new filter so none are lost.
+    private volatile Set<String> recentKeys = ConcurrentHashMap.newKeySet();
+
+    public AssetLookupFilter(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.upload.negative-cache.enabled:true}") boolean enabled,
+            @Value("${app.upload.negative-cache.expected-keys:200000}") long expectedKeys,
+            @Value("${app.upload.negative-cache.false-positive-rate:0.01}") double targetFalsePositiveRate
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.expectedKeys = expectedKeys;
+        this.targetFalsePositiveRate = targetFalsePositiveRate;
+        this.rejectedLookups = Counter.builder("asset.lookup.negative_cache.rejected")
+                .description("Asset lookups answered 404 by the Bloom filter without a database query")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("asset.lookup.negative_cache.false_positives")
+                .description("Asset lookups the Bloom filter let through that found no asset")
+                .register(meterRegistry);
+        Gauge.builder("asset.lookup.negative_cache.false_positive_rate", this, AssetLookupFilter::observedFalsePositiveRate)
+                .description("Observed share of absent keys the Bloom filter failed to reject")
+                .register(meterRegistry);
+        Gauge.builder("asset.lookup.negative_cache.expected_false_positive_rate", this, AssetLookupFilter::expectedFalsePositiveRate)
+                .description("False-positive probability implied by the Bloom filter's fill")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.upload.negative-cache.rebuild-interval:10m}",
+            fixedDelayString = "${app.upload.negative-cache.rebuild-interval:10m}"
+    )
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        Set<String> carriedKeys = recentKeys;
+        recentKeys = ConcurrentHashMap.newKeySet();
+
+        Instant settledBefore = Instant.now().minus(COMMIT_SLACK);
+        List<String> keys = new ArrayList<>();
+        long[] settledId = {0};
+        jdbcTemplate.query(REBUILD_SQL, rs -> {
+            long id = rs.getLong(1);
+            keys.add(idKey(id));
+            keys.add(nameKey(rs.getString(2)));
+            Timestamp createdAt = rs.getTimestamp(3);
+            if (createdAt != null && createdAt.toInstant().isBefore(settledBefore)) {
+                settledId[0] = Math.max(settledId[0], id);
+            }
+        });
+
+        BloomFilter rebuilt = BloomFilter.create(Math.max(expectedKeys, keys.size() * 2L), targetFalsePositiveRate);
+        keys.forEach(rebuilt::put);
+        carriedKeys.forEach(rebuilt::put);
+        watermark = settledId[0];
+        filter = rebuilt;
+        recentKeys.forEach(rebuilt::put);
+        log.info("Asset lookup filter rebuilt: keys={}, watermark={}, bits={}, hashes={}",
+                keys.size(), settledId[0], rebuilt.bitCount(), rebuilt.hashCount());
+    }
+
+    /**
+     * Records every name under which {@code asset} can be requested. Call before the asset becomes visible.
+     */
+    public void add(ProjectAsset asset) {
+        if (!enabled) {
+            return;
+        }
+        List<String> keys = new ArrayList<>();
+        if (asset.getId() != null) {
+            keys.add(idKey(asset.getId()));
+        }
+        keys.add(nameKey(asset.getStoredName()));
+        addKeys(keys);
+    }
+
+    private void addKeys(List<String> keys) {
+        Set<String> pending = recentKeys;
+        pending.addAll(keys);
+        BloomFilter current = filter;
+        if (current != null) {
+            keys.forEach(current::put);
+        }
+    }
+
+    /**
+     * @return {@code false} only when no asset with this id exists; counts the rejection
+     */
+    public boolean mightContainId(Long assetId) {
+        if (assetId > watermark) {
+            return true;
+        }
+        return mightContain(idKey(assetId));
+    }
+
+    /**
+     * @return {@code false} only when no asset has this stored name; counts the rejection
+     */
+    public boolean mightContainStoredName(String storedName) {
+        String key = nameKey(storedName);
+        BloomFilter current = filter;
+        if (!enabled || current == null || current.mightContain(key)) {
+            return true;
+        }
+        // Names carry no order, so a rejection is only trusted once rows inserted elsewhere are in the filter.
+        catchUp();
+        return mightContain(key);
+    }
+
+    /**
+     * Reports that a lookup the filter let through found nothing.
+     */
+    public void recordFalsePositive() {
+        if (enabled && filter != null) {
+            falsePositiveCount.incrementAndGet();
+            falsePositives.increment();
+        }
+    }
+
+    /**
+     * Adds the rows past the watermark. An index range scan at the tail of the id sequence, usually empty.
+     */
+    private void catchUp() {
+        List<String> keys = new ArrayList<>();
+        jdbcTemplate.query(CATCH_UP_SQL, rs -> {
+            keys.add(idKey(rs.getLong(1)));
+            keys.add(nameKey(rs.getString(2)));
+        }, watermark);
+        addKeys(keys);
+    }
+
+    private boolean mightContain(String key) {
+        BloomFilter current = filter;
+        if (!enabled || current == null || current.mightContain(key)) {
+            return true;
+        }
+        rejectedCount.incrementAndGet();
+        rejectedLookups.increment();
+        return false;
+    }
+
+    private double observedFalsePositiveRate() {
+        // Every rejection is a true negative, so FP / (FP + TN) is measurable from the two counters.
+        long fp = falsePositiveCount.get();
+        long total = fp + rejectedCount.get();
+        return total == 0 ? 0 : (double) fp / total;
+    }
+
+    private double expectedFalsePositiveRate() {
+        BloomFilter current = filter;
+        return current == null ? 0 : current.expectedFalsePositiveRate();
+    }
+
+    private static String idKey(long assetId) {
+        return "id:" + assetId;
+    }
+
+    private static String nameKey(String storedName) {
+        return "name:" + storedName;
+    }
+}
@@ -0,0 +1,133 @@
+package com.sloth.portfolio.service;
+
+import com.sloth.portfolio.storage.AssetStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Decides whether a public asset request is answered with a redirect to a short-lived direct URL instead of
+ * streaming the bytes through the application ({@code app.upload.redirect.enabled}).
+ * <p>
+ * With {@code app.upload.redirect.cdn-base-url} set, the URL points at a CDN that checks an HMAC signature:
+ * {@code <base>/<object>?expires=<epoch seconds>&signature=<sig>}, where {@code sig} is the unpadded
+ * base64url HMAC-SHA256 of {@code "/<object>:<expires>"} under {@code app.upload.redirect.cdn-secret}.
+ * Otherwise the storage backend signs the URL, which only remote backends can do; for the rest the
+ * request keeps being streamed.
+ * <p>
+ * Signed URLs are cached per object until {@code app.upload.redirect.refresh-before} ahead of their expiry,
+ * so most redirects cost no storage call, and a client never receives a URL about to lapse.
+ */
+@Service
+public class AssetRedirectService {
+
+    private static final Logger log = LoggerFactory.getLogger(AssetRedirectService.class);
+
+    private final AssetStorage assetStorage;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final Duration refreshBefore;
+    private final String cdnBaseUrl;
+    private final byte[] cdnSecret;
+    private final ExpiringLruCache<String, AssetStorage.SignedUrl> signedUrls;
+
+    public AssetRedirectService(
+            AssetStorage assetStorage,
+            @Value("${app.upload.redirect.enabled:false}") boolean enabled,
+            @Value("${app.upload.redirect.ttl:15m}") Duration ttl,
+            @Value("${app.upload.redirect.refresh-before:2m}") Duration refreshBefore,
+            @Value("${app.upload.redirect.cache-max-entries:4096}") int cacheMaxEntries,
+            @Value("${app.upload.redirect.cdn-base-url:}") String cdnBaseUrl,
+            @Value("${app.upload.redirect.cdn-secret:}") String cdnSecret
+    ) {
+        if (enabled && ttl.compareTo(refreshBefore) <= 0) {
+            throw new IllegalStateException("app.upload.redirect.ttl must be longer than refresh-before");
+        }
+        boolean cdn = cdnBaseUrl != null && !cdnBaseUrl.isBlank();
+        if (enabled && cdn && (cdnSecret == null || cdnSecret.isBlank())) {
+            throw new IllegalStateException("app.upload.redirect.cdn-secret is required when cdn-base-url is set");
+        }
+        this.assetStorage = assetStorage;
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.refreshBefore = refreshBefore;
+        this.cdnBaseUrl = cdn ? cdnBaseUrl.trim().replaceAll("/+$", "") : null;
+        this.cdnSecret = cdn ? cdnSecret.getBytes(StandardCharsets.UTF_8) : null;
+        this.signedUrls = new ExpiringLruCache<>(cacheMaxEntries, ttl);
+    }
+
+    /**
+     * Where to send the client for {@code metadata}, or empty to stream the asset as before. Attachments
+     * are signed with their original name so the download keeps it. Signing failures fall back to streaming.
+     */
+    public Optional<Redirect> redirectFor(ProjectAssetService.AssetMetadata metadata) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        String downloadName = metadata.inline() ? null : metadata.originalName();
+        String cacheKey = downloadName == null ? metadata.storedName() : metadata.storedName() + "\n" + downloadName;
+        AssetStorage.SignedUrl signed = signedUrls.get(cacheKey);
+        if (signed == null) {
+            try {
+                signed = sign(metadata.storedName(), downloadName).orElse(null);
+            } catch (RuntimeException e) {
+                log.debug("Could not sign {}, streaming it instead: {}", metadata.storedName(), e.getMessage());
+                return Optional.empty();
+            }
+            if (signed == null) {
+                return Optional.empty();
+            }
+            signedUrls.put(cacheKey, signed, Duration.between(Instant.now(), signed.expiresAt().minus(refreshBefore)));
+        }
+
+        long maxAge = Duration.between(Instant.now(), signed.expiresAt().minus(refreshBefore)).toSeconds();
+        return Optional.of(new Redirect(signed.uri(), Math.max(0, maxAge)));
+    }
+
+    private Optional<AssetStorage.SignedUrl> sign(String objectName, String downloadName) {
+        if (cdnBaseUrl == null) {
+            return assetStorage.signedUrl(objectName, ttl, downloadName);
+        }
+        long expires = Instant.now().plus(ttl).getEpochSecond();
+        String path = "/" + encode(objectName);
+        StringBuilder url = new StringBuilder(cdnBaseUrl).append(path)
+                .append("?expires=").append(expires)
+                .append("&signature=").append(hmac(path + ":" + expires));
+        if (downloadName != null) {
+            url.append("&download=").append(encode(downloadName));
+        }
+        return Optional.of(new AssetStorage.SignedUrl(URI.create(url.toString()), Instant.ofEpochSecond(expires)));
+    }
+
+    private String hmac(String value) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(cdnSecret, "HmacSHA256"));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(mac.doFinal(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    /**
+     * A 302 target; {@code maxAgeSeconds} is how long the redirect itself may be cached.
+     */
+    public record Redirect(URI location, long maxAgeSeconds) {
+    }
+}
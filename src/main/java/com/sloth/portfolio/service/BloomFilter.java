@@ -0,0 +1,107 @@
+package com.sloth.portfolio.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over strings. {@link #mightContain} never returns {@code false} for a key that
+ * was {@link #put}; it returns {@code true} for an absent key with roughly the configured probability once
+ * the expected number of keys has been added. Safe for concurrent use without locking.
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    private BloomFilter(long bitCount, int hashCount) {
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, (bitCount + 63) / 64);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount * 64;
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * Sizes the filter for {@code expectedKeys} at false-positive probability {@code fpp}, using the
+     * standard optimum {@code m = -n ln p / (ln 2)^2} bits and {@code k = m/n ln 2} hash functions.
+     */
+    static BloomFilter create(long expectedKeys, double fpp) {
+        long n = Math.max(1, expectedKeys);
+        double p = Math.min(0.5, Math.max(1e-9, fpp));
+        long bits = Math.max(64, (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2))));
+        int hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+        return new BloomFilter(bits, hashes);
+    }
+
+    void put(String key) {
+        long hash = hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = words.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!words.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    boolean mightContain(String key) {
+        long hash = hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * False-positive probability implied by the share of bits currently set: {@code (set/m)^k}.
+     */
+    double expectedFalsePositiveRate() {
+        long set = 0;
+        for (int i = 0; i < words.length(); i++) {
+            set += Long.bitCount(words.get(i));
+        }
+        return Math.pow((double) set / bitCount, hashCount);
+    }
+
+    long bitCount() {
+        return bitCount;
+    }
+
+    int hashCount() {
+        return hashCount;
+    }
+
+    private long index(int combinedHash) {
+        // Kirsch-Mitzenmacher double hashing; flip negatives so every index is usable.
+        int positive = combinedHash < 0 ? ~combinedHash : combinedHash;
+        return positive % bitCount;
+    }
+
+    /**
+     * FNV-1a over the UTF-16 code units followed by the MurmurHash3 64-bit finalizer for avalanche.
+     */
+    private static long hash64(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
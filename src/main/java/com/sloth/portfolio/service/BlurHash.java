@@ -0,0 +1,113 @@
+package com.sloth.portfolio.service;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * Encoder for the BlurHash placeholder format (https://blurha.sh): an image reduced to a few DCT
+ * components and packed into a short base83 string that clients decode into a blurred preview. Encode a
+ * thumbnail rather than the original; the cost is proportional to pixels times components.
+ */
+final class BlurHash {
+
+    private static final String BASE83 =
+            "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz#$%*+,-.:;=?@[]^_{|}~";
+
+    private BlurHash() {
+    }
+
+    static String encode(BufferedImage image, int componentsX, int componentsY) {
+        if (componentsX < 1 || componentsX > 9 || componentsY < 1 || componentsY > 9) {
+            throw new IllegalArgumentException("BlurHash components must be between 1 and 9");
+        }
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = image.getRGB(0, 0, width, height, null, 0, width);
+
+        double[][] factors = new double[componentsX * componentsY][];
+        for (int j = 0; j < componentsY; j++) {
+            for (int i = 0; i < componentsX; i++) {
+                factors[j * componentsX + i] = basisFactor(pixels, width, height, i, j);
+            }
+        }
+
+        StringBuilder hash = new StringBuilder();
+        appendBase83(hash, (componentsX - 1) + (componentsY - 1) * 9, 1);
+
+        double maximumValue;
+        if (factors.length > 1) {
+            double actualMaximum = 0;
+            for (int k = 1; k < factors.length; k++) {
+                for (double component : factors[k]) {
+                    actualMaximum = Math.max(actualMaximum, Math.abs(component));
+                }
+            }
+            int quantisedMaximum = (int) Math.max(0, Math.min(82, Math.floor(actualMaximum * 166 - 0.5)));
+            maximumValue = (quantisedMaximum + 1) / 166.0;
+            appendBase83(hash, quantisedMaximum, 1);
+        } else {
+            maximumValue = 1;
+            appendBase83(hash, 0, 1);
+        }
+
+        double[] dc = factors[0];
+        appendBase83(hash, (linearToSrgb(dc[0]) << 16) + (linearToSrgb(dc[1]) << 8) + linearToSrgb(dc[2]), 4);
+        for (int k = 1; k < factors.length; k++) {
+            appendBase83(hash, encodeAc(factors[k], maximumValue), 2);
+        }
+        return hash.toString();
+    }
+
+    private static double[] basisFactor(int[] pixels, int width, int height, int i, int j) {
+        double normalisation = i == 0 && j == 0 ? 1 : 2;
+        double r = 0;
+        double g = 0;
+        double b = 0;
+        for (int y = 0; y < height; y++) {
+            double basisY = Math.cos(Math.PI * j * y / height);
+            for (int x = 0; x < width; x++) {
+                double basis = normalisation * Math.cos(Math.PI * i * x / width) * basisY;
+                int rgb = pixels[y * width + x];
+                r += basis * srgbToLinear((rgb >> 16) & 0xff);
+                g += basis * srgbToLinear((rgb >> 8) & 0xff);
+                b += basis * srgbToLinear(rgb & 0xff);
+            }
+        }
+        double scale = 1.0 / (width * height);
+        return new double[]{r * scale, g * scale, b * scale};
+    }
+
+    private static int encodeAc(double[] component, double maximumValue) {
+        int quantR = quantiseAc(component[0] / maximumValue);
+        int quantG = quantiseAc(component[1] / maximumValue);
+        int quantB = quantiseAc(component[2] / maximumValue);
+        return quantR * 19 * 19 + quantG * 19 + quantB;
+    }
+
+    private static int quantiseAc(double value) {
+        double signedRoot = Math.copySign(Math.sqrt(Math.abs(value)), value);
+        return (int) Math.max(0, Math.min(18, Math.floor(signedRoot * 9 + 9.5)));
+    }
+
+    private static double srgbToLinear(int value) {
+        double v = value / 255.0;
+        return v <= 0.04045 ? v / 12.92 : Math.pow((v + 0.055) / 1.055, 2.4);
+    }
+
+    private static int linearToSrgb(double value) {
+        double v = Math.max(0, Math.min(1, value));
+        return v <= 0.0031308
+                ? (int) (v * 12.92 * 255 + 0.5)
+                : (int) ((1.055 * Math.pow(v, 1 / 2.4) - 0.055) * 255 + 0.5);
+    }
+
+    private static void appendBase83(StringBuilder hash, int value, int length) {
+        int divisor = 1;
+        for (int i = 1; i < length; i++) {
+            divisor *= 83;
+        }
+        for (int i = 0; i < length; i++) {
+            hash.append(BASE83.charAt((value / divisor) % 83));
+            divisor /= 83;
+        }
+    }
+}
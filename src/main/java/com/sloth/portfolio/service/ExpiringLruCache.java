@@ -0,0 +1,80 @@
+package com.sloth.portfolio.service;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Small in-process cache: at most {@code maxEntries} entries, least recently used evicted first, each
+ * entry dropped once its time to live has passed. A non-positive size disables caching.
+ */
+class ExpiringLruCache<K, V> {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    // Access-ordered: iteration starts at the least recently used entry.
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    ExpiringLruCache(int maxEntries, Duration ttl) {
+        this(maxEntries, ttl, System::nanoTime);
+    }
+
+    ExpiringLruCache(int maxEntries, Duration ttl, LongSupplier nanoClock) {
+        this.maxEntries = Math.max(0, maxEntries);
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (nanoClock.getAsLong() - entry.expiresAt() >= 0) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value();
+    }
+
+    synchronized void put(K key, V value) {
+        put(key, value, ttlNanos);
+    }
+
+    /**
+     * Stores {@code value} with its own time to live instead of the cache-wide one.
+     */
+    synchronized void put(K key, V value, Duration ttl) {
+        put(key, value, ttl.toNanos());
+    }
+
+    synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    synchronized void clear() {
+        entries.clear();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private void put(K key, V value, long entryTtlNanos) {
+        if (maxEntries == 0 || value == null || entryTtlNanos <= 0) {
+            return;
+        }
+        entries.put(key, new Entry<>(value, nanoClock.getAsLong() + entryTtlNanos));
+        Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
@@ -0,0 +1,231 @@
+package com.sloth.portfolio.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Produces downscaled copies of uploaded raster images at a fixed set of widths, so list pages can
+ * fetch a card-sized image instead of the original. Only PNG and JPEG are resized; other formats
+ * (GIF animations, SVG, WebP, AVIF) are served as uploaded.
+ * <p>
+ * The same decode also yields the image dimensions and a BlurHash placeholder, so clients can reserve
+ * layout space and paint a preview before any image bytes arrive.
+ */
+@Component
+public class ImageDerivativeGenerator {
+
+    private static final float JPEG_QUALITY = 0.85f;
+    private static final int PLACEHOLDER_SOURCE_WIDTH = 32;
+    private static final int PLACEHOLDER_COMPONENTS_X = 4;
+    private static final int PLACEHOLDER_COMPONENTS_Y = 3;
+
+    private final boolean enabled;
+    private final List<Integer> widths;
+    private final long maxSourcePixels;
+    private final boolean placeholderEnabled;
+
+    public ImageDerivativeGenerator(
+            @Value("${app.upload.derivatives.enabled:true}") boolean enabled,
+            @Value("${app.upload.derivatives.widths:320,640,1280}") List<Integer> widths,
+            @Value("${app.upload.derivatives.max-source-pixels:40000000}") long maxSourcePixels,
+            @Value("${app.upload.derivatives.placeholder-enabled:true}") boolean placeholderEnabled
+    ) {
+        this.enabled = enabled;
+        this.widths = widths.stream().filter(width -> width > 0).sorted().distinct().toList();
+        this.maxSourcePixels = maxSourcePixels;
+        this.placeholderEnabled = placeholderEnabled;
+    }
+
+    /**
+     * Reads the image once for its dimensions, placeholder and derivatives. Dimensions come from the header
+     * of any format ImageIO can read; the placeholder needs a decode within the pixel limit; derivatives
+     * additionally need a resizable format. Anything unavailable is left empty.
+     * <p>
+     * Derivatives are encoded in the format of {@code contentType}, the type the asset is stored and served
+     * with, so a mislabelled upload (PNG bytes sent as {@code image/jpeg}) still gets derivatives whose bytes
+     * match it. Without a content type the format ImageIO decoded is used.
+     */
+    public ImageAnalysis analyze(InputStream source, String contentType) throws IOException {
+        DecodedImage decoded = readWithinLimit(source);
+        if (decoded == null) {
+            return ImageAnalysis.NONE;
+        }
+        BufferedImage original = decoded.image();
+        if (original == null) {
+            return new ImageAnalysis(decoded.width(), decoded.height(), null, List.of());
+        }
+
+        String placeholder = placeholderEnabled ? placeholder(original) : null;
+        String format = resolveFormat(contentType, decoded.format());
+        if (!enabled || format == null || widths.isEmpty()) {
+            return new ImageAnalysis(decoded.width(), decoded.height(), placeholder, List.of());
+        }
+
+        List<ImageDerivative> derivatives = new ArrayList<>();
+        for (int width : widths) {
+            if (width >= original.getWidth()) {
+                break;
+            }
+            int height = Math.max(1, Math.round((float) original.getHeight() * width / original.getWidth()));
+            BufferedImage scaled = scale(original, width, height, "png".equals(format));
+            derivatives.add(new ImageDerivative(width, height, encode(scaled, format), "image/" + format));
+        }
+        return new ImageAnalysis(decoded.width(), decoded.height(), placeholder, derivatives);
+    }
+
+    /**
+     * BlurHash of a thumbnail flattened onto white, so transparent areas do not turn black.
+     */
+    private static String placeholder(BufferedImage original) {
+        int width = Math.min(PLACEHOLDER_SOURCE_WIDTH, original.getWidth());
+        int height = Math.max(1, Math.round((float) original.getHeight() * width / original.getWidth()));
+        BufferedImage thumbnail = scale(original, width, height, true);
+        BufferedImage flattened = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = flattened.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(thumbnail, 0, 0, null);
+        } finally {
+            graphics.dispose();
+        }
+        return BlurHash.encode(flattened, PLACEHOLDER_COMPONENTS_X, PLACEHOLDER_COMPONENTS_Y);
+    }
+
+    /**
+     * @return {@code null} when no reader recognizes the bytes; an image of {@code null} when the header
+     *         reports more pixels than allowed
+     */
+    private DecodedImage readWithinLimit(InputStream source) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source)) {
+            if (in == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                // Check the header before decoding so a decompression bomb never reaches the heap.
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                long pixels = (long) width * height;
+                if (pixels <= 0) {
+                    return null;
+                }
+                String format = reader.getFormatName().toLowerCase(Locale.ROOT);
+                if (pixels > maxSourcePixels) {
+                    return new DecodedImage(width, height, format, null);
+                }
+                return new DecodedImage(width, height, format, reader.read(0));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Halves the image with bilinear filtering until the next halving would undershoot, then draws the
+     * final size. Close to area-averaging quality at a fraction of its cost.
+     */
+    private static BufferedImage scale(BufferedImage source, int targetWidth, int targetHeight, boolean keepAlpha) {
+        int imageType = keepAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+
+        do {
+            currentWidth = Math.max(targetWidth, currentWidth / 2);
+            currentHeight = Math.max(targetHeight, currentHeight / 2);
+            BufferedImage next = new BufferedImage(currentWidth, currentHeight, imageType);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (currentWidth != targetWidth || currentHeight != targetHeight);
+
+        return current;
+    }
+
+    private static byte[] encode(BufferedImage image, String format) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format);
+        if (!writers.hasNext()) {
+            throw new IOException("No ImageIO writer for format: " + format);
+        }
+        ImageWriter writer = writers.next();
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(buffer)) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if ("jpeg".equals(format)) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(JPEG_QUALITY);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * ImageIO writer format for the derivatives, or {@code null} when they are not produced.
+     */
+    private static String resolveFormat(String contentType, String decodedFormat) {
+        if (contentType == null || contentType.isBlank()) {
+            return switch (decodedFormat) {
+                case "png" -> "png";
+                case "jpeg", "jpg" -> "jpeg";
+                default -> null;
+            };
+        }
+        int parameters = contentType.indexOf(';');
+        String mediaType = (parameters < 0 ? contentType : contentType.substring(0, parameters)).trim().toLowerCase(Locale.ROOT);
+        return switch (mediaType) {
+            case "image/png" -> "png";
+            case "image/jpeg", "image/jpg", "image/pjpeg" -> "jpeg";
+            default -> null;
+        };
+    }
+
+    public record ImageDerivative(int width, int height, byte[] bytes, String contentType) {
+    }
+
+    /**
+     * What an upload's image bytes yielded. {@code width} and {@code height} are null when the format could
+     * not be read, {@code placeholder} (a BlurHash string) when the image was not decoded.
+     */
+    public record ImageAnalysis(Integer width, Integer height, String placeholder, List<ImageDerivative> derivatives) {
+
+        public static final ImageAnalysis NONE = new ImageAnalysis(null, null, null, List.of());
+    }
+
+    private record DecodedImage(int width, int height, String format, BufferedImage image) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.sloth.portfolio.service;
+
+import org.commonmark.Extension;
+import org.commonmark.ext.autolink.AutolinkExtension;
+import org.commonmark.ext.gfm.strikethrough.StrikethroughExtension;
+import org.commonmark.ext.gfm.tables.TablesExtension;
+import org.commonmark.ext.task.list.items.TaskListItemsExtension;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Renders project Markdown to HTML the way the public site does (GFM tables, strikethrough, task lists,
+ * autolinks, single line breaks kept as {@code <br>}). Output is safe to insert as-is: raw HTML in the
+ * source is escaped rather than passed through, and link and image URLs with unsafe schemes such as
+ * {@code javascript:} are dropped.
+ */
+@Component
+public class MarkdownRenderer {
+
+    /**
+     * Bump whenever the HTML for the same Markdown changes (extensions, options), so stored output is
+     * re-rendered by {@link ProjectContentRenderWorker}.
+     */
+    public static final int VERSION = 1;
+
+    private final Parser parser;
+    private final HtmlRenderer renderer;
+
+    public MarkdownRenderer() {
+        List<Extension> extensions = List.of(
+                TablesExtension.create(),
+                StrikethroughExtension.create(),
+                TaskListItemsExtension.create(),
+                AutolinkExtension.create()
+        );
+        this.parser = Parser.builder().extensions(extensions).build();
+        this.renderer = HtmlRenderer.builder()
+                .extensions(extensions)
+                .escapeHtml(true)
+                .sanitizeUrls(true)
+                .softbreak("<br />\n")
+                .build();
+    }
+
+    public String render(String markdown) {
+        return renderer.render(parser.parse(markdown));
+    }
+
+    /**
+     * Hex SHA-256 of the Markdown source, the key stored output is matched against.
+     */
+    public static String hash(String markdown) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(markdown.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.sloth.portfolio.service;
 
 import com.sloth.portfolio.domain.Notice;
 import com.sloth.portfolio.repo.NoticeRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -10,16 +11,20 @@ import org.springframework.transaction.annotation.Transactional;
 public class NoticeCommandService {
 
     private final NoticeRepository noticeRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public NoticeCommandService(NoticeRepository noticeRepository) {
+    public NoticeCommandService(NoticeRepository noticeRepository, ApplicationEventPublisher eventPublisher) {
         this.noticeRepository = noticeRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public Notice create(Notice notice) {
         if (notice.isPinned()) {
             noticeRepository.clearPinnedNotices();
         }
-        return noticeRepository.save(notice);
+        Notice saved = noticeRepository.save(notice);
+        eventPublisher.publishEvent(new PublicContentChanged("notice created"));
+        return saved;
     }
 
     public Notice update(Long id, Notice newValue) {
@@ -29,6 +34,7 @@ public class NoticeCommandService {
             noticeRepository.clearPinnedNoticesExcept(id);
         }
         existing.update(newValue.getContent(), newValue.isPinned(), newValue.getFontSize());
+        eventPublisher.publishEvent(new PublicContentChanged("notice updated"));
         return existing;
     }
 
@@ -37,6 +43,7 @@ public class NoticeCommandService {
             throw new NotFoundException("Notice not found: id=" + id);
         }
         noticeRepository.deleteById(id);
+        eventPublisher.publishEvent(new PublicContentChanged("notice deleted"));
     }
 
     public static class NotFoundException extends RuntimeException {
@@ -0,0 +1,81 @@
+package com.sloth.portfolio.service;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Presents a finished resumable upload's part file as a {@link MultipartFile}, so it goes through the same
+ * {@link ProjectAssetService#upload} path as a multipart request. Unlike a spooled multipart part,
+ * {@code transferTo} leaves the part file in place, so a completion whose rows fail to commit can be retried;
+ * the destination is a hard link to it where the file system allows, and a copy otherwise.
+ */
+final class PartFileMultipartFile implements MultipartFile {
+
+    private final Path path;
+    private final String originalFilename;
+    private final String contentType;
+    private final long size;
+
+    PartFileMultipartFile(Path path, String originalFilename, String contentType, long size) {
+        this.path = path;
+        this.originalFilename = originalFilename;
+        this.contentType = contentType;
+        this.size = size;
+    }
+
+    @Override
+    public String getName() {
+        return "file";
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+        return Files.readAllBytes(path);
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return Files.newInputStream(path);
+    }
+
+    @Override
+    public void transferTo(File dest) throws IOException {
+        transferTo(dest.toPath());
+    }
+
+    @Override
+    public void transferTo(Path dest) throws IOException {
+        Files.deleteIfExists(dest);
+        try {
+            Files.createLink(dest, path);
+        } catch (IOException | UnsupportedOperationException e) {
+            Files.copy(path, dest, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -1,286 +1,772 @@
 package com.sloth.portfolio.service;
 
+import com.sloth.portfolio.domain.AssetBlob;
 import com.sloth.portfolio.domain.Project;
 import com.sloth.portfolio.domain.ProjectAsset;
 import com.sloth.portfolio.domain.ProjectAssetType;
+import com.sloth.portfolio.domain.StorageDeletion;
+import com.sloth.portfolio.repo.AssetBlobRepository;
 import com.sloth.portfolio.repo.ProjectAssetRepository;
 import com.sloth.portfolio.repo.ProjectRepository;
+import com.sloth.portfolio.repo.StorageDeletionRepository;
+import com.sloth.portfolio.storage.AssetStorage;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
+import org.springframework.http.HttpRange;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.net.URI;
-import java.net.URLEncoder;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class ProjectAssetService {
 
     private static final Logger log = LoggerFactory.getLogger(ProjectAssetService.class);
-    private static final Duration STORAGE_REQUEST_TIMEOUT = Duration.ofSeconds(60);
+    private static final String INSERT_ASSET_SQL = "insert into project_assets "
+            + "(project_id, asset_type, original_name, stored_name, content_type, file_size, sha256, derivative_widths, "
+            + "image_width, image_height, blurhash, blob_id, created_at) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_BLOB_SQL = "insert into asset_blobs "
+            + "(sha256, stored_name, file_size, derivative_widths, image_width, image_height, blurhash, ref_count, created_at) "
+            + "values (?, ?, ?, ?, ?, ?, ?, 0, ?) on conflict do nothing";
 
     private final ProjectRepository projectRepository;
     private final ProjectAssetRepository projectAssetRepository;
-    private final UploadProvider uploadProvider;
-    private final Path uploadRoot;
-    private final HttpClient httpClient;
-    private final String supabaseObjectBaseUrl;
-    private final String supabaseServiceRoleKey;
-
-    private enum UploadProvider {
-        LOCAL,
-        SUPABASE
-    }
+    private final AssetBlobRepository assetBlobRepository;
+    private final StorageDeletionRepository storageDeletionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService storageExecutor;
+    private final int batchMaxFiles;
+    private final AssetStorage assetStorage;
+    private final ExpiringLruCache<String, AssetSnapshot> metadataCache;
+    private final AssetLookupFilter lookupFilter;
+    private final ImageDerivativeGenerator derivativeGenerator;
 
     public ProjectAssetService(
             ProjectRepository projectRepository,
             ProjectAssetRepository projectAssetRepository,
-            @Value("${app.upload.provider:auto}") String uploadProvider,
-            @Value("${app.upload.dir:uploads}") String uploadDir,
-            @Value("${app.upload.supabase.url:}") String supabaseUrl,
-            @Value("${app.upload.supabase.bucket:}") String supabaseBucket,
-            @Value("${app.upload.supabase.service-role-key:}") String supabaseServiceRoleKey
+            AssetBlobRepository assetBlobRepository,
+            StorageDeletionRepository storageDeletionRepository,
+            ApplicationEventPublisher eventPublisher,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ImageDerivativeGenerator derivativeGenerator,
+            AssetLookupFilter lookupFilter,
+            AssetStorage assetStorage,
+            @Value("${app.upload.batch.concurrency:4}") int batchConcurrency,
+            @Value("${app.upload.batch.max-files:50}") int batchMaxFiles,
+            @Value("${app.upload.metadata-cache.max-entries:4096}") int metadataCacheMaxEntries,
+            @Value("${app.upload.metadata-cache.ttl:10m}") Duration metadataCacheTtl
     ) {
         this.projectRepository = projectRepository;
         this.projectAssetRepository = projectAssetRepository;
-        this.uploadRoot = Path.of(uploadDir).toAbsolutePath().normalize();
-        this.httpClient = HttpClient.newBuilder().followRedirects(HttpClient.Redirect.NORMAL).build();
-        this.supabaseServiceRoleKey = normalizeBlankToNull(supabaseServiceRoleKey);
-        this.uploadProvider = resolveUploadProvider(uploadProvider, supabaseUrl, supabaseBucket, this.supabaseServiceRoleKey);
-        this.supabaseObjectBaseUrl = this.uploadProvider == UploadProvider.SUPABASE
-                ? buildSupabaseObjectBaseUrl(supabaseUrl, supabaseBucket)
-                : null;
-
-        if (this.uploadProvider == UploadProvider.LOCAL) {
-            ensureUploadDirExists();
-            log.info("Project asset storage provider: LOCAL (dir={})", this.uploadRoot);
-        } else {
-            log.info("Project asset storage provider: SUPABASE (bucket={})", normalizeBlankToNull(supabaseBucket));
-        }
-    }
-
+        this.assetBlobRepository = assetBlobRepository;
+        this.storageDeletionRepository = storageDeletionRepository;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("asset-upload-");
+        threadFactory.setDaemon(true);
+        this.storageExecutor = Executors.newFixedThreadPool(Math.max(1, batchConcurrency), threadFactory);
+        this.batchMaxFiles = Math.max(1, batchMaxFiles);
+        this.metadataCache = new ExpiringLruCache<>(metadataCacheMaxEntries, metadataCacheTtl);
+        this.derivativeGenerator = derivativeGenerator;
+        this.lookupFilter = lookupFilter;
+        this.assetStorage = assetStorage;
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ProjectAsset upload(Long projectId, MultipartFile file) {
+        return upload(projectId, file, null);
+    }
+
+    /**
+     * Digests the file and writes its object outside any transaction, then records it in a short one, so
+     * hashing, image decoding and the storage write never hold a DB connection; the same split as
+     * {@link #uploadBatch}.
+     *
+     * @param storeTimeout how long the storage write may take, or {@code null} for the backend's upload timeout
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ProjectAsset upload(Long projectId, MultipartFile file, Duration storeTimeout) {
         if (file == null || file.isEmpty()) {
             throw new InvalidFileException("File must not be empty");
         }
+        if (!projectRepository.existsById(projectId)) {
+            throw new NotFoundException("Project not found: id=" + projectId);
+        }
+
+        PreparedUpload upload = prepareUpload(projectId, file);
+        Map<String, StoredBlob> written = assetBlobRepository.findExistingDigests(Set.of(upload.sha256())).isEmpty()
+                ? Map.of(upload.sha256(), writeBlobObject(upload, storeTimeout))
+                : Map.of();
+        try {
+            return transactionTemplate.execute(status -> persistUpload(projectId, upload, written));
+        } catch (RuntimeException e) {
+            discardWritten(written.values());
+            throw e;
+        }
+    }
 
+    private ProjectAsset persistUpload(Long projectId, PreparedUpload upload, Map<String, StoredBlob> written) {
         @SuppressWarnings("null")
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new NotFoundException("Project not found: id=" + projectId));
+        AssetBlob blob = lockBlobs(Set.of(upload.sha256()), written).get(upload.sha256());
+        if (blob == null) {
+            // The blob was released by a concurrent delete after the existence check.
+            throw new StorageException("Stored object was removed concurrently, please retry", null);
+        }
+        blob.retain();
+        ProjectAsset asset = upload.toAsset(project);
+        asset.attachBlob(blob);
+        invalidateMetadata(List.of(asset.getStoredName()));
+        ProjectAsset saved = projectAssetRepository.save(asset);
+        lookupFilter.add(saved);
+        if (saved.getAssetType() == ProjectAssetType.IMAGE) {
+            projectRepository.claimPreviewAsset(projectId, saved.getId());
+        }
+        eventPublisher.publishEvent(new PublicContentChanged("asset uploaded"));
+        return saved;
+    }
+
+    /**
+     * Uploads several files to one project. Digests and storage writes run on a pool bounded by
+     * {@code app.upload.batch.concurrency}, the project is checked once, and all asset rows are inserted in
+     * a single JDBC batch. A file that fails is reported in its result without affecting the others.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BatchUploadResult> uploadBatch(Long projectId, List<MultipartFile> files) {
+        if (files == null || files.isEmpty()) {
+            throw new InvalidFileException("At least one file is required");
+        }
+        if (files.size() > batchMaxFiles) {
+            throw new InvalidFileException("Too many files in one batch: max=" + batchMaxFiles);
+        }
+        if (!projectRepository.existsById(projectId)) {
+            throw new NotFoundException("Project not found: id=" + projectId);
+        }
+
+        BatchUploadResult[] results = new BatchUploadResult[files.size()];
+        List<Callable<PreparedUpload>> digestTasks = new ArrayList<>();
+        List<Integer> digestIndexes = new ArrayList<>();
+        for (int i = 0; i < files.size(); i++) {
+            MultipartFile file = files.get(i);
+            if (file == null || file.isEmpty()) {
+                results[i] = BatchUploadResult.failed(displayName(file), "File must not be empty");
+                continue;
+            }
+            digestTasks.add(() -> prepareUpload(projectId, file));
+            digestIndexes.add(i);
+        }
+
+        Map<Integer, PreparedUpload> prepared = new LinkedHashMap<>();
+        List<TaskOutcome<PreparedUpload>> digested = runOnStoragePool(digestTasks);
+        for (int i = 0; i < digested.size(); i++) {
+            int index = digestIndexes.get(i);
+            TaskOutcome<PreparedUpload> outcome = digested.get(i);
+            if (outcome.failure() != null) {
+                results[index] = BatchUploadResult.failed(displayName(files.get(index)), outcome.failure().getMessage());
+            } else {
+                prepared.put(index, outcome.value());
+            }
+        }
 
-        String originalName = sanitizeFileName(file.getOriginalFilename());
-        String extension = extractExtension(originalName);
-        String contentType = resolveContentType(file.getContentType(), extension);
-        String storedName = projectId + "-" + UUID.randomUUID() + extension;
+        Map<String, StoredBlob> written = writeMissingBlobs(prepared, files, results);
+        if (!prepared.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> persistBatch(projectId, prepared, written, results));
+            } catch (RuntimeException e) {
+                discardWritten(written.values());
+                throw e;
+            }
+        }
+        return List.of(results);
+    }
+
+    /**
+     * Writes one object per digest that storage does not hold yet; files sharing a digest, in the batch or
+     * with an earlier upload, are written at most once.
+     */
+    private Map<String, StoredBlob> writeMissingBlobs(
+            Map<Integer, PreparedUpload> prepared,
+            List<MultipartFile> files,
+            BatchUploadResult[] results
+    ) {
+        Set<String> digests = new LinkedHashSet<>();
+        prepared.values().forEach(upload -> digests.add(upload.sha256()));
+        Set<String> existing = digests.isEmpty() ? Set.of() : assetBlobRepository.findExistingDigests(digests);
+
+        Map<String, PreparedUpload> toWrite = new LinkedHashMap<>();
+        for (PreparedUpload upload : prepared.values()) {
+            if (!existing.contains(upload.sha256())) {
+                toWrite.putIfAbsent(upload.sha256(), upload);
+            }
+        }
+
+        List<Callable<StoredBlob>> writeTasks = new ArrayList<>();
+        toWrite.values().forEach(upload -> writeTasks.add(() -> writeBlobObject(upload, null)));
+        List<TaskOutcome<StoredBlob>> outcomes = runOnStoragePool(writeTasks);
+
+        Map<String, StoredBlob> written = new HashMap<>();
+        Map<String, String> failedDigests = new HashMap<>();
+        List<PreparedUpload> attempted = new ArrayList<>(toWrite.values());
+        for (int i = 0; i < outcomes.size(); i++) {
+            TaskOutcome<StoredBlob> outcome = outcomes.get(i);
+            if (outcome.failure() != null) {
+                failedDigests.put(attempted.get(i).sha256(), outcome.failure().getMessage());
+            } else {
+                written.put(outcome.value().sha256(), outcome.value());
+            }
+        }
 
-        if (uploadProvider == UploadProvider.SUPABASE) {
-            uploadToSupabase(storedName, file, contentType, originalName);
-        } else {
-            uploadToLocal(storedName, file, originalName);
+        prepared.entrySet().removeIf(entry -> {
+            String failure = failedDigests.get(entry.getValue().sha256());
+            if (failure == null) {
+                return false;
+            }
+            results[entry.getKey()] = BatchUploadResult.failed(displayName(files.get(entry.getKey())), failure);
+            return true;
+        });
+        return written;
+    }
+
+    private void persistBatch(
+            Long projectId,
+            Map<Integer, PreparedUpload> prepared,
+            Map<String, StoredBlob> written,
+            BatchUploadResult[] results
+    ) {
+        Project project = projectRepository.getReferenceById(projectId);
+        Set<String> digests = new LinkedHashSet<>();
+        prepared.values().forEach(upload -> digests.add(upload.sha256()));
+        Map<String, AssetBlob> blobs = lockBlobs(digests, written);
+
+        Map<Integer, ProjectAsset> assets = new LinkedHashMap<>();
+        for (Map.Entry<Integer, PreparedUpload> entry : prepared.entrySet()) {
+            PreparedUpload upload = entry.getValue();
+            AssetBlob blob = blobs.get(upload.sha256());
+            if (blob == null) {
+                // The blob was released by a concurrent delete after the existence check.
+                results[entry.getKey()] = BatchUploadResult.failed(upload.originalName(), "Stored object was removed concurrently, please retry");
+                continue;
+            }
+            blob.retain();
+            ProjectAsset asset = upload.toAsset(project);
+            asset.attachBlob(blob);
+            assets.put(entry.getKey(), asset);
         }
+        if (assets.isEmpty()) {
+            return;
+        }
+        assetBlobRepository.flush();
+
+        Timestamp createdAt = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>();
+        for (ProjectAsset asset : assets.values()) {
+            rows.add(new Object[]{
+                    projectId,
+                    asset.getAssetType().name(),
+                    asset.getOriginalName(),
+                    asset.getStoredName(),
+                    asset.getContentType(),
+                    asset.getFileSize(),
+                    asset.getSha256(),
+                    joinWidths(asset.getDerivativeWidths()),
+                    asset.getImageWidth(),
+                    asset.getImageHeight(),
+                    asset.getBlurhash(),
+                    asset.getBlob().getId(),
+                    createdAt
+            });
+        }
+        List<String> storedNames = assets.values().stream().map(ProjectAsset::getStoredName).toList();
+        invalidateMetadata(storedNames);
+        jdbcTemplate.batchUpdate(INSERT_ASSET_SQL, rows);
+
+        Map<String, ProjectAsset> inserted = new HashMap<>();
+        for (ProjectAsset asset : projectAssetRepository.findByStoredNameIn(storedNames)) {
+            inserted.put(asset.getStoredName(), asset);
+            lookupFilter.add(asset);
+        }
+        assets.forEach((index, asset) -> results[index] = BatchUploadResult.uploaded(inserted.get(asset.getStoredName())));
+        // The batch shares one createdAt, so its oldest image is the one with the lowest id.
+        inserted.values().stream()
+                .filter(asset -> asset.getAssetType() == ProjectAssetType.IMAGE)
+                .map(ProjectAsset::getId)
+                .min(Long::compare)
+                .ifPresent(assetId -> projectRepository.claimPreviewAsset(projectId, assetId));
+        eventPublisher.publishEvent(new PublicContentChanged("assets uploaded"));
+    }
+
+    private <T> List<TaskOutcome<T>> runOnStoragePool(List<Callable<T>> tasks) {
+        if (tasks.isEmpty()) {
+            return List.of();
+        }
+        List<Future<T>> futures;
+        try {
+            futures = storageExecutor.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageException("Batch upload interrupted", e);
+        }
+
+        List<TaskOutcome<T>> outcomes = new ArrayList<>(futures.size());
+        for (Future<T> future : futures) {
+            try {
+                outcomes.add(new TaskOutcome<>(future.get(), null));
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() == null ? e : e.getCause();
+                log.warn("Batch upload task failed: {}", cause.getMessage());
+                outcomes.add(new TaskOutcome<>(null, cause));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new StorageException("Batch upload interrupted", e);
+            }
+        }
+        return outcomes;
+    }
 
-        ProjectAssetType type = detectType(contentType, extension);
-        ProjectAsset asset = new ProjectAsset(
-                project,
-                type,
+    @PreDestroy
+    void shutdownStorageExecutor() {
+        storageExecutor.shutdownNow();
+    }
+
+    private PreparedUpload prepareUpload(Long projectId, MultipartFile file) {
+        String originalName = sanitizeFileName(file.getOriginalFilename());
+        String extension = extractExtension(originalName);
+        String contentType = resolveContentType(file.getContentType(), extension);
+        return new PreparedUpload(
+                file,
                 originalName,
-                storedName,
+                extension,
                 contentType,
-                file.getSize()
+                detectType(contentType, extension),
+                projectId + "-" + UUID.randomUUID() + extension,
+                digestUpload(file, originalName)
         );
-        return projectAssetRepository.save(asset);
     }
 
-    @Transactional(readOnly = true)
-    public AssetFile loadAsset(Long assetId) {
-        ProjectAsset asset = projectAssetRepository.findById(assetId)
-                .orElseThrow(() -> new NotFoundException("Asset not found: id=" + assetId));
+    /**
+     * Locks the blob of every digest for a reference count update. A blob row is inserted first for each
+     * object written by this upload, skipped when the digest already has one: two first uploads of the same
+     * bytes racing each other both get the blob that was inserted first, and the object the other wrote is
+     * queued for deletion.
+     */
+    private Map<String, AssetBlob> lockBlobs(Set<String> digests, Map<String, StoredBlob> written) {
+        List<String> unusedObjectNames = new ArrayList<>();
+        for (StoredBlob stored : written.values()) {
+            if (!insertBlobIfAbsent(stored)) {
+                collectObjectNames(stored.objectName(), stored.derivativeWidths(), unusedObjectNames);
+            }
+        }
+        queueStorageDeletions(unusedObjectNames);
+
+        Map<String, AssetBlob> blobs = new HashMap<>();
+        assetBlobRepository.findLockedBySha256In(digests).forEach(blob -> blobs.put(blob.getSha256(), blob));
+        return blobs;
+    }
+
+    /**
+     * @return {@code false} when a blob with the same digest exists, in which case nothing was inserted
+     */
+    private boolean insertBlobIfAbsent(StoredBlob stored) {
+        return jdbcTemplate.update(
+                INSERT_BLOB_SQL,
+                stored.sha256(),
+                stored.objectName(),
+                stored.fileSize(),
+                joinWidths(stored.derivativeWidths()),
+                stored.image().width(),
+                stored.image().height(),
+                stored.image().placeholder(),
+                Timestamp.from(Instant.now())
+        ) > 0;
+    }
+
+    /**
+     * Queues the objects of an upload whose rows were never committed; best effort, the reconciler reports
+     * whatever is left.
+     */
+    private void discardWritten(Collection<StoredBlob> written) {
+        List<String> objectNames = new ArrayList<>();
+        written.forEach(stored -> collectObjectNames(stored.objectName(), stored.derivativeWidths(), objectNames));
+        if (objectNames.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> queueStorageDeletions(objectNames));
+        } catch (RuntimeException e) {
+            log.warn("Failed to queue deletion of {} unused stored object(s): {}", objectNames.size(), e.getMessage());
+        }
+    }
 
-        return loadAssetByStoredNameInternal(
-                asset.getStoredName(),
-                asset.getAssetType() == ProjectAssetType.IMAGE,
-                asset.getOriginalName(),
-                asset.getContentType()
-        );
+    private StoredBlob writeBlobObject(PreparedUpload upload, Duration storeTimeout) {
+        String objectName = newObjectName(upload.sha256(), upload.extension());
+        // Images are analyzed before the original is stored: the local backend moves the upload into place.
+        ImageDerivativeGenerator.ImageAnalysis image = upload.type() == ProjectAssetType.IMAGE
+                ? analyzeImage(objectName, upload.file(), upload.contentType())
+                : ImageDerivativeGenerator.ImageAnalysis.NONE;
+        callStorage(() -> assetStorage.put(objectName, upload.file(), upload.file().getSize(), upload.contentType(), storeTimeout));
+
+        List<Integer> derivativeWidths = storeDerivatives(objectName, image.derivatives());
+        return new StoredBlob(upload.sha256(), objectName, upload.file().getSize(), derivativeWidths, image);
     }
 
-    @Transactional(readOnly = true)
-    public AssetFile loadAssetByStoredName(String storedName) {
-        String normalizedStoredName = normalizeStoredName(storedName);
+    /**
+     * The digest plus a random suffix, so no name is ever used twice: bytes uploaded again after their blob
+     * was deleted get a new object, which the still queued deletion of the old one cannot remove.
+     */
+    private static String newObjectName(String sha256, String extension) {
+        return sha256 + "-" + UUID.randomUUID().toString().substring(0, 8) + extension;
+    }
 
-        ProjectAsset asset = projectAssetRepository.findByStoredName(normalizedStoredName).orElse(null);
-        boolean inline = asset != null
-                ? asset.getAssetType() == ProjectAssetType.IMAGE
-                : isImageByExtension(normalizedStoredName);
-        String originalName = asset != null ? asset.getOriginalName() : normalizedStoredName;
-        String contentType = asset != null ? asset.getContentType() : null;
+    private static String joinWidths(List<Integer> widths) {
+        return widths.isEmpty() ? null : widths.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
 
-        return loadAssetByStoredNameInternal(normalizedStoredName, inline, originalName, contentType);
+    private static String displayName(MultipartFile file) {
+        return file == null ? "file" : sanitizeFileName(file.getOriginalFilename());
     }
 
-    public void deleteAsset(Long projectId, Long assetId) {
-        ProjectAsset asset = projectAssetRepository.findByIdAndProjectId(assetId, projectId)
-                .orElseThrow(() -> new NotFoundException("Asset not found: id=" + assetId + ", projectId=" + projectId));
-        deleteStoredAssetQuietly(asset.getStoredName());
-        projectAssetRepository.delete(asset);
+    /**
+     * Hashes the spooled multipart file in fixed-size chunks, so the digest costs one sequential disk read
+     * and no heap proportional to the file. The same digest names the blob, is recorded on the asset and
+     * becomes its entity tag.
+     */
+    private static String digestUpload(MultipartFile file, String originalName) {
+        try (InputStream in = file.getInputStream()) {
+            return digest(in);
+        } catch (IOException e) {
+            throw new StorageException("Failed to read upload: " + originalName, e);
+        }
     }
 
-    public void deleteAllByProjectId(Long projectId) {
-        List<ProjectAsset> assets = projectAssetRepository.findByProjectIdOrderByCreatedAtAsc(projectId);
-        for (ProjectAsset asset : assets) {
-            deleteStoredAssetQuietly(asset.getStoredName());
+    private static String digest(InputStream in) throws IOException {
+        MessageDigest digest = sha256Digest();
+        byte[] buffer = new byte[64 * 1024];
+        int read;
+        while ((read = in.read(buffer)) >= 0) {
+            digest.update(buffer, 0, read);
         }
-        projectAssetRepository.deleteAll(assets);
+        return HexFormat.of().formatHex(digest.digest());
     }
 
-    private UploadProvider resolveUploadProvider(
-            String configuredProvider,
-            String supabaseUrl,
-            String supabaseBucket,
-            String serviceRoleKey
-    ) {
-        String normalizedProvider = normalizeBlankToNull(configuredProvider);
-        String providerValue = normalizedProvider == null ? "auto" : normalizedProvider.toLowerCase(Locale.ROOT);
-        boolean supabaseConfigComplete = isSupabaseConfigComplete(supabaseUrl, supabaseBucket, serviceRoleKey);
-
-        return switch (providerValue) {
-            case "auto" -> supabaseConfigComplete ? UploadProvider.SUPABASE : UploadProvider.LOCAL;
-            case "local" -> UploadProvider.LOCAL;
-            case "supabase" -> {
-                if (!supabaseConfigComplete) {
-                    throw new IllegalStateException(
-                            "APP_UPLOAD_PROVIDER is 'supabase' but Supabase Storage config is incomplete. "
-                                    + "Required: APP_UPLOAD_SUPABASE_URL, APP_UPLOAD_SUPABASE_BUCKET, APP_UPLOAD_SUPABASE_SERVICE_ROLE_KEY"
-                    );
-                }
-                yield UploadProvider.SUPABASE;
-            }
-            default -> throw new IllegalStateException("Unsupported app.upload.provider value: " + configuredProvider);
-        };
+    /**
+     * Streams a stored object back from storage and hashes it. Reads past the node-local cache, so the
+     * digest is that of the object storage holds and hashing cold objects does not evict hot ones.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public String digestStoredObject(String objectName) {
+        try (AssetStorage.StoredObject object = callStorage(() -> assetStorage.getUncached(objectName));
+             InputStream in = object.body().getInputStream()) {
+            return digest(in);
+        } catch (IOException e) {
+            throw new StorageException("Failed to read stored object: " + objectName, e);
+        }
     }
 
-    private static boolean isSupabaseConfigComplete(String supabaseUrl, String supabaseBucket, String serviceRoleKey) {
-        return normalizeBlankToNull(supabaseUrl) != null
-                && normalizeBlankToNull(supabaseBucket) != null
-                && normalizeBlankToNull(serviceRoleKey) != null;
+    /**
+     * Re-reads the asset's bytes from storage and compares their digest with the recorded one. An asset
+     * the checksum backfill has not reached yet gets the computed digest recorded, which it then matches.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AssetVerification verifyAsset(Long projectId, Long assetId) {
+        ProjectAsset asset = projectAssetRepository.findWithBlobById(assetId)
+                .filter(found -> found.getProject().getId().equals(projectId))
+                .orElseThrow(() -> new NotFoundException("Asset not found: id=" + assetId + ", projectId=" + projectId));
+
+        String actual = digestStoredObject(asset.getObjectName());
+        String expected = asset.getSha256();
+        if (expected == null) {
+            recordMissingDigest(asset.getId(), asset.getStoredName(), actual);
+        } else if (!expected.equals(actual)) {
+            log.warn("Stored object does not match its recorded digest: assetId={}, object={}, expected={}, actual={}",
+                    assetId, asset.getObjectName(), expected, actual);
+        }
+        return new AssetVerification(assetId, expected, actual, expected == null || expected.equals(actual));
     }
 
-    private static String buildSupabaseObjectBaseUrl(String supabaseUrl, String supabaseBucket) {
-        String normalizedUrl = normalizeBlankToNull(supabaseUrl);
-        String normalizedBucket = normalizeBlankToNull(supabaseBucket);
-        if (normalizedUrl == null || normalizedBucket == null) {
-            throw new IllegalStateException("Supabase Storage URL/Bucket is not configured");
+    /**
+     * Copies blob digests onto assets that predate the asset column; no bytes are read.
+     *
+     * @return number of assets updated
+     */
+    public int copyBlobDigests() {
+        int updated = projectAssetRepository.copyMissingDigestsFromBlobs();
+        if (updated > 0) {
+            metadataCache.clear();
         }
-        String baseUrlWithoutTrailingSlash = normalizedUrl.replaceAll("/+$", "");
-        return baseUrlWithoutTrailingSlash + "/storage/v1/object/" + encodePathSegment(normalizedBucket);
+        return updated;
     }
 
-    private void uploadToLocal(String storedName, MultipartFile file, String originalName) {
-        Path target = resolveSafePath(storedName);
-        try {
-            Files.copy(file.getInputStream(), target, StandardCopyOption.REPLACE_EXISTING);
-        } catch (IOException e) {
-            throw new StorageException("Failed to store file: " + originalName, e);
+    /**
+     * Stores a digest computed for an asset that had none; a digest recorded in the meantime wins.
+     */
+    public void recordMissingDigest(Long assetId, String storedName, String sha256) {
+        if (projectAssetRepository.recordMissingDigest(assetId, sha256) > 0) {
+            invalidateMetadata(List.of(storedName));
         }
     }
 
-    private void uploadToSupabase(String storedName, MultipartFile file, String contentType, String originalName) {
-        byte[] fileBytes;
+    private static MessageDigest sha256Digest() {
         try {
-            fileBytes = file.getBytes();
-        } catch (IOException e) {
-            throw new StorageException("Failed to read file bytes: " + originalName, e);
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
         }
+    }
 
-        String objectUrl = buildSupabaseObjectUrl(storedName);
-        HttpRequest request = supabaseRequestBuilder(objectUrl)
-                .header("Content-Type", contentType == null ? "application/octet-stream" : contentType)
-                .header("x-upsert", "true")
-                .POST(HttpRequest.BodyPublishers.ofByteArray(fileBytes))
-                .build();
-
-        HttpResponse<String> response = sendForText(request, "upload");
-        if (!isSuccessStatus(response.statusCode())) {
-            throw new StorageException(
-                    "Failed to upload file to Supabase Storage: status=" + response.statusCode() + ", body=" + abbreviateBody(response.body()),
-                    null
-            );
+    /**
+     * @param width requested display width ({@code ?w=}); the smallest stored derivative at least that wide
+     *              is served, or the original when none is. {@code null} always serves the original.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AssetMetadata describeAsset(Long assetId, Integer width) {
+        if (!lookupFilter.mightContainId(assetId)) {
+            throw new NotFoundException("Asset not found: id=" + assetId);
+        }
+        ProjectAsset asset = projectAssetRepository.findWithBlobById(assetId).orElse(null);
+        if (asset == null) {
+            lookupFilter.recordFalsePositive();
+            throw new NotFoundException("Asset not found: id=" + assetId);
         }
+        return AssetMetadata.from(asset, width);
     }
 
-    private void ensureUploadDirExists() {
-        try {
-            Files.createDirectories(uploadRoot);
-        } catch (IOException e) {
-            throw new StorageException("Failed to create upload directory: " + uploadRoot, e);
+    /**
+     * Answers from the in-process metadata cache when it can. Runs outside a transaction, so a cache hit
+     * needs no JDBC connection and a miss costs a single repository query.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AssetMetadata describeAssetByStoredName(String storedName, Integer width) {
+        String normalizedStoredName = normalizeStoredName(storedName);
+
+        AssetSnapshot snapshot = metadataCache.get(normalizedStoredName);
+        if (snapshot == null && !lookupFilter.mightContainStoredName(normalizedStoredName)) {
+            throw new NotFoundException("Asset not found: storedName=" + normalizedStoredName);
+        }
+        if (snapshot == null) {
+            snapshot = projectAssetRepository.findByStoredName(normalizedStoredName)
+                    .map(AssetSnapshot::of)
+                    .orElse(null);
+            if (snapshot == null) {
+                lookupFilter.recordFalsePositive();
+                throw new NotFoundException("Asset not found: storedName=" + normalizedStoredName);
+            }
+            metadataCache.put(normalizedStoredName, snapshot);
         }
+        return snapshot.toMetadata(width);
+    }
+
+    /**
+     * Opens the stored bytes of an asset. When {@code ranges} is not empty the storage backend may return
+     * only the part of the object that covers them; {@link AssetFile#rangeStart()} tells where it begins.
+     * Runs outside any transaction so slow storage never pins a DB connection.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AssetFile openAsset(AssetMetadata metadata, List<HttpRange> ranges) {
+        String objectName = metadata.storedName();
+        AssetStorage.StoredObject object = callStorage(() -> ranges.isEmpty()
+                ? assetStorage.get(objectName)
+                : assetStorage.range(objectName, ranges, metadata.fileSize()));
+        AssetMetadata resolvedMetadata = metadata.contentType() == null
+                ? metadata.withContentType(object.contentType())
+                : metadata;
+        return new AssetFile(resolvedMetadata, object.body(), object.rangeStart(), object.totalLength());
     }
 
-    private Path resolveSafePath(String storedName) {
-        Path resolved = uploadRoot.resolve(storedName).normalize();
-        if (!resolved.startsWith(uploadRoot)) {
-            throw new InvalidFileException("Invalid file path");
+    public void deleteAsset(Long projectId, Long assetId) {
+        ProjectAsset asset = projectAssetRepository.findByIdAndProjectId(assetId, projectId)
+                .orElseThrow(() -> new NotFoundException("Asset not found: id=" + assetId + ", projectId=" + projectId));
+        Set<AssetBlob> unreferencedBlobs = new LinkedHashSet<>();
+        List<String> objectNames = new ArrayList<>();
+        releaseStoredObjects(asset, unreferencedBlobs, objectNames);
+        invalidateMetadata(List.of(asset.getStoredName()));
+        projectAssetRepository.delete(asset);
+        assetBlobRepository.deleteAll(unreferencedBlobs);
+        if (projectRepository.releasePreviewAsset(projectId, assetId) > 0) {
+            // The lookup flushes the pending delete, so the next oldest image is picked.
+            projectAssetRepository.findFirstImagePerProject(List.of(projectId))
+                    .forEach(next -> projectRepository.claimPreviewAsset(projectId, next.getId()));
         }
-        return resolved;
+        queueStorageDeletions(objectNames);
+        eventPublisher.publishEvent(new PublicContentChanged("asset deleted"));
     }
 
-    private AssetFile loadAssetByStoredNameInternal(
-            String storedName,
-            boolean inline,
-            String originalName,
-            String contentType
-    ) {
-        if (uploadProvider == UploadProvider.SUPABASE) {
-            return loadAssetFromSupabase(storedName, inline, originalName, contentType);
+    public void deleteAllByProjectId(Long projectId) {
+        List<ProjectAsset> assets = projectAssetRepository.findByProjectIdOrderByCreatedAtAsc(projectId);
+        Set<AssetBlob> unreferencedBlobs = new LinkedHashSet<>();
+        List<String> objectNames = new ArrayList<>();
+        for (ProjectAsset asset : assets) {
+            releaseStoredObjects(asset, unreferencedBlobs, objectNames);
         }
+        invalidateMetadata(assets.stream().map(ProjectAsset::getStoredName).toList());
+        // Asset rows go first: they hold the foreign key to the blobs.
+        projectAssetRepository.deleteAll(assets);
+        projectRepository.clearPreviewAsset(projectId);
+        assetBlobRepository.deleteAll(unreferencedBlobs);
+        queueStorageDeletions(objectNames);
+    }
+
+    /**
+     * Drops cached metadata now and again once the surrounding transaction completes, so a lookup racing
+     * the write cannot leave the pre-commit state cached.
+     */
+    private void invalidateMetadata(List<String> storedNames) {
+        storedNames.forEach(metadataCache::invalidate);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    storedNames.forEach(metadataCache::invalidate);
+                }
+            });
+        }
+    }
 
-        Path path = resolveSafePath(storedName);
-        if (!Files.exists(path)) {
-            throw new NotFoundException("Asset file not found: storedName=" + storedName);
+    /**
+     * Removes objects from storage in bulk through the storage backend. Objects that are already gone
+     * count as removed. Called by {@link StorageDeletionWorker}; a {@link StorageException} leaves the whole
+     * batch queued for a retry.
+     */
+    void removeStoredObjects(List<String> objectNames) {
+        if (objectNames.isEmpty()) {
+            return;
         }
-        Resource resource = new FileSystemResource(path.toFile());
-        return new AssetFile(resource, originalName, contentType, inline);
+        callStorage(() -> assetStorage.delete(objectNames));
     }
 
-    private AssetFile loadAssetFromSupabase(String storedName, boolean inline, String originalName, String contentType) {
-        String objectUrl = buildSupabaseObjectUrl(storedName);
-        HttpRequest request = supabaseRequestBuilder(objectUrl)
-                .GET()
-                .build();
+    /**
+     * Drops the asset's reference on its blob and collects the object names to remove once nothing
+     * references them. Legacy assets without a blob own their object outright.
+     */
+    private void releaseStoredObjects(ProjectAsset asset, Set<AssetBlob> unreferencedBlobs, List<String> objectNames) {
+        if (asset.getBlob() == null) {
+            collectObjectNames(asset.getStoredName(), asset.getDerivativeWidths(), objectNames);
+            return;
+        }
 
-        HttpResponse<byte[]> response = sendForBytes(request, "download");
-        if (response.statusCode() == 404) {
-            throw new NotFoundException("Asset file not found: storedName=" + storedName);
+        AssetBlob blob = assetBlobRepository.findLockedById(asset.getBlob().getId()).orElse(null);
+        if (blob == null || unreferencedBlobs.contains(blob)) {
+            return;
+        }
+        if (blob.release()) {
+            collectObjectNames(blob.getStoredName(), blob.getDerivativeWidths(), objectNames);
+            unreferencedBlobs.add(blob);
         }
-        if (!isSuccessStatus(response.statusCode())) {
-            throw new StorageException("Failed to download asset from Supabase Storage: status=" + response.statusCode(), null);
+    }
+
+    private static void collectObjectNames(String objectName, List<Integer> derivativeWidths, List<String> objectNames) {
+        objectNames.add(objectName);
+        for (Integer width : derivativeWidths) {
+            objectNames.add(ProjectAsset.derivativeStoredName(objectName, width));
         }
+    }
 
-        String resolvedContentType = normalizeBlankToNull(contentType);
-        if (resolvedContentType == null) {
-            resolvedContentType = response.headers().firstValue("Content-Type").orElse(null);
+    /**
+     * Queues the objects in the current transaction; they are only removed from storage after it commits,
+     * so a rolled-back delete never loses bytes and the caller never waits on storage.
+     */
+    private void queueStorageDeletions(List<String> objectNames) {
+        if (objectNames.isEmpty()) {
+            return;
         }
+        Instant now = Instant.now();
+        storageDeletionRepository.saveAll(objectNames.stream().map(name -> new StorageDeletion(name, now)).toList());
+        eventPublisher.publishEvent(new StorageDeletionWorker.DeletionsQueued(objectNames.size()));
+    }
+
+    /**
+     * Dimensions, placeholder and resized copies of an uploaded image. A failure here only costs those; the
+     * upload itself still succeeds.
+     */
+    private ImageDerivativeGenerator.ImageAnalysis analyzeImage(String storedName, MultipartFile file, String contentType) {
+        try (InputStream in = file.getInputStream()) {
+            return derivativeGenerator.analyze(in, contentType);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Skipping image metadata and derivatives for {}: {}", storedName, e.getMessage());
+            return ImageDerivativeGenerator.ImageAnalysis.NONE;
+        }
+    }
+
+    /**
+     * Stores the resized copies next to the original and returns the widths that made it.
+     */
+    private List<Integer> storeDerivatives(String storedName, List<ImageDerivativeGenerator.ImageDerivative> derivatives) {
+        List<Integer> storedWidths = new ArrayList<>();
+        for (ImageDerivativeGenerator.ImageDerivative derivative : derivatives) {
+            String derivativeName = ProjectAsset.derivativeStoredName(storedName, derivative.width());
+            byte[] bytes = derivative.bytes();
+            try {
+                callStorage(() -> assetStorage.put(derivativeName, new ByteArrayResource(bytes), bytes.length, derivative.contentType()));
+                storedWidths.add(derivative.width());
+            } catch (StorageException e) {
+                log.warn("Failed to store image derivative {}: {}", derivativeName, e.getMessage());
+            }
+        }
+        return storedWidths;
+    }
+
+    private static void callStorage(Runnable call) {
+        callStorage(() -> {
+            call.run();
+            return null;
+        });
+    }
 
-        Resource resource = new ByteArrayResource(response.body());
-        return new AssetFile(resource, originalName, resolvedContentType, inline);
+    /**
+     * Maps storage backend failures onto this service's exceptions, which the controllers translate.
+     */
+    private static <T> T callStorage(Supplier<T> call) {
+        try {
+            return call.get();
+        } catch (AssetStorage.ObjectNotFoundException e) {
+            throw new NotFoundException("Asset file not found: " + e.getMessage());
+        } catch (AssetStorage.StorageAccessException e) {
+            throw new StorageException(e.getMessage(), e);
+        }
     }
 
     private static String normalizeStoredName(String storedName) {
@@ -355,107 +841,164 @@ public class ProjectAssetService {
                 || lower.endsWith(".avif");
     }
 
-    private void deleteStoredAssetQuietly(String storedName) {
-        if (uploadProvider == UploadProvider.SUPABASE) {
-            deleteSupabaseObjectQuietly(storedName);
-            return;
-        }
-
-        try {
-            Files.deleteIfExists(resolveSafePath(storedName));
-        } catch (IOException ignored) {
-            // Keep DB cleanup even if file deletion fails.
+    private static String normalizeBlankToNull(String value) {
+        if (value == null) {
+            return null;
         }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
     }
 
-    private void deleteSupabaseObjectQuietly(String storedName) {
-        if (normalizeBlankToNull(storedName) == null) {
-            return;
+    /**
+     * What the public asset routes need to answer a request before touching storage.
+     * {@code storedName} is the name of the object in storage, which for deduplicated uploads is the shared
+     * blob's name rather than the one in the asset URL.
+     * {@code fileSize} is the size of the served object as recorded on the asset row, or -1 for a derivative,
+     * whose size is not recorded; storage takes it as the size hint for range reads.
+     * {@code sha256} is the digest of the served bytes when it is known: recorded for originals, null for
+     * derivatives and for assets the checksum backfill has not reached.
+     */
+    public record AssetMetadata(
+            String storedName,
+            String originalName,
+            String contentType,
+            boolean inline,
+            long fileSize,
+            Instant lastModified,
+            String sha256
+    ) {
+        static AssetMetadata from(ProjectAsset asset, Integer requestedWidth) {
+            return AssetSnapshot.of(asset).toMetadata(requestedWidth);
+        }
+
+        /**
+         * Strong entity tag: the content digest when it is known, so identical bytes share a tag across
+         * assets and deployments. Otherwise a hash of the object name plus the recorded size, which works
+         * because object names (derivatives included) are never reused for different bytes.
+         */
+        public String etag() {
+            if (sha256 != null) {
+                return "\"" + sha256 + "\"";
+            }
+            byte[] digest = sha256Digest().digest((storedName + ":" + fileSize).getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
         }
 
-        try {
-            HttpRequest request = supabaseRequestBuilder(buildSupabaseObjectUrl(storedName))
-                    .DELETE()
-                    .build();
-            HttpResponse<String> response = sendForText(request, "delete");
-            if (isSuccessStatus(response.statusCode()) || response.statusCode() == 404) {
-                return;
-            }
-            log.warn("Supabase delete returned non-success status for {}: {}", storedName, response.statusCode());
-        } catch (StorageException e) {
-            log.warn("Supabase delete failed for {}: {}", storedName, e.getMessage());
+        AssetMetadata withContentType(String resolvedContentType) {
+            return new AssetMetadata(storedName, originalName, normalizeBlankToNull(resolvedContentType), inline, fileSize, lastModified, sha256);
         }
     }
 
-    private String buildSupabaseObjectUrl(String storedName) {
-        String normalizedStoredName = normalizeStoredName(storedName);
-        if (supabaseObjectBaseUrl == null) {
-            throw new StorageException("Supabase object base URL is not initialized", null);
+    /**
+     * Stored bytes of an asset. {@code resource} starts at byte {@code rangeStart} of the object and
+     * {@code totalLength} is the full object size, or -1 when storage did not report it.
+     * Close it once the response is written so a streamed upstream body releases its connection.
+     */
+    public record AssetFile(AssetMetadata metadata, Resource resource, long rangeStart, long totalLength)
+            implements AutoCloseable {
+
+        @Override
+        public void close() {
+            if (resource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.debug("Failed to close asset body for {}: {}", metadata.storedName(), e.getMessage());
+                }
+            }
         }
-        return supabaseObjectBaseUrl + "/" + encodePathSegment(normalizedStoredName);
     }
 
-    private HttpRequest.Builder supabaseRequestBuilder(String url) {
-        if (supabaseServiceRoleKey == null) {
-            throw new StorageException("Supabase service role key is not configured", null);
+    /**
+     * Detached copy of the asset row fields the public routes need; what the metadata cache holds.
+     */
+    private record AssetSnapshot(
+            String objectName,
+            String originalName,
+            String contentType,
+            boolean inline,
+            long fileSize,
+            Instant createdAt,
+            String sha256,
+            List<Integer> derivativeWidths
+    ) {
+        static AssetSnapshot of(ProjectAsset asset) {
+            return new AssetSnapshot(
+                    asset.getObjectName(),
+                    asset.getOriginalName(),
+                    asset.getContentType(),
+                    asset.getAssetType() == ProjectAssetType.IMAGE,
+                    asset.getFileSize(),
+                    asset.getCreatedAt(),
+                    asset.getSha256(),
+                    asset.getDerivativeWidths()
+            );
         }
 
-        return HttpRequest.newBuilder(URI.create(url))
-                .timeout(STORAGE_REQUEST_TIMEOUT)
-                .header("Authorization", "Bearer " + supabaseServiceRoleKey)
-                .header("apikey", supabaseServiceRoleKey);
+        AssetMetadata toMetadata(Integer requestedWidth) {
+            Integer derivativeWidth = requestedWidth == null || requestedWidth <= 0
+                    ? null
+                    : ProjectAsset.selectDerivativeWidth(derivativeWidths, requestedWidth);
+            return new AssetMetadata(
+                    derivativeWidth == null ? objectName : ProjectAsset.derivativeStoredName(objectName, derivativeWidth),
+                    originalName,
+                    contentType,
+                    inline,
+                    derivativeWidth == null ? fileSize : -1,
+                    createdAt,
+                    derivativeWidth == null ? sha256 : null
+            );
+        }
     }
 
-    private HttpResponse<String> sendForText(HttpRequest request, String action) {
-        try {
-            return httpClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
-        } catch (IOException e) {
-            throw new StorageException("Supabase request failed during " + action, e);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new StorageException("Supabase request interrupted during " + action, e);
+    /**
+     * Outcome of one file in {@link #uploadBatch}: the created asset, or the reason it was not created.
+     */
+    public record BatchUploadResult(String fileName, ProjectAsset asset, String error) {
+
+        static BatchUploadResult uploaded(ProjectAsset asset) {
+            return new BatchUploadResult(asset.getOriginalName(), asset, null);
         }
-    }
 
-    private HttpResponse<byte[]> sendForBytes(HttpRequest request, String action) {
-        try {
-            return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
-        } catch (IOException e) {
-            throw new StorageException("Supabase request failed during " + action, e);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new StorageException("Supabase request interrupted during " + action, e);
+        static BatchUploadResult failed(String fileName, String error) {
+            return new BatchUploadResult(fileName, null, error);
         }
-    }
 
-    private static boolean isSuccessStatus(int statusCode) {
-        return statusCode >= 200 && statusCode < 300;
+        public boolean succeeded() {
+            return asset != null;
+        }
     }
 
-    private static String encodePathSegment(String value) {
-        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    /**
+     * Outcome of {@link #verifyAsset}. {@code expectedSha256} is null when no digest was recorded before.
+     */
+    public record AssetVerification(Long assetId, String expectedSha256, String actualSha256, boolean matches) {
     }
 
-    private static String normalizeBlankToNull(String value) {
-        if (value == null) {
-            return null;
+    private record PreparedUpload(
+            MultipartFile file,
+            String originalName,
+            String extension,
+            String contentType,
+            ProjectAssetType type,
+            String storedName,
+            String sha256
+    ) {
+        ProjectAsset toAsset(Project project) {
+            return new ProjectAsset(project, type, originalName, storedName, contentType, file.getSize());
         }
-        String trimmed = value.trim();
-        return trimmed.isEmpty() ? null : trimmed;
     }
 
-    private static String abbreviateBody(String body) {
-        if (body == null || body.isBlank()) {
-            return "";
-        }
-        String compact = body.replaceAll("\\s+", " ").trim();
-        if (compact.length() <= 220) {
-            return compact;
-        }
-        return compact.substring(0, 220) + "...";
+    private record StoredBlob(
+            String sha256,
+            String objectName,
+            long fileSize,
+            List<Integer> derivativeWidths,
+            ImageDerivativeGenerator.ImageAnalysis image
+    ) {
     }
 
-    public record AssetFile(Resource resource, String originalName, String contentType, boolean inline) {
+    private record TaskOutcome<T>(T value, Throwable failure) {
     }
 
     public static class NotFoundException extends RuntimeException {
@@ -2,6 +2,8 @@ package com.sloth.portfolio.service;
 
 import com.sloth.portfolio.domain.Project;
 import com.sloth.portfolio.repo.ProjectRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -11,10 +13,19 @@ public class ProjectCommandService {
 
     private final ProjectRepository projectRepository;
     private final ProjectAssetService projectAssetService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MarkdownRenderer markdownRenderer;
 
-    public ProjectCommandService(ProjectRepository projectRepository, ProjectAssetService projectAssetService) {
+    public ProjectCommandService(
+            ProjectRepository projectRepository,
+            ProjectAssetService projectAssetService,
+            ApplicationEventPublisher eventPublisher,
+            MarkdownRenderer markdownRenderer
+    ) {
         this.projectRepository = projectRepository;
         this.projectAssetService = projectAssetService;
+        this.eventPublisher = eventPublisher;
+        this.markdownRenderer = markdownRenderer;
     }
 
     public Project create(Project project) {
@@ -22,7 +33,9 @@ public class ProjectCommandService {
             throw new ConflictException("Slug already exists: " + project.getSlug());
         }
 
+        renderContent(project);
         Project saved = projectRepository.save(project);
+        eventPublisher.publishEvent(new PublicContentChanged("project created"));
         // Prevent LazyInitializationException during DTO mapping in controller.
         saved.getAssets().size();
         return saved;
@@ -46,6 +59,8 @@ public class ProjectCommandService {
                 newValue.getContentMarkdown(),
                 newValue.getGithubUrl()
         );
+        renderContent(existing);
+        eventPublisher.publishEvent(new PublicContentChanged("project updated"));
 
         // Prevent LazyInitializationException during DTO mapping in controller.
         existing.getAssets().size();
@@ -58,6 +73,45 @@ public class ProjectCommandService {
         }
         projectAssetService.deleteAllByProjectId(id);
         projectRepository.deleteById(id);
+        eventPublisher.publishEvent(new PublicContentChanged("project deleted"));
+    }
+
+    /**
+     * Renders up to {@code batchSize} projects whose HTML is missing or came from an older
+     * {@link MarkdownRenderer#VERSION}. The HTML is written with a bulk update guarded by {@code updatedAt}, so
+     * it does not count as an edit, and a project edited meanwhile keeps the HTML its edit produced.
+     *
+     * @return number of projects re-rendered
+     */
+    public int renderOutdatedContent(int batchSize) {
+        int rendered = 0;
+        for (Project project : projectRepository.findWithOutdatedContent(MarkdownRenderer.VERSION, Limit.of(batchSize))) {
+            String markdown = project.getContentMarkdown();
+            rendered += projectRepository.recordRenderedContent(
+                    project.getId(),
+                    project.getUpdatedAt(),
+                    markdownRenderer.render(markdown),
+                    MarkdownRenderer.hash(markdown),
+                    MarkdownRenderer.VERSION
+            );
+        }
+        if (rendered > 0) {
+            eventPublisher.publishEvent(new PublicContentChanged("project content re-rendered"));
+        }
+        return rendered;
+    }
+
+    /**
+     * Stores the HTML for the project's Markdown unless it is already rendered from the same source by the
+     * current renderer.
+     */
+    private void renderContent(Project project) {
+        String hash = MarkdownRenderer.hash(project.getContentMarkdown());
+        if (hash.equals(project.getContentHash())
+                && Integer.valueOf(MarkdownRenderer.VERSION).equals(project.getContentRendererVersion())) {
+            return;
+        }
+        project.recordRenderedContent(markdownRenderer.render(project.getContentMarkdown()), hash, MarkdownRenderer.VERSION);
     }
 
     public static class NotFoundException extends RuntimeException {
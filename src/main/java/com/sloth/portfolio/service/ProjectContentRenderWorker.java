@@ -0,0 +1,61 @@
+package com.sloth.portfolio.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Renders stored project HTML that is missing (projects written before it was stored, or whose Markdown was
+ * rewritten outside {@link ProjectCommandService}) or that an older {@link MarkdownRenderer#VERSION}
+ * produced. At most {@code app.content-render.batch-size} projects are rendered per poll, so a version bump
+ * spreads the work out instead of re-rendering every project at once.
+ */
+@Component
+public class ProjectContentRenderWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectContentRenderWorker.class);
+
+    private final ProjectCommandService projectCommandService;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public ProjectContentRenderWorker(
+            ProjectCommandService projectCommandService,
+            @Value("${app.content-render.enabled:true}") boolean enabled,
+            @Value("${app.content-render.batch-size:20}") int batchSize
+    ) {
+        this.projectCommandService = projectCommandService;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.content-render.poll-interval:1m}",
+            fixedDelayString = "${app.content-render.poll-interval:1m}"
+    )
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            renderBatch();
+        } catch (RuntimeException e) {
+            log.warn("Project content rendering failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Runs one batch.
+     *
+     * @return number of projects re-rendered
+     */
+    public synchronized int renderBatch() {
+        int rendered = projectCommandService.renderOutdatedContent(batchSize);
+        if (rendered > 0) {
+            log.info("Re-rendered content of {} project(s)", rendered);
+        }
+        return rendered;
+    }
+}
@@ -0,0 +1,63 @@
+package com.sloth.portfolio.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Keyset position in the newest-first project listing: the {@code (createdAt, id)} of the last project
+ * already returned. Clients only see it as an opaque string ({@link #encode()}).
+ */
+public record ProjectCursor(Instant createdAt, long id) {
+
+    /**
+     * Sorts after every real project, so a first page and a follow-up page share one query shape.
+     */
+    public static final ProjectCursor START = new ProjectCursor(Instant.parse("9999-12-31T23:59:59Z"), Long.MAX_VALUE);
+
+    public static ProjectCursor of(Instant createdAt, Long id) {
+        return new ProjectCursor(createdAt, id);
+    }
+
+    /**
+     * Parses a cursor produced by {@link #encode()}; blank means the first page.
+     *
+     * @throws ProjectQueryService.InvalidPageRequestException if the value is not a cursor this class produced
+     */
+    public static ProjectCursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return START;
+        }
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8).split(":");
+        } catch (IllegalArgumentException e) {
+            throw new ProjectQueryService.InvalidPageRequestException("Invalid cursor");
+        }
+        if (parts.length != 3) {
+            throw new ProjectQueryService.InvalidPageRequestException("Invalid cursor");
+        }
+        try {
+            return new ProjectCursor(
+                    Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1])),
+                    Long.parseLong(parts[2])
+            );
+        } catch (NumberFormatException | DateTimeException | ArithmeticException e) {
+            throw new ProjectQueryService.InvalidPageRequestException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = createdAt.getEpochSecond() + ":" + createdAt.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Whether a project at {@code (createdAt, id)} comes after this cursor in newest-first order.
+     */
+    public boolean precedes(Instant createdAt, Long id) {
+        int byTime = createdAt.compareTo(this.createdAt);
+        return byTime < 0 || (byTime == 0 && id < this.id);
+    }
+}
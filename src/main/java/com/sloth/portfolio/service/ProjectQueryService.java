@@ -1,56 +1,63 @@
 package com.sloth.portfolio.service;
 
 import com.sloth.portfolio.domain.Project;
-import com.sloth.portfolio.domain.ProjectAsset;
-import com.sloth.portfolio.domain.ProjectAssetType;
 import com.sloth.portfolio.domain.ProjectCategory;
-import com.sloth.portfolio.repo.ProjectAssetRepository;
 import com.sloth.portfolio.repo.ProjectRepository;
 import com.sloth.portfolio.repo.ProjectSummaryView;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.LinkedHashMap;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 
 @Service
 @Transactional(readOnly = true)
 public class ProjectQueryService {
 
     private final ProjectRepository projectRepository;
-    private final ProjectAssetRepository projectAssetRepository;
 
-    public ProjectQueryService(ProjectRepository projectRepository, ProjectAssetRepository projectAssetRepository) {
+    public ProjectQueryService(ProjectRepository projectRepository) {
         this.projectRepository = projectRepository;
-        this.projectAssetRepository = projectAssetRepository;
     }
 
     public List<Project> listAll(ProjectCategory category) {
         if (category == null) {
-            return projectRepository.findAllByOrderByCreatedAtDesc();
+            return projectRepository.findAllByOrderByCreatedAtDescIdDesc();
         }
-        return projectRepository.findByCategoryOrderByCreatedAtDesc(category);
+        return projectRepository.findByCategoryOrderByCreatedAtDescIdDesc(category);
     }
 
     public List<ProjectSummaryView> listSummaries(ProjectCategory category) {
         if (category == null) {
-            return projectRepository.findProjectedByOrderByCreatedAtDesc();
+            return projectRepository.findSummaries();
         }
-        return projectRepository.findProjectedByCategoryOrderByCreatedAtDesc(category);
+        return projectRepository.findSummaries(category);
     }
 
-    public Map<Long, ProjectAsset> listPreviewImageAssets(List<Long> projectIds) {
-        if (projectIds == null || projectIds.isEmpty()) {
-            return Map.of();
+    /**
+     * Up to {@code limit} projects after {@code after}, newest first. Ids are paged first so the asset fetch
+     * join does not defeat the row limit.
+     */
+    public List<Project> listPage(ProjectCategory category, ProjectCursor after, int limit) {
+        List<Long> ids = category == null
+                ? projectRepository.findIdsBefore(after.createdAt(), after.id(), Limit.of(limit))
+                : projectRepository.findIdsBefore(category, after.createdAt(), after.id(), Limit.of(limit));
+        if (ids.isEmpty()) {
+            return List.of();
         }
+        Map<Long, Project> byId = new HashMap<>();
+        projectRepository.findWithAssetsByIdIn(ids).forEach(project -> byId.put(project.getId(), project));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
 
-        Map<Long, ProjectAsset> previewAssets = new LinkedHashMap<>();
-        projectAssetRepository.findByProjectIdInOrderByProjectIdAscCreatedAtAsc(projectIds).stream()
-                .filter(ProjectQueryService::isImageAsset)
-                .forEach(asset -> previewAssets.putIfAbsent(asset.getProject().getId(), asset));
-        return previewAssets;
+    public List<ProjectSummaryView> listSummaryPage(ProjectCategory category, ProjectCursor after, int limit) {
+        if (category == null) {
+            return projectRepository.findSummariesBefore(after.createdAt(), after.id(), Limit.of(limit));
+        }
+        return projectRepository.findSummariesBefore(category, after.createdAt(), after.id(), Limit.of(limit));
     }
 
     public Project getBySlug(String slug) {
@@ -58,33 +65,13 @@ public class ProjectQueryService {
                 .orElseThrow(() -> new NotFoundException("Project not found: slug=" + slug));
     }
 
-    private static boolean isImageAsset(ProjectAsset asset) {
-        if (asset.getAssetType() == ProjectAssetType.IMAGE) {
-            return true;
-        }
-        String contentType = asset.getContentType();
-        if (contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith("image/")) {
-            return true;
-        }
-        return hasImageExtension(asset.getOriginalName()) || hasImageExtension(asset.getStoredName());
-    }
-
-    private static boolean hasImageExtension(String value) {
-        if (value == null) {
-            return false;
-        }
-        String lower = value.toLowerCase(Locale.ROOT);
-        return lower.endsWith(".png")
-                || lower.endsWith(".jpg")
-                || lower.endsWith(".jpeg")
-                || lower.endsWith(".gif")
-                || lower.endsWith(".webp")
-                || lower.endsWith(".svg")
-                || lower.endsWith(".avif");
-    }
-
     // --- 내부 전용 예외 (404로 매핑할 예정) ---
     public static class NotFoundException extends RuntimeException {
         public NotFoundException(String message) { super(message); }
     }
+
+    // --- 잘못된 페이지 요청 (limit 범위, 커서 형식) → 400 ---
+    public static class InvalidPageRequestException extends RuntimeException {
+        public InvalidPageRequestException(String message) { super(message); }
+    }
 }
@@ -0,0 +1,8 @@
+package com.sloth.portfolio.service;
+
+/**
+ * Published in a transaction that changed what the public API shows: projects, their assets or notices.
+ * Listeners that keep a read model of that content refresh it once the transaction commits.
+ */
+public record PublicContentChanged(String reason) {
+}
@@ -0,0 +1,326 @@
+package com.sloth.portfolio.service;
+
+import com.sloth.portfolio.domain.ProjectAsset;
+import com.sloth.portfolio.domain.UploadSession;
+import com.sloth.portfolio.repo.ProjectRepository;
+import com.sloth.portfolio.repo.UploadSessionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resumable uploads for files too large for a single multipart request. A session reserves a part file
+ * under {@code app.upload.resumable.dir}; each chunk is streamed from the request body straight into it at
+ * the offset the client names, forced to disk, and only then recorded as received. A chunk cut off midway
+ * keeps the bytes that arrived, and anything written past the recorded offset is truncated by the next
+ * chunk, so the client can always resume from the offset the server reports. Completing the session hands
+ * the part file to {@link ProjectAssetService#upload}, which validates, deduplicates and stores it like any
+ * other upload, with {@code app.upload.resumable.store-timeout} for the storage write. The part file and
+ * session are only discarded once the asset is committed, so a failed completion can be retried.
+ * <p>
+ * Part files are local to the instance that created the session. Sessions expire after
+ * {@code app.upload.resumable.session-ttl} without progress and are swept on
+ * {@code app.upload.resumable.cleanup-interval}.
+ */
+@Service
+public class ResumableUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(ResumableUploadService.class);
+    private static final String PART_SUFFIX = ".part";
+    private static final int CLEANUP_BATCH_SIZE = 100;
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final ProjectRepository projectRepository;
+    private final ProjectAssetService projectAssetService;
+    private final Path partDir;
+    private final long maxSize;
+    private final Duration sessionTtl;
+    private final Duration storeTimeout;
+    private final Set<String> busyUploads = ConcurrentHashMap.newKeySet();
+
+    public ResumableUploadService(
+            UploadSessionRepository uploadSessionRepository,
+            ProjectRepository projectRepository,
+            ProjectAssetService projectAssetService,
+            @Value("${app.upload.resumable.dir:upload-sessions}") String partDir,
+            @Value("${app.upload.resumable.max-size:2GB}") DataSize maxSize,
+            @Value("${app.upload.resumable.session-ttl:24h}") Duration sessionTtl,
+            @Value("${app.upload.resumable.store-timeout:30m}") Duration storeTimeout
+    ) {
+        this.uploadSessionRepository = uploadSessionRepository;
+        this.projectRepository = projectRepository;
+        this.projectAssetService = projectAssetService;
+        this.partDir = Paths.get(partDir).toAbsolutePath().normalize();
+        this.maxSize = maxSize.toBytes();
+        this.sessionTtl = sessionTtl;
+        this.storeTimeout = storeTimeout;
+    }
+
+    public UploadSession create(Long projectId, String fileName, String contentType, long length) {
+        if (length <= 0) {
+            throw new ProjectAssetService.InvalidFileException("File must not be empty");
+        }
+        if (length > maxSize) {
+            throw new ProjectAssetService.InvalidFileException("File exceeds the upload limit of " + maxSize + " bytes");
+        }
+        if (!projectRepository.existsById(projectId)) {
+            throw new ProjectAssetService.NotFoundException("Project not found: id=" + projectId);
+        }
+
+        String uploadId = UUID.randomUUID().toString();
+        try {
+            Files.createDirectories(partDir);
+            Files.createFile(partFile(uploadId));
+        } catch (IOException e) {
+            throw new ProjectAssetService.StorageException("Failed to reserve upload: " + fileName, e);
+        }
+        Instant now = Instant.now();
+        return uploadSessionRepository.save(new UploadSession(
+                uploadId,
+                projectId,
+                fileName,
+                contentType == null || contentType.isBlank() ? null : contentType.trim(),
+                length,
+                now,
+                now.plus(sessionTtl)
+        ));
+    }
+
+    public UploadSession status(Long projectId, String uploadId) {
+        return findSession(projectId, uploadId);
+    }
+
+    /**
+     * Appends one chunk read from {@code body}, which must start exactly at the session's received offset.
+     *
+     * @return the session with its new offset
+     */
+    public UploadSession appendChunk(Long projectId, String uploadId, long offset, InputStream body) {
+        claim(uploadId);
+        try {
+            // Loaded only once claimed, so the offset is checked against the last committed chunk.
+            UploadSession session = findSession(projectId, uploadId);
+            if (offset != session.getReceivedBytes()) {
+                throw new OffsetMismatchException(
+                        "Upload-Offset " + offset + " does not match received bytes " + session.getReceivedBytes(),
+                        session.getReceivedBytes()
+                );
+            }
+
+            long remaining = session.getTotalBytes() - offset;
+            long written = 0;
+            boolean overflow = false;
+            IOException readFailure = null;
+            try (FileChannel channel = FileChannel.open(existingPartFile(uploadId), StandardOpenOption.WRITE)) {
+                // Drops whatever an earlier, unrecorded chunk left past the offset.
+                channel.truncate(offset);
+                channel.position(offset);
+                byte[] buffer = new byte[64 * 1024];
+                while (true) {
+                    int read;
+                    try {
+                        // Asks for one byte more than is left so a body longer than the file is noticed.
+                        read = body.read(buffer, 0, (int) Math.min(buffer.length, remaining - written + 1));
+                    } catch (IOException e) {
+                        readFailure = e;
+                        break;
+                    }
+                    if (read < 0) {
+                        break;
+                    }
+                    if (written + read > remaining) {
+                        overflow = true;
+                        break;
+                    }
+                    ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                    while (chunk.hasRemaining()) {
+                        channel.write(chunk);
+                    }
+                    written += read;
+                }
+                channel.force(false);
+            } catch (IOException e) {
+                throw new ProjectAssetService.StorageException("Failed to write upload chunk: " + uploadId, e);
+            }
+
+            if (overflow) {
+                throw new ProjectAssetService.InvalidFileException(
+                        "Chunk runs past the declared length of " + session.getTotalBytes() + " bytes");
+            }
+            session.recordProgress(offset + written, Instant.now().plus(sessionTtl));
+            UploadSession saved = uploadSessionRepository.save(session);
+            if (readFailure != null) {
+                throw new ProjectAssetService.InvalidFileException(
+                        "Upload chunk was interrupted at offset " + saved.getReceivedBytes());
+            }
+            return saved;
+        } finally {
+            busyUploads.remove(uploadId);
+        }
+    }
+
+    /**
+     * Turns a fully received session into a project asset and discards the session.
+     */
+    public ProjectAsset complete(Long projectId, String uploadId) {
+        claim(uploadId);
+        try {
+            UploadSession session = findSession(projectId, uploadId);
+            if (!session.isComplete()) {
+                throw new OffsetMismatchException(
+                        "Upload is incomplete: " + session.getReceivedBytes() + " of " + session.getTotalBytes() + " bytes",
+                        session.getReceivedBytes()
+                );
+            }
+            ProjectAsset asset = projectAssetService.upload(projectId, new PartFileMultipartFile(
+                    existingPartFile(uploadId),
+                    session.getOriginalName(),
+                    session.getContentType(),
+                    session.getTotalBytes()
+            ), storeTimeout);
+            discard(session);
+            return asset;
+        } finally {
+            busyUploads.remove(uploadId);
+        }
+    }
+
+    public void abort(Long projectId, String uploadId) {
+        claim(uploadId);
+        try {
+            discard(findSession(projectId, uploadId));
+        } finally {
+            busyUploads.remove(uploadId);
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.upload.resumable.cleanup-interval:1h}",
+            fixedDelayString = "${app.upload.resumable.cleanup-interval:1h}"
+    )
+    public void poll() {
+        try {
+            purgeExpired();
+        } catch (RuntimeException e) {
+            log.warn("Resumable upload cleanup failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Removes expired sessions, then part files untouched for longer than the session TTL, which covers
+     * parts whose row never committed.
+     *
+     * @return number of sessions removed
+     */
+    public synchronized int purgeExpired() {
+        Instant now = Instant.now();
+        int purged = 0;
+        List<UploadSession> expired = uploadSessionRepository.findExpired(now, PageRequest.of(0, CLEANUP_BATCH_SIZE));
+        for (UploadSession session : expired) {
+            if (!busyUploads.add(session.getUploadId())) {
+                continue;
+            }
+            try {
+                discard(session);
+                purged++;
+            } finally {
+                busyUploads.remove(session.getUploadId());
+            }
+        }
+
+        if (Files.isDirectory(partDir)) {
+            Instant staleBefore = now.minus(sessionTtl);
+            try (DirectoryStream<Path> parts = Files.newDirectoryStream(partDir, "*" + PART_SUFFIX)) {
+                for (Path part : parts) {
+                    if (Files.getLastModifiedTime(part).toInstant().isBefore(staleBefore)) {
+                        Files.deleteIfExists(part);
+                    }
+                }
+            } catch (IOException e) {
+                log.warn("Failed to sweep stale upload parts in {}: {}", partDir, e.getMessage());
+            }
+        }
+        if (purged > 0) {
+            log.info("Removed {} expired upload session(s)", purged);
+        }
+        return purged;
+    }
+
+    private UploadSession findSession(Long projectId, String uploadId) {
+        return uploadSessionRepository.findByUploadId(uploadId)
+                .filter(session -> session.getProjectId().equals(projectId))
+                .filter(session -> session.getExpiresAt().isAfter(Instant.now()))
+                .orElseThrow(() -> new ProjectAssetService.NotFoundException("Upload session not found: " + uploadId));
+    }
+
+    private void claim(String uploadId) {
+        if (!busyUploads.add(uploadId)) {
+            throw new UploadBusyException("Another request is writing upload " + uploadId);
+        }
+    }
+
+    private void discard(UploadSession session) {
+        uploadSessionRepository.delete(session);
+        try {
+            Files.deleteIfExists(partFile(session.getUploadId()));
+        } catch (IOException e) {
+            // The sweep in purgeExpired removes it once it is older than the session TTL.
+            log.warn("Failed to delete upload part {}: {}", session.getUploadId(), e.getMessage());
+        }
+    }
+
+    private Path existingPartFile(String uploadId) {
+        Path part = partFile(uploadId);
+        if (!Files.isRegularFile(part)) {
+            throw new ProjectAssetService.NotFoundException("Upload data not found on this server: " + uploadId);
+        }
+        return part;
+    }
+
+    private Path partFile(String uploadId) {
+        return partDir.resolve(uploadId + PART_SUFFIX);
+    }
+
+    /**
+     * The client's offset disagrees with what the server has; {@link #currentOffset()} is where to resume.
+     */
+    public static class OffsetMismatchException extends RuntimeException {
+
+        private final long currentOffset;
+
+        public OffsetMismatchException(String message, long currentOffset) {
+            super(message);
+            this.currentOffset = currentOffset;
+        }
+
+        public long currentOffset() {
+            return currentOffset;
+        }
+    }
+
+    public static class UploadBusyException extends RuntimeException {
+        public UploadBusyException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.sloth.portfolio.service;
+
+import com.sloth.portfolio.domain.StorageDeletion;
+import com.sloth.portfolio.repo.StorageDeletionRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Drains the {@code storage_deletions} queue in the background. A drain starts right after a transaction
+ * that queued deletions commits, and again on every poll so failed batches are retried with exponential
+ * backoff. Objects are removed in batches through {@link ProjectAssetService#removeStoredObjects}.
+ */
+@Component
+public class StorageDeletionWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(StorageDeletionWorker.class);
+
+    private final StorageDeletionRepository storageDeletionRepository;
+    private final ProjectAssetService projectAssetService;
+    private final int batchSize;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final ExecutorService executor;
+    private final AtomicBoolean drainRequested = new AtomicBoolean();
+
+    public StorageDeletionWorker(
+            StorageDeletionRepository storageDeletionRepository,
+            ProjectAssetService projectAssetService,
+            @Value("${app.upload.deletion.batch-size:100}") int batchSize,
+            @Value("${app.upload.deletion.initial-backoff:5s}") Duration initialBackoff,
+            @Value("${app.upload.deletion.max-backoff:1h}") Duration maxBackoff
+    ) {
+        this.storageDeletionRepository = storageDeletionRepository;
+        this.projectAssetService = projectAssetService;
+        this.batchSize = Math.max(1, batchSize);
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("storage-deletion-");
+        threadFactory.setDaemon(true);
+        this.executor = Executors.newSingleThreadExecutor(threadFactory);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDeletionsQueued(DeletionsQueued event) {
+        requestDrain();
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.upload.deletion.poll-interval:30s}",
+            fixedDelayString = "${app.upload.deletion.poll-interval:30s}"
+    )
+    public void poll() {
+        requestDrain();
+    }
+
+    /**
+     * Removes every due object, batch by batch, until the queue is empty or a batch fails. Synchronized so
+     * the background drain and a direct call never work on the same rows at once.
+     *
+     * @return number of queue entries completed
+     */
+    public synchronized int drain() {
+        int completed = 0;
+        while (true) {
+            List<StorageDeletion> due = storageDeletionRepository.findDue(Instant.now(), PageRequest.of(0, batchSize));
+            if (due.isEmpty()) {
+                return completed;
+            }
+
+            List<String> objectNames = due.stream().map(StorageDeletion::getObjectName).distinct().toList();
+            try {
+                projectAssetService.removeStoredObjects(objectNames);
+            } catch (RuntimeException e) {
+                Instant now = Instant.now();
+                for (StorageDeletion deletion : due) {
+                    deletion.recordFailure(e.getMessage(), now.plus(backoff(deletion.getAttempts() + 1)));
+                }
+                storageDeletionRepository.saveAll(due);
+                log.warn("Storage deletion batch of {} object(s) failed, will retry: {}", objectNames.size(), e.getMessage());
+                return completed;
+            }
+
+            storageDeletionRepository.deleteAllInBatch(due);
+            completed += due.size();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void requestDrain() {
+        if (!drainRequested.compareAndSet(false, true)) {
+            return;
+        }
+        executor.execute(() -> {
+            drainRequested.set(false);
+            try {
+                drain();
+            } catch (RuntimeException e) {
+                log.warn("Storage deletion drain failed: {}", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Exponential backoff with jitter: a random delay between half and all of {@code initial * 2^(attempt-1)},
+     * capped at the configured maximum.
+     */
+    private Duration backoff(int attempt) {
+        long ceilingMillis = maxBackoff.toMillis();
+        long exponential = initialBackoff.toMillis() << Math.min(attempt - 1, 20);
+        long cappedMillis = Math.min(ceilingMillis, Math.max(1, exponential));
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(cappedMillis / 2, cappedMillis + 1));
+    }
+
+    /**
+     * Published by {@link ProjectAssetService} when it queues deletions; handled once the transaction commits.
+     */
+    public record DeletionsQueued(int count) {
+    }
+}
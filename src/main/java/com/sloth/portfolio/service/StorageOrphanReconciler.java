@@ -0,0 +1,180 @@
+package com.sloth.portfolio.service;
+
+import com.sloth.portfolio.repo.AssetBlobRepository;
+import com.sloth.portfolio.repo.ProjectAssetRepository;
+import com.sloth.portfolio.storage.AssetStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Finds stored objects no database row refers to: uploads whose row was never saved, and deletes that
+ * never reached storage. The storage listing is walked in batches of {@code app.upload.reconcile.batch-size}
+ * and each batch is checked against {@code project_assets} and {@code asset_blobs} with one indexed lookup
+ * per table, so memory stays flat however many objects exist.
+ * <p>
+ * An object counts as an orphan only once it is older than {@code app.upload.reconcile.grace-period}, which
+ * leaves in-flight uploads alone. Orphans are reported, and removed only when
+ * {@code app.upload.reconcile.delete-orphans} is on.
+ */
+@Component
+public class StorageOrphanReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(StorageOrphanReconciler.class);
+    private static final Pattern DERIVATIVE_NAME = Pattern.compile("(.+)-w\\d+(\\.[^.]*)?");
+
+    private final AssetStorage assetStorage;
+    private final ProjectAssetRepository projectAssetRepository;
+    private final AssetBlobRepository assetBlobRepository;
+    private final ProjectAssetService projectAssetService;
+    private final boolean enabled;
+    private final boolean deleteOrphans;
+    private final Duration gracePeriod;
+    private final int batchSize;
+
+    public StorageOrphanReconciler(
+            AssetStorage assetStorage,
+            ProjectAssetRepository projectAssetRepository,
+            AssetBlobRepository assetBlobRepository,
+            ProjectAssetService projectAssetService,
+            @Value("${app.upload.reconcile.enabled:true}") boolean enabled,
+            @Value("${app.upload.reconcile.delete-orphans:false}") boolean deleteOrphans,
+            @Value("${app.upload.reconcile.grace-period:24h}") Duration gracePeriod,
+            @Value("${app.upload.reconcile.batch-size:500}") int batchSize
+    ) {
+        this.assetStorage = assetStorage;
+        this.projectAssetRepository = projectAssetRepository;
+        this.assetBlobRepository = assetBlobRepository;
+        this.projectAssetService = projectAssetService;
+        this.enabled = enabled;
+        this.deleteOrphans = deleteOrphans;
+        this.gracePeriod = gracePeriod;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.upload.reconcile.poll-interval:6h}",
+            fixedDelayString = "${app.upload.reconcile.poll-interval:6h}"
+    )
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.warn("Storage orphan reconciliation failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Walks the whole storage listing once.
+     */
+    public synchronized ReconcileReport reconcile() {
+        Instant cutoff = Instant.now().minus(gracePeriod);
+        ReconcileReport report = new ReconcileReport();
+        try (Stream<AssetStorage.ObjectEntry> listing = assetStorage.list()) {
+            Iterator<AssetStorage.ObjectEntry> entries = listing.iterator();
+            List<AssetStorage.ObjectEntry> batch = new ArrayList<>(batchSize);
+            while (entries.hasNext()) {
+                batch.add(entries.next());
+                if (batch.size() == batchSize || !entries.hasNext()) {
+                    reconcileBatch(batch, cutoff, report);
+                    batch.clear();
+                }
+            }
+        }
+
+        if (report.orphans() > 0) {
+            log.warn("Storage reconciliation: scanned={}, orphans={} ({} bytes), deleted={}",
+                    report.scanned(), report.orphans(), report.orphanBytes(), report.deleted());
+        } else {
+            log.info("Storage reconciliation: scanned={}, no orphans", report.scanned());
+        }
+        return report;
+    }
+
+    private void reconcileBatch(List<AssetStorage.ObjectEntry> batch, Instant cutoff, ReconcileReport report) {
+        Set<String> candidates = new HashSet<>();
+        for (AssetStorage.ObjectEntry entry : batch) {
+            candidates.add(entry.name());
+            String source = derivativeSource(entry.name());
+            if (source != null) {
+                candidates.add(source);
+            }
+        }
+        Set<String> referenced = new HashSet<>(assetBlobRepository.findExistingStoredNames(candidates));
+        referenced.addAll(projectAssetRepository.findExistingStoredNames(candidates));
+
+        List<String> orphans = new ArrayList<>();
+        for (AssetStorage.ObjectEntry entry : batch) {
+            report.scanned++;
+            if (referenced.contains(entry.name()) || referenced.contains(derivativeSource(entry.name()))) {
+                continue;
+            }
+            if (entry.lastModified() == null || entry.lastModified().isAfter(cutoff)) {
+                continue;
+            }
+            report.orphans++;
+            report.orphanBytes += Math.max(0, entry.size());
+            orphans.add(entry.name());
+            log.info("Orphaned stored object: name={}, size={}, lastModified={}", entry.name(), entry.size(), entry.lastModified());
+        }
+
+        if (deleteOrphans && !orphans.isEmpty()) {
+            projectAssetService.removeStoredObjects(orphans);
+            report.deleted += orphans.size();
+        }
+    }
+
+    /**
+     * Name of the object a resized copy was cut from, or {@code null} when the name is not a derivative's.
+     */
+    private static String derivativeSource(String objectName) {
+        Matcher matcher = DERIVATIVE_NAME.matcher(objectName);
+        if (!matcher.matches()) {
+            return null;
+        }
+        return matcher.group(2) == null ? matcher.group(1) : matcher.group(1) + matcher.group(2);
+    }
+
+    /**
+     * Totals of one walk. {@code orphans} counts objects past the grace period that nothing references.
+     */
+    public static final class ReconcileReport {
+
+        private long scanned;
+        private long orphans;
+        private long orphanBytes;
+        private long deleted;
+
+        public long scanned() {
+            return scanned;
+        }
+
+        public long orphans() {
+            return orphans;
+        }
+
+        public long orphanBytes() {
+            return orphanBytes;
+        }
+
+        public long deleted() {
+            return deleted;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.sloth.portfolio.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Node-local read-through cache for remotely stored assets.
+ * Stored names are immutable, so cached files never need revalidation; entries only leave the cache
+ * when the byte budget is exceeded (least recently used first) or the asset is deleted.
+ */
+class AssetDiskCache {
+
+    private static final Logger log = LoggerFactory.getLogger(AssetDiskCache.class);
+    private static final String TEMP_FILE_PREFIX = ".fill-";
+
+    private final Path root;
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    // Access-ordered: iteration starts at the least recently used entry.
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+
+    AssetDiskCache(Path root, long maxBytes, long maxEntryBytes) {
+        this.root = root.toAbsolutePath().normalize();
+        this.maxBytes = Math.max(0, maxBytes);
+        this.maxEntryBytes = Math.min(Math.max(0, maxEntryBytes), this.maxBytes);
+        try {
+            Files.createDirectories(this.root);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to create asset cache directory: " + this.root, e);
+        }
+        rebuildIndex();
+    }
+
+    boolean accepts(String storedName, long contentLength) {
+        return contentLength >= 0 && contentLength <= maxEntryBytes && resolve(storedName) != null;
+    }
+
+    /**
+     * Returns the cached file for {@code storedName}, or {@code null} on a miss.
+     */
+    Path find(String storedName) {
+        Path path = resolve(storedName);
+        if (path == null) {
+            return null;
+        }
+        synchronized (this) {
+            if (entries.get(storedName) == null) {
+                return null;
+            }
+        }
+        if (!Files.isRegularFile(path)) {
+            forget(storedName);
+            return null;
+        }
+        try {
+            // Keeps recency across restarts, since the warm index is ordered by modification time.
+            Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException ignored) {
+            // Recency on disk is best effort.
+        }
+        return path;
+    }
+
+    /**
+     * Copies {@code body} into a temp file and atomically renames it into place, so readers never see a
+     * partially written entry.
+     */
+    Path fill(String storedName, InputStream body, long expectedLength) throws IOException {
+        Path target = resolve(storedName);
+        if (target == null) {
+            throw new IOException("Stored name cannot be cached: " + storedName);
+        }
+
+        Path temp = Files.createTempFile(root, TEMP_FILE_PREFIX, ".part");
+        long written;
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                written = body.transferTo(out);
+            }
+            if (expectedLength >= 0 && written != expectedLength) {
+                throw new IOException("Truncated asset body: expected " + expectedLength + " byte(s), got " + written);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        register(storedName, written);
+        return target;
+    }
+
+    void evict(String storedName) {
+        Path path = resolve(storedName);
+        if (path == null) {
+            return;
+        }
+        forget(storedName);
+        deleteQuietly(path);
+    }
+
+    synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private void register(String storedName, long size) {
+        List<String> victims = new ArrayList<>();
+        synchronized (this) {
+            Long previous = entries.put(storedName, size);
+            totalBytes += size - (previous == null ? 0 : previous);
+
+            Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+            while (totalBytes > maxBytes && iterator.hasNext()) {
+                Map.Entry<String, Long> eldest = iterator.next();
+                if (eldest.getKey().equals(storedName)) {
+                    continue;
+                }
+                totalBytes -= eldest.getValue();
+                victims.add(eldest.getKey());
+                iterator.remove();
+            }
+        }
+        for (String victim : victims) {
+            deleteQuietly(root.resolve(victim));
+        }
+    }
+
+    private synchronized void forget(String storedName) {
+        Long removed = entries.remove(storedName);
+        if (removed != null) {
+            totalBytes -= removed;
+        }
+    }
+
+    private void rebuildIndex() {
+        List<CachedFile> files = new ArrayList<>();
+        try (Stream<Path> listing = Files.list(root)) {
+            listing.forEach(path -> {
+                String name = path.getFileName().toString();
+                if (name.startsWith(TEMP_FILE_PREFIX)) {
+                    // Left over from a fill interrupted by a crash or restart.
+                    deleteQuietly(path);
+                    return;
+                }
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                    if (attributes.isRegularFile()) {
+                        files.add(new CachedFile(name, attributes.size(), attributes.lastModifiedTime()));
+                    }
+                } catch (IOException e) {
+                    log.debug("Skipping unreadable asset cache entry {}: {}", path, e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read asset cache directory: " + root, e);
+        }
+
+        files.sort(Comparator.comparing(CachedFile::lastModified));
+        for (CachedFile file : files) {
+            register(file.storedName(), file.size());
+        }
+        log.info("Asset disk cache ready (dir={}, entries={}, bytes={}/{})", root, size(), totalBytes(), maxBytes);
+    }
+
+    private Path resolve(String storedName) {
+        if (storedName == null || storedName.isBlank() || storedName.startsWith(".")
+                || storedName.contains("/") || storedName.contains("\\")) {
+            return null;
+        }
+        Path resolved = root.resolve(storedName).normalize();
+        return resolved.getParent() != null && resolved.getParent().equals(root) ? resolved : null;
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.debug("Failed to delete asset cache file {}: {}", path, e.getMessage());
+        }
+    }
+
+    private record CachedFile(String storedName, long size, FileTime lastModified) {
+    }
+}
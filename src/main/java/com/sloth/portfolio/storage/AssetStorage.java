@@ -0,0 +1,166 @@
+package com.sloth.portfolio.storage;
+
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpRange;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Flat object store holding project asset bytes under immutable object names. Implementations must behave
+ * the same from the caller's point of view; {@code AssetStorageContractTests} is the executable spec.
+ * <p>
+ * Missing objects surface as {@link ObjectNotFoundException}; anything else that goes wrong talking to the
+ * backend as {@link StorageAccessException}, which decorators such as {@link RetryingAssetStorage} retry
+ * when it is {@linkplain StorageAccessException#isRetryable() retryable}.
+ */
+public interface AssetStorage extends AutoCloseable {
+
+    /**
+     * Stores {@code content} under {@code objectName}, replacing any existing object. The source may be
+     * opened more than once (a retry re-reads it) unless the backend takes ownership of it, as the local
+     * backend does when it moves a multipart temp file into place.
+     */
+    default void put(String objectName, InputStreamSource content, long contentLength, String contentType) {
+        put(objectName, content, contentLength, contentType, null);
+    }
+
+    /**
+     * Same as {@link #put(String, InputStreamSource, long, String)}, but a backend that bounds uploads in time
+     * allows {@code timeout} instead of its configured upload timeout; {@code null} keeps the configured one.
+     */
+    void put(String objectName, InputStreamSource content, long contentLength, String contentType, Duration timeout);
+
+    /**
+     * Opens the whole object.
+     */
+    StoredObject get(String objectName);
+
+    /**
+     * Opens the whole object as the backend itself holds it, skipping any node-local copy and leaving no
+     * new one behind. For integrity checks, which must read what storage holds and should not fill a cache
+     * meant for hot objects.
+     */
+    default StoredObject getUncached(String objectName) {
+        return get(objectName);
+    }
+
+    /**
+     * Opens at least the part of the object covering {@code ranges}; the backend may return more, down to
+     * the whole object, and {@link StoredObject#rangeStart()} tells where the returned bytes begin.
+     *
+     * @param sizeHint size recorded for the object, or -1 when unknown; lets a caching layer decide to fetch
+     *                 the whole object instead of the range, and a backend report the total length of an
+     *                 unsatisfiable range when its own answer leaves it out
+     */
+    StoredObject range(String objectName, List<HttpRange> ranges, long sizeHint);
+
+    /**
+     * Removes the objects; names that do not exist are skipped.
+     */
+    void delete(Collection<String> objectNames);
+
+    default boolean exists(String objectName) {
+        return stat(objectName).isPresent();
+    }
+
+    Optional<ObjectStat> stat(String objectName);
+
+    /**
+     * Every stored object, derivatives included, in no particular order. Pages are fetched as the stream is
+     * consumed, so walking a large store holds one page at a time; close the stream when done.
+     */
+    Stream<ObjectEntry> list();
+
+    /**
+     * A URL from which clients can fetch the object directly, without going through this application, for
+     * about {@code ttl}. Empty when the backend cannot hand out such URLs, as for local files.
+     *
+     * @param downloadName when not null, the object should be served as an attachment under this name
+     */
+    default Optional<SignedUrl> signedUrl(String objectName, Duration ttl, String downloadName) {
+        return Optional.empty();
+    }
+
+    /**
+     * Short backend name used in logs and metric tags.
+     */
+    String name();
+
+    /**
+     * Releases threads or connections the storage holds; decorators close the storage they wrap as well.
+     * Called once on shutdown.
+     */
+    @Override
+    default void close() {
+    }
+
+    /**
+     * Bytes of a stored object. {@code body} starts at byte {@code rangeStart} of the object and
+     * {@code totalLength} is the full object size, or -1 when the backend did not report it. A range the
+     * object cannot satisfy yields an empty body with the total length set.
+     * Close it once read so a streamed upstream body releases its connection.
+     */
+    record StoredObject(Resource body, long rangeStart, long totalLength, String contentType) implements AutoCloseable {
+
+        @Override
+        public void close() {
+            if (body instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception ignored) {
+                    // Releasing a response body is best effort.
+                }
+            }
+        }
+    }
+
+    record ObjectStat(long size, String contentType) {
+    }
+
+    /**
+     * Time-limited direct URL for an object; {@code expiresAt} is when the backend stops honouring it.
+     */
+    record SignedUrl(URI uri, Instant expiresAt) {
+    }
+
+    /**
+     * One listed object. {@code lastModified} is null when the backend did not report it.
+     */
+    record ObjectEntry(String name, long size, Instant lastModified) {
+    }
+
+    class ObjectNotFoundException extends RuntimeException {
+        public ObjectNotFoundException(String objectName) {
+            super("Stored object not found: " + objectName);
+        }
+    }
+
+    class StorageAccessException extends RuntimeException {
+
+        private final boolean retryable;
+
+        public StorageAccessException(String message, Throwable cause) {
+            this(message, cause, true);
+        }
+
+        /**
+         * @param retryable {@code false} when repeating the call cannot help, such as a rejected request
+         *                  or an open circuit
+         */
+        public StorageAccessException(String message, Throwable cause, boolean retryable) {
+            super(message, cause);
+            this.retryable = retryable;
+        }
+
+        public boolean isRetryable() {
+            return retryable;
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.sloth.portfolio.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.http.HttpRange;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+/**
+ * Node-local read-through cache in front of a remote backend. Cached objects are served from local files;
+ * object names are immutable, so entries never need revalidation. A cached file is opened as soon as it is
+ * found and read through that handle, so evicting it while a response is still being written cannot cut
+ * the response short. For the same reason it is never exposed as a plain file a container could reopen by
+ * path, as Tomcat's sendfile does.
+ * <p>
+ * Misses are single-flight: the first caller for an object fetches it and fills the cache, concurrent
+ * callers wait for that fill and serve the cached file, so a burst of misses costs one upstream request.
+ * When the leader could not cache the object (too large, or the wait timed out) a waiter fetches it
+ * itself; a leader failure such as a missing object is shared with every waiter.
+ */
+public class CachingAssetStorage implements AssetStorage {
+
+    private static final Logger log = LoggerFactory.getLogger(CachingAssetStorage.class);
+
+    private final AssetStorage delegate;
+    private final AssetDiskCache cache;
+    private final Duration fillWaitTimeout;
+    // Full downloads currently filling the cache, keyed by object name; completes with the cached file.
+    private final ConcurrentHashMap<String, CompletableFuture<Path>> inflightFetches = new ConcurrentHashMap<>();
+
+    public CachingAssetStorage(AssetStorage delegate, Path cacheDir, long maxBytes, long maxEntryBytes, Duration fillWaitTimeout) {
+        this.delegate = delegate;
+        this.cache = new AssetDiskCache(cacheDir, maxBytes, maxEntryBytes);
+        this.fillWaitTimeout = fillWaitTimeout;
+    }
+
+    @Override
+    public void put(String objectName, InputStreamSource content, long contentLength, String contentType, Duration timeout) {
+        delegate.put(objectName, content, contentLength, contentType, timeout);
+        cache.evict(objectName);
+    }
+
+    @Override
+    public StoredObject get(String objectName) {
+        StoredObject cached = openCached(objectName);
+        return cached != null ? cached : loadOnce(objectName);
+    }
+
+    @Override
+    public StoredObject getUncached(String objectName) {
+        return delegate.getUncached(objectName);
+    }
+
+    /**
+     * Range misses are passed through, except when the object is being filled already or is known to fit
+     * the cache: fetching it whole once is cheaper than one upstream range request per client when many
+     * players open the same video at once.
+     */
+    @Override
+    public StoredObject range(String objectName, List<HttpRange> ranges, long sizeHint) {
+        StoredObject cached = openCached(objectName);
+        if (cached != null) {
+            return cached;
+        }
+        boolean coalesce = ranges == null
+                || ranges.isEmpty()
+                || inflightFetches.containsKey(objectName)
+                || (sizeHint >= 0 && cache.accepts(objectName, sizeHint));
+        return coalesce ? loadOnce(objectName) : delegate.range(objectName, ranges, sizeHint);
+    }
+
+    @Override
+    public void delete(Collection<String> objectNames) {
+        objectNames.forEach(cache::evict);
+        delegate.delete(objectNames);
+    }
+
+    @Override
+    public boolean exists(String objectName) {
+        return cache.find(objectName) != null || delegate.exists(objectName);
+    }
+
+    @Override
+    public Optional<ObjectStat> stat(String objectName) {
+        return delegate.stat(objectName);
+    }
+
+    @Override
+    public Stream<ObjectEntry> list() {
+        return delegate.list();
+    }
+
+    @Override
+    public Optional<SignedUrl> signedUrl(String objectName, Duration ttl, String downloadName) {
+        return delegate.signedUrl(objectName, ttl, downloadName);
+    }
+
+    @Override
+    public String name() {
+        return delegate.name();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    private StoredObject loadOnce(String objectName) {
+        CompletableFuture<Path> flight = new CompletableFuture<>();
+        CompletableFuture<Path> leader = inflightFetches.putIfAbsent(objectName, flight);
+        if (leader != null) {
+            Path cachedPath = awaitFetch(leader, objectName);
+            StoredObject shared = cachedPath == null ? null : openCached(objectName);
+            return shared != null ? shared : delegate.get(objectName);
+        }
+
+        try {
+            StoredObject object = fill(objectName, delegate.get(objectName));
+            flight.complete(object.body() instanceof CachedFileResource cachedFile ? cachedFile.path : null);
+            return object;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inflightFetches.remove(objectName, flight);
+        }
+    }
+
+    private StoredObject fill(String objectName, StoredObject upstream) {
+        if (!cache.accepts(objectName, upstream.totalLength())) {
+            return upstream;
+        }
+        try (upstream) {
+            Path cachedPath = cache.fill(objectName, upstream.body().getInputStream(), upstream.totalLength());
+            return new StoredObject(CachedFileResource.open(cachedPath), 0, upstream.totalLength(), upstream.contentType());
+        } catch (IOException e) {
+            throw new StorageAccessException("Failed to cache stored object: " + objectName, e);
+        }
+    }
+
+    private Path awaitFetch(CompletableFuture<Path> leader, String objectName) {
+        try {
+            return leader.get(fillWaitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException failure) {
+                throw failure;
+            }
+            throw new StorageAccessException("Failed to download stored object: " + objectName, e.getCause());
+        } catch (TimeoutException e) {
+            log.debug("Gave up waiting for a concurrent download of {}", objectName);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageAccessException("Interrupted while waiting for stored object download: " + objectName, e);
+        }
+    }
+
+    private StoredObject openCached(String objectName) {
+        Path cachedPath = cache.find(objectName);
+        if (cachedPath == null) {
+            return null;
+        }
+        try {
+            CachedFileResource body = CachedFileResource.open(cachedPath);
+            return new StoredObject(body, 0, body.contentLength(), null);
+        } catch (IOException e) {
+            log.debug("Asset cache entry vanished for {}: {}", objectName, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Cache entry opened when it was found. The open handle keeps the bytes readable after the entry is
+     * evicted and its file unlinked; like an upstream body it can be read once and must be closed.
+     */
+    private static final class CachedFileResource extends AbstractResource implements AutoCloseable {
+
+        private final Path path;
+        private final SeekableByteChannel channel;
+        private final long contentLength;
+        private boolean opened;
+
+        private CachedFileResource(Path path, SeekableByteChannel channel, long contentLength) {
+            this.path = path;
+            this.channel = channel;
+            this.contentLength = contentLength;
+        }
+
+        static CachedFileResource open(Path path) throws IOException {
+            SeekableByteChannel channel = Files.newByteChannel(path);
+            try {
+                return new CachedFileResource(path, channel, channel.size());
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        @Override
+        public synchronized InputStream getInputStream() {
+            if (opened) {
+                throw new IllegalStateException("Cached body already consumed: " + path.getFileName());
+            }
+            opened = true;
+            return Channels.newInputStream(channel);
+        }
+
+        @Override
+        public boolean exists() {
+            return true;
+        }
+
+        @Override
+        public long contentLength() {
+            return contentLength;
+        }
+
+        @Override
+        public String getDescription() {
+            return "Cached object body [" + path.getFileName() + "]";
+        }
+
+        @Override
+        public void close() {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // Releasing the file handle is best effort.
+            }
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.sloth.portfolio.storage;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.http.HttpRange;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Fails storage calls fast while the backend is down, so request threads are not tied up waiting on it.
+ * <p>
+ * After {@code failureThreshold} consecutive retryable failures the circuit opens and every call is
+ * rejected with a non-retryable {@link StorageAccessException}. Once {@code openDuration} has passed a single
+ * probe call is let through: success closes the circuit, failure opens it again. A missing object or a
+ * rejected request proves the backend is answering and counts as success.
+ */
+public class CircuitBreakingAssetStorage implements AssetStorage {
+
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreakingAssetStorage.class);
+
+    enum State {
+        CLOSED,
+        HALF_OPEN,
+        OPEN
+    }
+
+    private final AssetStorage delegate;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    public CircuitBreakingAssetStorage(AssetStorage delegate, int failureThreshold, Duration openDuration, MeterRegistry meterRegistry) {
+        this(delegate, failureThreshold, openDuration, meterRegistry, System::nanoTime);
+    }
+
+    CircuitBreakingAssetStorage(
+            AssetStorage delegate,
+            int failureThreshold,
+            Duration openDuration,
+            MeterRegistry meterRegistry,
+            LongSupplier nanoClock
+    ) {
+        this.delegate = delegate;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = openDuration.toNanos();
+        this.nanoClock = nanoClock;
+        Gauge.builder("asset.storage.circuit.state", this, breaker -> breaker.state().ordinal())
+                .description("Storage circuit breaker state: 0 closed, 1 half-open, 2 open")
+                .tag("backend", delegate.name())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void put(String objectName, InputStreamSource content, long contentLength, String contentType, Duration timeout) {
+        guard(() -> {
+            delegate.put(objectName, content, contentLength, contentType, timeout);
+            return null;
+        });
+    }
+
+    @Override
+    public StoredObject get(String objectName) {
+        return guard(() -> delegate.get(objectName));
+    }
+
+    @Override
+    public StoredObject range(String objectName, List<HttpRange> ranges, long sizeHint) {
+        return guard(() -> delegate.range(objectName, ranges, sizeHint));
+    }
+
+    @Override
+    public void delete(Collection<String> objectNames) {
+        guard(() -> {
+            delegate.delete(objectNames);
+            return null;
+        });
+    }
+
+    @Override
+    public boolean exists(String objectName) {
+        return guard(() -> delegate.exists(objectName));
+    }
+
+    @Override
+    public Optional<ObjectStat> stat(String objectName) {
+        return guard(() -> delegate.stat(objectName));
+    }
+
+    @Override
+    public Stream<ObjectEntry> list() {
+        return delegate.list();
+    }
+
+    @Override
+    public Optional<SignedUrl> signedUrl(String objectName, Duration ttl, String downloadName) {
+        return guard(() -> delegate.signedUrl(objectName, ttl, downloadName));
+    }
+
+    @Override
+    public String name() {
+        return delegate.name();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    synchronized State state() {
+        if (state == State.OPEN && nanoClock.getAsLong() - openedAt >= openNanos) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    private <T> T guard(Supplier<T> call) {
+        acquire();
+        try {
+            T result = call.get();
+            onSuccess();
+            return result;
+        } catch (ObjectNotFoundException e) {
+            onSuccess();
+            throw e;
+        } catch (StorageAccessException e) {
+            if (e.isRetryable()) {
+                onFailure();
+            } else {
+                onSuccess();
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            releaseProbe();
+            throw e;
+        }
+    }
+
+    private synchronized void acquire() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAt < openNanos) {
+                throw rejected();
+            }
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probeInFlight) {
+                throw rejected();
+            }
+            probeInFlight = true;
+        }
+    }
+
+    private synchronized void onSuccess() {
+        if (state != State.CLOSED) {
+            log.info("Storage circuit closed: backend={}", delegate.name());
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        probeInFlight = false;
+    }
+
+    private synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            if (state != State.OPEN) {
+                log.warn("Storage circuit opened after {} consecutive failure(s): backend={}", consecutiveFailures, delegate.name());
+            }
+            state = State.OPEN;
+            openedAt = nanoClock.getAsLong();
+            probeInFlight = false;
+        }
+    }
+
+    private synchronized void releaseProbe() {
+        probeInFlight = false;
+    }
+
+    private StorageAccessException rejected() {
+        return new StorageAccessException("Storage circuit is open, failing fast: backend=" + delegate.name(), null, false);
+    }
+}
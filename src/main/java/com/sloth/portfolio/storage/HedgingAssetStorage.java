@@ -0,0 +1,183 @@
+package com.sloth.portfolio.storage;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.http.HttpRange;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Hedged reads: when a read has not answered within {@code hedgeDelay}, a second identical request is sent
+ * and whichever answers first is used; the slower response is closed. Pick a delay around the backend's
+ * 95th percentile so only the slow tail pays for a duplicate request. Writes and deletes are never hedged.
+ * <p>
+ * Reads run on a pool of at most {@code maxConcurrency} threads. When it is full a read runs on the calling
+ * thread unhedged, and a hedge that finds no free thread is skipped, so a slow backend cannot pile up threads.
+ */
+public class HedgingAssetStorage implements AssetStorage {
+
+    private final AssetStorage delegate;
+    private final long hedgeDelayMillis;
+    private final long readTimeoutMillis;
+    private final ThreadPoolExecutor executor;
+    private final Counter hedgedRequests;
+
+    /**
+     * @param readTimeout how long a read waits, once hedged, for either request to answer
+     */
+    public HedgingAssetStorage(
+            AssetStorage delegate,
+            Duration hedgeDelay,
+            Duration readTimeout,
+            int maxConcurrency,
+            MeterRegistry meterRegistry
+    ) {
+        this.delegate = delegate;
+        this.hedgeDelayMillis = Math.max(1, hedgeDelay.toMillis());
+        this.readTimeoutMillis = Math.max(1, readTimeout.toMillis());
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("storage-read-");
+        threadFactory.setDaemon(true);
+        int threads = Math.max(2, maxConcurrency);
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), threadFactory);
+        this.executor.allowCoreThreadTimeOut(true);
+        this.hedgedRequests = Counter.builder("asset.storage.hedged_requests")
+                .description("Storage reads that sent a second request because the first was slow")
+                .tag("backend", delegate.name())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void put(String objectName, InputStreamSource content, long contentLength, String contentType, Duration timeout) {
+        delegate.put(objectName, content, contentLength, contentType, timeout);
+    }
+
+    @Override
+    public StoredObject get(String objectName) {
+        return hedged(() -> delegate.get(objectName), StoredObject::close);
+    }
+
+    @Override
+    public StoredObject range(String objectName, List<HttpRange> ranges, long sizeHint) {
+        return hedged(() -> delegate.range(objectName, ranges, sizeHint), StoredObject::close);
+    }
+
+    @Override
+    public void delete(Collection<String> objectNames) {
+        delegate.delete(objectNames);
+    }
+
+    @Override
+    public boolean exists(String objectName) {
+        return hedged(() -> delegate.exists(objectName), exists -> { });
+    }
+
+    @Override
+    public Optional<ObjectStat> stat(String objectName) {
+        return hedged(() -> delegate.stat(objectName), stat -> { });
+    }
+
+    @Override
+    public Stream<ObjectEntry> list() {
+        return delegate.list();
+    }
+
+    @Override
+    public Optional<SignedUrl> signedUrl(String objectName, Duration ttl, String downloadName) {
+        return delegate.signedUrl(objectName, ttl, downloadName);
+    }
+
+    @Override
+    public String name() {
+        return delegate.name();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        delegate.close();
+    }
+
+    boolean isClosed() {
+        return executor.isShutdown();
+    }
+
+    private <T> T hedged(Supplier<T> call, Consumer<T> discard) {
+        CompletableFuture<T> primary;
+        try {
+            primary = CompletableFuture.supplyAsync(call, executor);
+        } catch (RejectedExecutionException e) {
+            return call.get();
+        }
+        try {
+            return primary.get(hedgeDelayMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Slow to answer: hedge below.
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            primary.thenAccept(discard);
+            throw new StorageAccessException("Interrupted while reading from storage", e, false);
+        }
+
+        List<CompletableFuture<T>> attempts;
+        try {
+            attempts = List.of(primary, CompletableFuture.supplyAsync(call, executor));
+            hedgedRequests.increment();
+        } catch (RejectedExecutionException e) {
+            attempts = List.of(primary);
+        }
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        int attemptCount = attempts.size();
+        for (CompletableFuture<T> attempt : attempts) {
+            attempt.whenComplete((value, failure) -> {
+                if (failure == null) {
+                    if (!winner.complete(value)) {
+                        discard.accept(value);
+                    }
+                } else if (failure.getCause() instanceof ObjectNotFoundException || failures.incrementAndGet() == attemptCount) {
+                    // A missing object is an answer; anything else waits for the other request.
+                    winner.completeExceptionally(failure.getCause() == null ? failure : failure.getCause());
+                }
+            });
+        }
+
+        try {
+            return winner.get(readTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (TimeoutException e) {
+            winner.thenAccept(discard);
+            throw new StorageAccessException("Timed out reading from storage", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            winner.thenAccept(discard);
+            throw new StorageAccessException("Interrupted while reading from storage", e, false);
+        }
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new StorageAccessException("Storage read failed", cause);
+    }
+}
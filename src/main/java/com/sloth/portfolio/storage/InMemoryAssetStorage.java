@@ -0,0 +1,99 @@
+package com.sloth.portfolio.storage;
+
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.http.HttpRange;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Heap-backed storage for tests and throwaway environments ({@code app.upload.provider=memory}). Ranges are
+ * answered with exactly the covering span, like a remote backend would.
+ */
+public class InMemoryAssetStorage implements AssetStorage {
+
+    private final Map<String, MemoryObject> objects = new ConcurrentHashMap<>();
+
+    @Override
+    public void put(String objectName, InputStreamSource content, long contentLength, String contentType, Duration timeout) {
+        ObjectNames.requireWritable(objectName);
+        try (InputStream in = content.getInputStream()) {
+            objects.put(objectName, new MemoryObject(in.readAllBytes(), contentType, Instant.now()));
+        } catch (IOException e) {
+            throw new StorageAccessException("Failed to read object content: " + objectName, e);
+        }
+    }
+
+    @Override
+    public StoredObject get(String objectName) {
+        MemoryObject object = find(objectName);
+        return new StoredObject(new ByteArrayResource(object.bytes()), 0, object.bytes().length, object.contentType());
+    }
+
+    @Override
+    public StoredObject range(String objectName, List<HttpRange> ranges, long sizeHint) {
+        MemoryObject object = find(objectName);
+        if (ranges == null || ranges.isEmpty()) {
+            return get(objectName);
+        }
+        int length = object.bytes().length;
+        long start = Long.MAX_VALUE;
+        long end = -1;
+        for (HttpRange range : ranges) {
+            long rangeStart = range.getRangeStart(length);
+            if (rangeStart >= length) {
+                continue;
+            }
+            start = Math.min(start, rangeStart);
+            end = Math.max(end, range.getRangeEnd(length));
+        }
+        if (end < 0) {
+            return new StoredObject(new ByteArrayResource(new byte[0]), 0, length, object.contentType());
+        }
+        byte[] span = Arrays.copyOfRange(object.bytes(), (int) start, (int) end + 1);
+        return new StoredObject(new ByteArrayResource(span), start, length, object.contentType());
+    }
+
+    @Override
+    public void delete(Collection<String> objectNames) {
+        objectNames.forEach(objects::remove);
+    }
+
+    @Override
+    public Optional<ObjectStat> stat(String objectName) {
+        MemoryObject object = objectName == null ? null : objects.get(objectName);
+        return object == null ? Optional.empty() : Optional.of(new ObjectStat(object.bytes().length, object.contentType()));
+    }
+
+    @Override
+    public Stream<ObjectEntry> list() {
+        return objects.entrySet().stream()
+                .map(entry -> new ObjectEntry(entry.getKey(), entry.getValue().bytes().length, entry.getValue().storedAt()));
+    }
+
+    @Override
+    public String name() {
+        return "memory";
+    }
+
+    private MemoryObject find(String objectName) {
+        MemoryObject object = objects.get(ObjectNames.requireReadable(objectName));
+        if (object == null) {
+            throw new ObjectNotFoundException(objectName);
+        }
+        return object;
+    }
+
+    private record MemoryObject(byte[] bytes, String contentType, Instant storedAt) {
+    }
+}
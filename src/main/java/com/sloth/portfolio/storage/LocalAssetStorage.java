@@ -0,0 +1,147 @@
+package com.sloth.portfolio.storage;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.http.HttpRange;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Objects as plain files in one directory. Reads return the file itself, so responses can be written with
+ * zero-copy transfers and ranges are served by seeking rather than by the backend.
+ */
+public class LocalAssetStorage implements AssetStorage {
+
+    private final Path root;
+
+    public LocalAssetStorage(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(this.root);
+        } catch (IOException e) {
+            throw new StorageAccessException("Failed to create upload directory: " + this.root, e);
+        }
+    }
+
+    /**
+     * A multipart upload is handed to the container, which renames its temp file into place when both are
+     * on the same file system; the upload cannot be read again afterwards. Other sources are copied to a
+     * temp file and renamed, so readers never see a partial object.
+     */
+    @Override
+    public void put(String objectName, InputStreamSource content, long contentLength, String contentType, Duration timeout) {
+        Path target = resolve(ObjectNames.requireWritable(objectName));
+        try {
+            if (content instanceof MultipartFile multipartFile) {
+                multipartFile.transferTo(target.toFile());
+                return;
+            }
+            Path temp = Files.createTempFile(root, ".put-", ".part");
+            try (InputStream in = content.getInputStream()) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new StorageAccessException("Failed to store file: " + objectName, e);
+        }
+    }
+
+    @Override
+    public StoredObject get(String objectName) {
+        Path path = resolve(ObjectNames.requireReadable(objectName));
+        long size = sizeOf(path, objectName).orElseThrow(() -> new ObjectNotFoundException(objectName));
+        return new StoredObject(new FileSystemResource(path.toFile()), 0, size, null);
+    }
+
+    @Override
+    public StoredObject range(String objectName, List<HttpRange> ranges, long sizeHint) {
+        return get(objectName);
+    }
+
+    @Override
+    public void delete(Collection<String> objectNames) {
+        for (String objectName : objectNames) {
+            if (!ObjectNames.isValid(objectName)) {
+                continue;
+            }
+            try {
+                Files.deleteIfExists(resolve(objectName));
+            } catch (IOException e) {
+                throw new StorageAccessException("Failed to delete file: " + objectName, e);
+            }
+        }
+    }
+
+    @Override
+    public Optional<ObjectStat> stat(String objectName) {
+        if (!ObjectNames.isValid(objectName)) {
+            return Optional.empty();
+        }
+        return sizeOf(resolve(objectName), objectName).map(size -> new ObjectStat(size, null));
+    }
+
+    /**
+     * Streams the directory entries; in-progress {@code .put-} temp files are skipped.
+     */
+    @Override
+    public Stream<ObjectEntry> list() {
+        Stream<Path> files;
+        try {
+            files = Files.list(root);
+        } catch (IOException e) {
+            throw new StorageAccessException("Failed to list upload directory: " + root, e);
+        }
+        return files
+                .filter(path -> ObjectNames.isValid(path.getFileName().toString()))
+                .map(LocalAssetStorage::entryOf)
+                .flatMap(Optional::stream);
+    }
+
+    @Override
+    public String name() {
+        return "local";
+    }
+
+    private static Optional<ObjectEntry> entryOf(Path path) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            if (!attributes.isRegularFile()) {
+                return Optional.empty();
+            }
+            return Optional.of(new ObjectEntry(path.getFileName().toString(), attributes.size(), attributes.lastModifiedTime().toInstant()));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path resolve(String objectName) {
+        return root.resolve(objectName);
+    }
+
+    private static Optional<Long> sizeOf(Path path, String objectName) {
+        try {
+            return Files.isRegularFile(path) ? Optional.of(Files.size(path)) : Optional.empty();
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new StorageAccessException("Failed to read asset file size: storedName=" + objectName, e);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.sloth.portfolio.storage;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.http.HttpRange;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Records every storage call as {@code asset.storage.requests}, tagged with the backend, the operation and
+ * its outcome ({@code success}, {@code not_found} or {@code error}). For reads only the time to the first
+ * byte is measured; streaming the body happens later, in the caller. Percentile histograms are published
+ * so tail latency per operation can be read off the backend.
+ */
+public class MeteredAssetStorage implements AssetStorage {
+
+    private final AssetStorage delegate;
+    private final MeterRegistry meterRegistry;
+
+    public MeteredAssetStorage(AssetStorage delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void put(String objectName, InputStreamSource content, long contentLength, String contentType, Duration timeout) {
+        record("put", () -> {
+            delegate.put(objectName, content, contentLength, contentType, timeout);
+            return null;
+        });
+    }
+
+    @Override
+    public StoredObject get(String objectName) {
+        return record("get", () -> delegate.get(objectName));
+    }
+
+    @Override
+    public StoredObject range(String objectName, List<HttpRange> ranges, long sizeHint) {
+        return record("range", () -> delegate.range(objectName, ranges, sizeHint));
+    }
+
+    @Override
+    public void delete(Collection<String> objectNames) {
+        record("delete", () -> {
+            delegate.delete(objectNames);
+            return null;
+        });
+    }
+
+    @Override
+    public boolean exists(String objectName) {
+        return record("exists", () -> delegate.exists(objectName));
+    }
+
+    @Override
+    public Optional<ObjectStat> stat(String objectName) {
+        return record("stat", () -> delegate.stat(objectName));
+    }
+
+    @Override
+    public Stream<ObjectEntry> list() {
+        return delegate.list();
+    }
+
+    @Override
+    public Optional<SignedUrl> signedUrl(String objectName, Duration ttl, String downloadName) {
+        return record("sign", () -> delegate.signedUrl(objectName, ttl, downloadName));
+    }
+
+    @Override
+    public String name() {
+        return delegate.name();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    private <T> T record(String operation, Supplier<T> call) {
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            T result = call.get();
+            outcome = "success";
+            return result;
+        } catch (ObjectNotFoundException e) {
+            outcome = "not_found";
+            throw e;
+        } finally {
+            Timer.builder("asset.storage.requests")
+                    .description("Asset storage calls by backend, operation and outcome")
+                    .tag("backend", delegate.name())
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.sloth.portfolio.storage;
+
+/**
+ * Object names are single path segments: no separators, no leading dot, nothing that could step outside a
+ * directory or bucket prefix.
+ */
+final class ObjectNames {
+
+    private ObjectNames() {
+    }
+
+    static boolean isValid(String objectName) {
+        return objectName != null
+                && !objectName.isBlank()
+                && objectName.equals(objectName.trim())
+                && !objectName.startsWith(".")
+                && objectName.indexOf('/') < 0
+                && objectName.indexOf('\\') < 0;
+    }
+
+    /**
+     * For reads: a name no object can have is simply not found.
+     */
+    static String requireReadable(String objectName) {
+        if (!isValid(objectName)) {
+            throw new AssetStorage.ObjectNotFoundException(String.valueOf(objectName));
+        }
+        return objectName;
+    }
+
+    static String requireWritable(String objectName) {
+        if (!isValid(objectName)) {
+            throw new IllegalArgumentException("Invalid object name: " + objectName);
+        }
+        return objectName;
+    }
+}
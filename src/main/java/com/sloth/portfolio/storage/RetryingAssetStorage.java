@@ -0,0 +1,121 @@
+package com.sloth.portfolio.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.http.HttpRange;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Retries calls that failed with a retryable {@link StorageAccessException}, waiting a random share of an
+ * exponentially growing backoff between attempts ("full jitter") so clients failing together do not retry
+ * together.
+ * Every operation is idempotent: puts overwrite and deletes skip missing objects. A missing object is an
+ * answer, not a failure, and is never retried.
+ */
+public class RetryingAssetStorage implements AssetStorage {
+
+    private static final Logger log = LoggerFactory.getLogger(RetryingAssetStorage.class);
+
+    private final AssetStorage delegate;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+
+    public RetryingAssetStorage(AssetStorage delegate, int maxAttempts, Duration initialBackoff) {
+        this.delegate = delegate;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMillis = Math.max(0, initialBackoff.toMillis());
+    }
+
+    @Override
+    public void put(String objectName, InputStreamSource content, long contentLength, String contentType, Duration timeout) {
+        retry("put " + objectName, () -> {
+            delegate.put(objectName, content, contentLength, contentType, timeout);
+            return null;
+        });
+    }
+
+    @Override
+    public StoredObject get(String objectName) {
+        return retry("get " + objectName, () -> delegate.get(objectName));
+    }
+
+    @Override
+    public StoredObject range(String objectName, List<HttpRange> ranges, long sizeHint) {
+        return retry("range " + objectName, () -> delegate.range(objectName, ranges, sizeHint));
+    }
+
+    @Override
+    public void delete(Collection<String> objectNames) {
+        retry("delete " + objectNames.size() + " object(s)", () -> {
+            delegate.delete(objectNames);
+            return null;
+        });
+    }
+
+    @Override
+    public boolean exists(String objectName) {
+        return retry("exists " + objectName, () -> delegate.exists(objectName));
+    }
+
+    @Override
+    public Optional<ObjectStat> stat(String objectName) {
+        return retry("stat " + objectName, () -> delegate.stat(objectName));
+    }
+
+    @Override
+    public Stream<ObjectEntry> list() {
+        return delegate.list();
+    }
+
+    @Override
+    public Optional<SignedUrl> signedUrl(String objectName, Duration ttl, String downloadName) {
+        return retry("sign " + objectName, () -> delegate.signedUrl(objectName, ttl, downloadName));
+    }
+
+    @Override
+    public String name() {
+        return delegate.name();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    private <T> T retry(String description, Supplier<T> call) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return call.get();
+            } catch (StorageAccessException e) {
+                if (!e.isRetryable() || attempt >= maxAttempts) {
+                    throw e;
+                }
+                long backoff = initialBackoffMillis << Math.min(attempt - 1, 20);
+                long delay = backoff == 0 ? 0 : ThreadLocalRandom.current().nextLong(backoff + 1);
+                log.debug("Storage call failed ({}), attempt {}/{}, retrying in {} ms: {}",
+                        description, attempt, maxAttempts, delay, e.getMessage());
+                sleep(delay, e);
+            }
+        }
+    }
+
+    private static void sleep(long millis, StorageAccessException failure) {
+        if (millis == 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw failure;
+        }
+    }
+}
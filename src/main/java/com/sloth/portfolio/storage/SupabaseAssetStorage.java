@@ -0,0 +1,553 @@
+package com.sloth.portfolio.storage;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.http.HttpRange;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Supabase Storage over its REST object API. Downloads are streamed from the socket; uploads are streamed
+ * from the source with a fixed Content-Length.
+ * <p>
+ * Reads, stats and deletes must see response headers within the read timeout, uploads within the longer
+ * upload timeout, so a stalled backend releases the calling thread instead of holding it for a minute.
+ * Timeouts, I/O errors and 408/429/5xx answers are reported as retryable; other rejections are not.
+ */
+public class SupabaseAssetStorage implements AssetStorage {
+
+    private static final Logger log = LoggerFactory.getLogger(SupabaseAssetStorage.class);
+    private static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(3);
+    private static final Duration DEFAULT_READ_TIMEOUT = Duration.ofSeconds(15);
+    private static final Duration DEFAULT_UPLOAD_TIMEOUT = Duration.ofSeconds(120);
+    private static final Pattern CONTENT_RANGE_PATTERN = Pattern.compile("bytes (?:((\\d+)-(\\d+))|\\*)/(\\d+|\\*)");
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final int LIST_PAGE_SIZE = 1000;
+
+    private final HttpClient httpClient;
+    private final String objectBaseUrl;
+    private final String listUrl;
+    private final String signUrl;
+    private final String storageApiUrl;
+    private final String serviceRoleKey;
+    private final Duration readTimeout;
+    private final Duration uploadTimeout;
+
+    public SupabaseAssetStorage(String supabaseUrl, String bucket, String serviceRoleKey) {
+        this(newHttpClient(DEFAULT_CONNECT_TIMEOUT), supabaseUrl, bucket, serviceRoleKey, DEFAULT_READ_TIMEOUT, DEFAULT_UPLOAD_TIMEOUT);
+    }
+
+    public SupabaseAssetStorage(
+            HttpClient httpClient,
+            String supabaseUrl,
+            String bucket,
+            String serviceRoleKey,
+            Duration readTimeout,
+            Duration uploadTimeout
+    ) {
+        if (isBlank(supabaseUrl) || isBlank(bucket)) {
+            throw new IllegalStateException("Supabase Storage URL/Bucket is not configured");
+        }
+        if (isBlank(serviceRoleKey)) {
+            throw new IllegalStateException("Supabase service role key is not configured");
+        }
+        this.httpClient = httpClient;
+        this.storageApiUrl = supabaseUrl.trim().replaceAll("/+$", "") + "/storage/v1";
+        String storageUrl = storageApiUrl + "/object/";
+        this.objectBaseUrl = storageUrl + encodePathSegment(bucket.trim());
+        this.listUrl = storageUrl + "list/" + encodePathSegment(bucket.trim());
+        this.signUrl = storageUrl + "sign/" + encodePathSegment(bucket.trim());
+        this.serviceRoleKey = serviceRoleKey.trim();
+        this.readTimeout = readTimeout;
+        this.uploadTimeout = uploadTimeout;
+    }
+
+    /**
+     * Client for one storage host. Negotiates HTTP/2 where the server offers it, so concurrent requests
+     * share one connection; otherwise keeps a pool of HTTP/1.1 keep-alive connections.
+     */
+    public static HttpClient newHttpClient(Duration connectTimeout) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    @Override
+    public void put(String objectName, InputStreamSource content, long contentLength, String contentType, Duration timeout) {
+        ObjectNames.requireWritable(objectName);
+        HttpRequest.BodyPublisher streamed = HttpRequest.BodyPublishers.ofInputStream(() -> open(content, objectName));
+        HttpRequest request = requestBuilder(objectUrl(objectName), timeout == null ? uploadTimeout : timeout)
+                .header("Content-Type", contentType == null ? "application/octet-stream" : contentType)
+                .header("x-upsert", "true")
+                .POST(contentLength >= 0 ? HttpRequest.BodyPublishers.fromPublisher(streamed, contentLength) : streamed)
+                .build();
+
+        HttpResponse<String> response = sendForText(request, "upload");
+        if (!isSuccessStatus(response.statusCode())) {
+            throw new StorageAccessException(
+                    "Failed to upload file to Supabase Storage: " + objectName + ", status=" + response.statusCode() + ", body=" + abbreviateBody(response.body()),
+                    null,
+                    isRetryableStatus(response.statusCode())
+            );
+        }
+    }
+
+    @Override
+    public StoredObject get(String objectName) {
+        return download(objectName, null, -1);
+    }
+
+    @Override
+    public StoredObject range(String objectName, List<HttpRange> ranges, long sizeHint) {
+        return download(objectName, toUpstreamRange(ranges), sizeHint);
+    }
+
+    /**
+     * Uses the bulk remove endpoint ({@code DELETE /object/{bucket}} with a list of prefixes), which deletes
+     * many objects per request and silently skips names that no longer exist.
+     */
+    @Override
+    public void delete(Collection<String> objectNames) {
+        if (objectNames.isEmpty()) {
+            return;
+        }
+        String body;
+        try {
+            body = JSON.writeValueAsString(Map.of("prefixes", objectNames));
+        } catch (JsonProcessingException e) {
+            throw new StorageAccessException("Failed to encode Supabase bulk delete request", e, false);
+        }
+
+        HttpRequest request = requestBuilder(objectBaseUrl, readTimeout)
+                .header("Content-Type", "application/json")
+                .method("DELETE", HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+                .build();
+        HttpResponse<String> response = sendForText(request, "bulk delete");
+        if (!isSuccessStatus(response.statusCode())) {
+            throw new StorageAccessException(
+                    "Supabase bulk delete failed: status=" + response.statusCode() + ", body=" + abbreviateBody(response.body()),
+                    null,
+                    isRetryableStatus(response.statusCode())
+            );
+        }
+    }
+
+    @Override
+    public Optional<ObjectStat> stat(String objectName) {
+        if (!ObjectNames.isValid(objectName)) {
+            return Optional.empty();
+        }
+        HttpRequest request = requestBuilder(objectUrl(objectName), readTimeout)
+                .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                .build();
+        HttpResponse<Void> response = send(request, HttpResponse.BodyHandlers.discarding(), "stat");
+        if (response.statusCode() == 404) {
+            return Optional.empty();
+        }
+        if (!isSuccessStatus(response.statusCode())) {
+            throw new StorageAccessException(
+                    "Failed to stat Supabase object: " + objectName + ", status=" + response.statusCode(),
+                    null,
+                    isRetryableStatus(response.statusCode())
+            );
+        }
+        return Optional.of(new ObjectStat(
+                response.headers().firstValueAsLong("Content-Length").orElse(-1),
+                response.headers().firstValue("Content-Type").orElse(null)
+        ));
+    }
+
+    /**
+     * Pages through {@code POST /object/list/{bucket}} by offset, {@value #LIST_PAGE_SIZE} names at a time.
+     * Objects deleted while the walk is in progress shift later pages, so a few objects may only be seen on
+     * the next walk.
+     */
+    @Override
+    public Stream<ObjectEntry> list() {
+        Iterator<ObjectEntry> entries = new Iterator<>() {
+            private List<ObjectEntry> page = List.of();
+            private int index;
+            private int offset;
+            private boolean lastPage;
+
+            @Override
+            public boolean hasNext() {
+                while (index >= page.size() && !lastPage) {
+                    ListPage next = listPage(offset);
+                    page = next.entries();
+                    index = 0;
+                    offset += next.rawCount();
+                    lastPage = next.rawCount() < LIST_PAGE_SIZE;
+                }
+                return index < page.size();
+            }
+
+            @Override
+            public ObjectEntry next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return page.get(index++);
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(entries, Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Asks the storage API to sign the object for {@code ttl}, rounded up to whole seconds. The returned path
+     * is relative to {@code /storage/v1}; the {@code download} parameter makes Supabase send it as an
+     * attachment under that name.
+     */
+    @Override
+    public Optional<SignedUrl> signedUrl(String objectName, Duration ttl, String downloadName) {
+        ObjectNames.requireReadable(objectName);
+        long expiresIn = Math.max(1, (ttl.toMillis() + 999) / 1000);
+        Instant issuedAt = Instant.now();
+        HttpRequest request = requestBuilder(signUrl + "/" + encodePathSegment(objectName), readTimeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"expiresIn\":" + expiresIn + "}", StandardCharsets.UTF_8))
+                .build();
+        HttpResponse<String> response = sendForText(request, "sign");
+        // Supabase reports a missing object as 400 with a not_found error in the body.
+        if (response.statusCode() == 404 || (response.statusCode() == 400 && response.body().contains("not_found"))) {
+            throw new ObjectNotFoundException(objectName);
+        }
+        if (!isSuccessStatus(response.statusCode())) {
+            throw new StorageAccessException(
+                    "Supabase sign failed: " + objectName + ", status=" + response.statusCode() + ", body=" + abbreviateBody(response.body()),
+                    null,
+                    isRetryableStatus(response.statusCode())
+            );
+        }
+
+        String signedPath;
+        try {
+            signedPath = JSON.readTree(response.body()).path("signedURL").asText("");
+        } catch (JsonProcessingException e) {
+            throw new StorageAccessException("Supabase sign returned invalid JSON", e, false);
+        }
+        if (signedPath.isBlank()) {
+            throw new StorageAccessException("Supabase sign returned no URL for " + objectName, null, false);
+        }
+        String url = signedPath.startsWith("http") ? signedPath : storageApiUrl + (signedPath.startsWith("/") ? "" : "/") + signedPath;
+        if (downloadName != null) {
+            url += (url.contains("?") ? "&" : "?") + "download=" + encodePathSegment(downloadName);
+        }
+        URI uri = URI.create(url);
+        return Optional.of(new SignedUrl(uri, issuedAt.plusSeconds(expiresIn)));
+    }
+
+    @Override
+    public String name() {
+        return "supabase";
+    }
+
+    private ListPage listPage(int offset) {
+        String body;
+        try {
+            body = JSON.writeValueAsString(Map.of(
+                    "prefix", "",
+                    "limit", LIST_PAGE_SIZE,
+                    "offset", offset,
+                    "sortBy", Map.of("column", "name", "order", "asc")
+            ));
+        } catch (JsonProcessingException e) {
+            throw new StorageAccessException("Failed to encode Supabase list request", e, false);
+        }
+        HttpRequest request = requestBuilder(listUrl, readTimeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+                .build();
+        HttpResponse<String> response = sendForText(request, "list");
+        if (!isSuccessStatus(response.statusCode())) {
+            throw new StorageAccessException(
+                    "Supabase list failed: status=" + response.statusCode() + ", body=" + abbreviateBody(response.body()),
+                    null,
+                    isRetryableStatus(response.statusCode())
+            );
+        }
+
+        JsonNode items;
+        try {
+            items = JSON.readTree(response.body());
+        } catch (JsonProcessingException e) {
+            throw new StorageAccessException("Supabase list returned invalid JSON", e, false);
+        }
+        List<ObjectEntry> entries = new ArrayList<>(items.size());
+        for (JsonNode item : items) {
+            // Folder placeholders come back without an id.
+            if (item.path("id").isNull() || item.path("id").isMissingNode()) {
+                continue;
+            }
+            entries.add(new ObjectEntry(
+                    item.path("name").asText(),
+                    item.path("metadata").path("size").asLong(-1),
+                    parseInstant(item.path("updated_at").asText(item.path("created_at").asText(null)))
+            ));
+        }
+        return new ListPage(entries, items.size());
+    }
+
+    private static Instant parseInstant(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private StoredObject download(String objectName, String upstreamRange, long sizeHint) {
+        HttpRequest.Builder requestBuilder = requestBuilder(objectUrl(ObjectNames.requireReadable(objectName)), readTimeout).GET();
+        if (upstreamRange != null) {
+            requestBuilder.header("Range", upstreamRange);
+        }
+
+        HttpResponse<InputStream> response = send(requestBuilder.build(), HttpResponse.BodyHandlers.ofInputStream(), "download");
+        UpstreamBodyResource body = new UpstreamBodyResource(
+                response.body(),
+                response.headers().firstValueAsLong("Content-Length").orElse(-1),
+                objectName
+        );
+        try {
+            return toStoredObject(objectName, response, body, sizeHint);
+        } catch (RuntimeException e) {
+            body.close();
+            throw e;
+        }
+    }
+
+    private StoredObject toStoredObject(String objectName, HttpResponse<InputStream> response, UpstreamBodyResource body, long sizeHint) {
+        if (response.statusCode() == 404) {
+            throw new ObjectNotFoundException(objectName);
+        }
+        String contentType = response.headers().firstValue("Content-Type").orElse(null);
+        if (response.statusCode() == 416) {
+            // Nothing to send, but the total length lets the caller answer 416 with a proper Content-Range.
+            body.close();
+            ContentRange unsatisfied = parseContentRange(response.headers().firstValue("Content-Range").orElse(null));
+            long totalLength = unsatisfied == null || unsatisfied.totalLength() < 0
+                    ? unsatisfiedRangeLength(objectName, sizeHint)
+                    : unsatisfied.totalLength();
+            return new StoredObject(new ByteArrayResource(new byte[0]), 0, totalLength, contentType);
+        }
+        if (!isSuccessStatus(response.statusCode())) {
+            throw new StorageAccessException(
+                    "Failed to download asset from Supabase Storage: status=" + response.statusCode(),
+                    null,
+                    isRetryableStatus(response.statusCode())
+            );
+        }
+
+        if (response.statusCode() == 206) {
+            ContentRange contentRange = parseContentRange(response.headers().firstValue("Content-Range").orElse(null));
+            if (contentRange == null || contentRange.start() < 0 || contentRange.totalLength() < 0) {
+                throw new StorageAccessException("Supabase Storage returned 206 without a usable Content-Range: storedName=" + objectName, null);
+            }
+            return new StoredObject(body, contentRange.start(), contentRange.totalLength(), contentType);
+        }
+        return new StoredObject(body, 0, body.contentLength(), contentType);
+    }
+
+    /**
+     * Builds the Range header forwarded to Supabase. A single range is passed through as-is; several ranges
+     * are collapsed into one covering span because the storage API only serves single ranges.
+     */
+    private static String toUpstreamRange(List<HttpRange> ranges) {
+        if (ranges == null || ranges.isEmpty()) {
+            return null;
+        }
+        if (ranges.size() == 1) {
+            return HttpRange.toString(ranges);
+        }
+
+        long coveringStart = Long.MAX_VALUE;
+        long coveringEnd = 0;
+        for (HttpRange range : ranges) {
+            if (range.toString().startsWith("-")) {
+                // Suffix ranges need the object length to be placed, so fetch the whole object instead.
+                return null;
+            }
+            coveringStart = Math.min(coveringStart, range.getRangeStart(Long.MAX_VALUE));
+            coveringEnd = Math.max(coveringEnd, range.getRangeEnd(Long.MAX_VALUE));
+        }
+        return coveringEnd >= Long.MAX_VALUE - 1
+                ? "bytes=" + coveringStart + "-"
+                : "bytes=" + coveringStart + "-" + coveringEnd;
+    }
+
+    /**
+     * Total length for a 416 that did not report it. An empty body without a length would read as "the
+     * whole object, size unknown" and be served as an empty 200, so the recorded size or a HEAD fills in.
+     */
+    private long unsatisfiedRangeLength(String objectName, long sizeHint) {
+        if (sizeHint >= 0) {
+            return sizeHint;
+        }
+        return stat(objectName).orElseThrow(() -> new ObjectNotFoundException(objectName)).size();
+    }
+
+    private static ContentRange parseContentRange(String headerValue) {
+        Matcher matcher = headerValue == null ? null : CONTENT_RANGE_PATTERN.matcher(headerValue.trim());
+        if (matcher == null || !matcher.matches()) {
+            return null;
+        }
+        long totalLength = "*".equals(matcher.group(4)) ? -1 : Long.parseLong(matcher.group(4));
+        if (matcher.group(1) != null) {
+            return new ContentRange(Long.parseLong(matcher.group(2)), Long.parseLong(matcher.group(3)), totalLength);
+        }
+        return new ContentRange(-1, -1, totalLength);
+    }
+
+    private String objectUrl(String objectName) {
+        return objectBaseUrl + "/" + encodePathSegment(objectName);
+    }
+
+    private HttpRequest.Builder requestBuilder(String url, Duration timeout) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(timeout)
+                .header("Authorization", "Bearer " + serviceRoleKey)
+                .header("apikey", serviceRoleKey);
+    }
+
+    private HttpResponse<String> sendForText(HttpRequest request, String action) {
+        return send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8), action);
+    }
+
+    private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler, String action) {
+        try {
+            return httpClient.send(request, bodyHandler);
+        } catch (IOException e) {
+            throw new StorageAccessException("Supabase request failed during " + action, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageAccessException("Supabase request interrupted during " + action, e);
+        }
+    }
+
+    private static InputStream open(InputStreamSource content, String objectName) {
+        try {
+            return content.getInputStream();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read upload: " + objectName, e);
+        }
+    }
+
+    private static boolean isSuccessStatus(int statusCode) {
+        return statusCode >= 200 && statusCode < 300;
+    }
+
+    private static boolean isRetryableStatus(int statusCode) {
+        return statusCode == 408 || statusCode == 429 || statusCode >= 500;
+    }
+
+    private static String encodePathSegment(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static String abbreviateBody(String body) {
+        if (body == null || body.isBlank()) {
+            return "";
+        }
+        String compact = body.replaceAll("\\s+", " ").trim();
+        if (compact.length() <= 220) {
+            return compact;
+        }
+        return compact.substring(0, 220) + "...";
+    }
+
+    private record ContentRange(long start, long end, long totalLength) {
+    }
+
+    private record ListPage(List<ObjectEntry> entries, int rawCount) {
+    }
+
+    /**
+     * Single-use resource over a streamed storage response body. Bytes are pulled from the socket as the
+     * caller copies them, so heap use per download stays at the copy buffer size.
+     */
+    private static final class UpstreamBodyResource extends AbstractResource implements AutoCloseable {
+
+        private final InputStream body;
+        private final long contentLength;
+        private final String storedName;
+        private boolean opened;
+
+        private UpstreamBodyResource(InputStream body, long contentLength, String storedName) {
+            this.body = body;
+            this.contentLength = contentLength;
+            this.storedName = storedName;
+        }
+
+        @Override
+        public synchronized InputStream getInputStream() throws IOException {
+            if (opened) {
+                throw new IllegalStateException("Upstream body already consumed: storedName=" + storedName);
+            }
+            opened = true;
+            return body;
+        }
+
+        @Override
+        public boolean exists() {
+            return true;
+        }
+
+        @Override
+        public long contentLength() {
+            return contentLength;
+        }
+
+        @Override
+        public String getDescription() {
+            return "Supabase object body [" + storedName + "]";
+        }
+
+        @Override
+        public void close() {
+            try {
+                body.close();
+            } catch (IOException e) {
+                log.debug("Failed to close Supabase response body for {}: {}", storedName, e.getMessage());
+            }
+        }
+    }
+}
@@ -5,28 +5,40 @@ import com.sloth.portfolio.domain.ProjectAsset;
 import com.sloth.portfolio.repo.ProjectRepository;
 import com.sloth.portfolio.service.ProjectAssetService;
 import com.sloth.portfolio.service.ProjectCommandService;
+import com.sloth.portfolio.service.ResumableUploadService;
+import com.sloth.portfolio.web.dto.AssetVerificationDto;
+import com.sloth.portfolio.web.dto.ProjectAssetBatchResultDto;
 import com.sloth.portfolio.web.dto.ProjectAssetDto;
 import com.sloth.portfolio.web.dto.ProjectCreateRequest;
 import com.sloth.portfolio.web.dto.ProjectDto;
 import com.sloth.portfolio.web.dto.ProjectUpdateRequest;
+import com.sloth.portfolio.web.dto.UploadSessionCreateRequest;
+import com.sloth.portfolio.web.dto.UploadSessionDto;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 import java.util.Locale;
 
 @RestController
@@ -36,15 +48,18 @@ public class AdminProjectController {
     private final ProjectCommandService projectCommandService;
     private final ProjectAssetService projectAssetService;
     private final ProjectRepository projectRepository;
+    private final ResumableUploadService resumableUploadService;
 
     public AdminProjectController(
             ProjectCommandService projectCommandService,
             ProjectAssetService projectAssetService,
-            ProjectRepository projectRepository
+            ProjectRepository projectRepository,
+            ResumableUploadService resumableUploadService
     ) {
         this.projectCommandService = projectCommandService;
         this.projectAssetService = projectAssetService;
         this.projectRepository = projectRepository;
+        this.resumableUploadService = resumableUploadService;
     }
 
     @GetMapping("/ping")
@@ -131,6 +146,85 @@ public class AdminProjectController {
         return ProjectAssetDto.from(created);
     }
 
+    /**
+     * 첨부파일 일괄 업로드
+     * - POST /api/admin/projects/{id}/assets/batch (multipart, "files" 파트 반복)
+     * - 파일별 결과를 반환하며, 일부 파일이 실패해도 나머지는 저장됨
+     */
+    @PostMapping(value = "/{id}/assets/batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public BatchUploadResponse uploadAssets(@PathVariable Long id, @RequestPart("files") List<MultipartFile> files) {
+        List<ProjectAssetBatchResultDto> results = projectAssetService.uploadBatch(id, files).stream()
+                .map(ProjectAssetBatchResultDto::from)
+                .toList();
+        int uploaded = (int) results.stream().filter(ProjectAssetBatchResultDto::uploaded).count();
+        return new BatchUploadResponse(uploaded, results.size() - uploaded, results);
+    }
+
+    /**
+     * 이어받기 업로드 세션 생성
+     * - POST /api/admin/projects/{id}/assets/uploads
+     * - 멀티파트 한도를 넘는 대용량 파일(펌웨어 이미지 등)용. 반환된 uploadId로 청크를 전송함
+     */
+    @PostMapping("/{id}/assets/uploads")
+    @ResponseStatus(HttpStatus.CREATED)
+    @PreAuthorize("hasRole('ADMIN')")
+    public UploadSessionDto createUploadSession(@PathVariable Long id, @Valid @RequestBody UploadSessionCreateRequest request) {
+        return UploadSessionDto.from(resumableUploadService.create(id, request.fileName(), request.contentType(), request.length()));
+    }
+
+    /**
+     * 이어받기 업로드 상태 조회
+     * - GET /api/admin/projects/{id}/assets/uploads/{uploadId}
+     * - 연결이 끊긴 뒤 offset부터 다시 전송하면 됨
+     */
+    @GetMapping("/{id}/assets/uploads/{uploadId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public UploadSessionDto getUploadSession(@PathVariable Long id, @PathVariable String uploadId) {
+        return UploadSessionDto.from(resumableUploadService.status(id, uploadId));
+    }
+
+    /**
+     * 청크 전송
+     * - PATCH /api/admin/projects/{id}/assets/uploads/{uploadId} (본문: 원시 바이트, Upload-Offset 헤더 필수)
+     * - 본문은 메모리에 모으지 않고 임시 파일에 바로 기록함
+     * - offset이 서버 기록과 다르면 409와 함께 현재 offset을 반환함
+     */
+    @PatchMapping(
+            value = "/{id}/assets/uploads/{uploadId}",
+            consumes = {MediaType.APPLICATION_OCTET_STREAM_VALUE, "application/offset+octet-stream"}
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    public UploadSessionDto appendUploadChunk(
+            @PathVariable Long id,
+            @PathVariable String uploadId,
+            @RequestHeader("Upload-Offset") long offset,
+            HttpServletRequest request
+    ) throws IOException {
+        try (InputStream body = request.getInputStream()) {
+            return UploadSessionDto.from(resumableUploadService.appendChunk(id, uploadId, offset, body));
+        }
+    }
+
+    /**
+     * 이어받기 업로드 완료
+     * - POST /api/admin/projects/{id}/assets/uploads/{uploadId}/complete
+     * - 일반 업로드와 같은 검증·중복 제거를 거쳐 첨부파일로 등록함
+     */
+    @PostMapping("/{id}/assets/uploads/{uploadId}/complete")
+    @ResponseStatus(HttpStatus.CREATED)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ProjectAssetDto completeUpload(@PathVariable Long id, @PathVariable String uploadId) {
+        return ProjectAssetDto.from(resumableUploadService.complete(id, uploadId));
+    }
+
+    @DeleteMapping("/{id}/assets/uploads/{uploadId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @PreAuthorize("hasRole('ADMIN')")
+    public void abortUpload(@PathVariable Long id, @PathVariable String uploadId) {
+        resumableUploadService.abort(id, uploadId);
+    }
+
     @DeleteMapping("/{projectId}/assets/{assetId}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @PreAuthorize("hasRole('ADMIN')")
@@ -138,6 +232,18 @@ public class AdminProjectController {
         projectAssetService.deleteAsset(projectId, assetId);
     }
 
+    /**
+     * 첨부파일 무결성 검증
+     * - POST /api/admin/projects/{projectId}/assets/{assetId}/verify
+     * - 저장소의 파일을 다시 읽어 SHA-256을 계산하고 기록된 값과 비교함
+     * - 기록된 값이 없으면(백필 전) 계산한 값을 기록함
+     */
+    @PostMapping("/{projectId}/assets/{assetId}/verify")
+    @PreAuthorize("hasRole('ADMIN')")
+    public AssetVerificationDto verifyAsset(@PathVariable Long projectId, @PathVariable Long assetId) {
+        return AssetVerificationDto.from(projectAssetService.verifyAsset(projectId, assetId));
+    }
+
     @ResponseStatus(HttpStatus.NOT_FOUND)
     @ExceptionHandler(ProjectCommandService.NotFoundException.class)
     public ErrorResponse handleNotFound(ProjectCommandService.NotFoundException e) {
@@ -174,9 +280,28 @@ public class AdminProjectController {
         return new ErrorResponse("STORAGE_ERROR", e.getMessage());
     }
 
+    @ExceptionHandler(ResumableUploadService.OffsetMismatchException.class)
+    public ResponseEntity<OffsetConflictResponse> handleOffsetMismatch(ResumableUploadService.OffsetMismatchException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .header("Upload-Offset", Long.toString(e.currentOffset()))
+                .body(new OffsetConflictResponse("OFFSET_MISMATCH", e.getMessage(), e.currentOffset()));
+    }
+
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(ResumableUploadService.UploadBusyException.class)
+    public ErrorResponse handleUploadBusy(ResumableUploadService.UploadBusyException e) {
+        return new ErrorResponse("CONFLICT", e.getMessage());
+    }
+
     public record ErrorResponse(String code, String message) {
     }
 
+    public record OffsetConflictResponse(String code, String message, long offset) {
+    }
+
+    public record BatchUploadResponse(int uploaded, int failed, List<ProjectAssetBatchResultDto> results) {
+    }
+
     public record PingResponse(boolean ok, String role, boolean canManageProjects) {
     }
 }
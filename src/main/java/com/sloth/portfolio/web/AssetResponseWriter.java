@@ -0,0 +1,367 @@
+package com.sloth.portfolio.web;
+
+import com.sloth.portfolio.service.ProjectAssetService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes asset bytes to the servlet response, including conditional (304) and single or multipart
+ * byte-range (206) responses. Large file-backed bodies are handed to Tomcat's sendfile support so
+ * the kernel copies them to the socket without passing through JVM buffers.
+ */
+@Component
+public class AssetResponseWriter {
+
+    private static final String CACHE_CONTROL_VALUE = "public, max-age=31536000, immutable";
+    private static final int MAX_RANGES = 16;
+    private static final int COPY_BUFFER_SIZE = 8192;
+
+    // Request attributes understood by Tomcat's NIO/NIO2 connectors (org.apache.catalina.Globals).
+    static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    private final boolean sendfileEnabled;
+    private final long sendfileMinBytes;
+
+    public AssetResponseWriter(
+            @Value("${app.upload.sendfile.enabled:true}") boolean sendfileEnabled,
+            @Value("${app.upload.sendfile.min-size:48KB}") DataSize sendfileMinSize
+    ) {
+        this.sendfileEnabled = sendfileEnabled;
+        this.sendfileMinBytes = Math.max(0, sendfileMinSize.toBytes());
+    }
+
+    /**
+     * Answers If-None-Match / If-Modified-Since from metadata alone. Returns {@code true} when a 304 (or 412)
+     * has been written and the asset must not be opened.
+     */
+    public boolean checkNotModified(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            ProjectAssetService.AssetMetadata metadata
+    ) {
+        long lastModified = metadata.lastModified() == null ? -1 : metadata.lastModified().toEpochMilli();
+        boolean notModified = new ServletWebRequest(request, response).checkNotModified(metadata.etag(), lastModified);
+        if (notModified) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL_VALUE);
+        }
+        return notModified;
+    }
+
+    /**
+     * Ranges the response should honour. Returns an empty list when the request has no usable Range header,
+     * when it asks for too many ranges, or when its If-Range validator no longer matches the asset.
+     */
+    public List<HttpRange> resolveRequestedRanges(HttpServletRequest request, ProjectAssetService.AssetMetadata metadata) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null || rangeHeader.isBlank()) {
+            return List.of();
+        }
+        if (!ifRangeMatches(request.getHeader(HttpHeaders.IF_RANGE), metadata)) {
+            return List.of();
+        }
+
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException ignored) {
+            // A malformed Range header is ignored and the full representation is served.
+            return List.of();
+        }
+        return ranges.size() > MAX_RANGES ? List.of() : ranges;
+    }
+
+    public void write(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            ProjectAssetService.AssetFile assetFile,
+            List<HttpRange> ranges
+    ) throws IOException {
+        ProjectAssetService.AssetMetadata metadata = assetFile.metadata();
+        MediaType mediaType = resolveMediaType(metadata.contentType(), metadata.originalName());
+        long totalLength = assetFile.totalLength();
+        if (!ranges.isEmpty() && totalLength < 0 && assetFile.resource().contentLength() == 0) {
+            // Storage refused the range without reporting the object size. Served whole this would be an
+            // empty 200 that caches keep for a year, so it is refused without validators or cache headers.
+            response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */*");
+            response.setContentLength(0);
+            return;
+        }
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, buildContentDisposition(metadata).toString());
+        if (metadata.lastModified() != null) {
+            response.setDateHeader(HttpHeaders.LAST_MODIFIED, metadata.lastModified().toEpochMilli());
+        }
+        response.setHeader(HttpHeaders.ETAG, metadata.etag());
+
+        if (ranges.isEmpty() || totalLength < 0) {
+            writeFull(request, response, assetFile, mediaType);
+            return;
+        }
+
+        List<ByteSpan> spans = resolveSpans(ranges, totalLength);
+        if (spans.isEmpty()) {
+            response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + totalLength);
+            response.setContentLength(0);
+            return;
+        }
+        if (spans.get(0).start() < assetFile.rangeStart()) {
+            throw new ProjectAssetService.StorageException(
+                    "Asset body does not cover the requested range: storedName=" + metadata.storedName(),
+                    null
+            );
+        }
+
+        response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+        if (spans.size() == 1) {
+            writeSingleRange(request, response, assetFile, mediaType, spans.get(0));
+        } else {
+            writeMultipleRanges(response, assetFile, mediaType, spans);
+        }
+    }
+
+    private void writeFull(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            ProjectAssetService.AssetFile assetFile,
+            MediaType mediaType
+    ) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(mediaType.toString());
+        if (assetFile.totalLength() >= 0) {
+            response.setContentLengthLong(assetFile.totalLength());
+            if (trySendfile(request, assetFile, 0, assetFile.totalLength())) {
+                return;
+            }
+        }
+        try (InputStream in = assetFile.resource().getInputStream()) {
+            in.transferTo(response.getOutputStream());
+        }
+    }
+
+    private void writeSingleRange(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            ProjectAssetService.AssetFile assetFile,
+            MediaType mediaType,
+            ByteSpan span
+    ) throws IOException {
+        response.setContentType(mediaType.toString());
+        response.setHeader(HttpHeaders.CONTENT_RANGE, span.toContentRange(assetFile.totalLength()));
+        response.setContentLengthLong(span.length());
+        if (trySendfile(request, assetFile, span.start(), span.length())) {
+            return;
+        }
+        try (InputStream in = assetFile.resource().getInputStream()) {
+            in.skipNBytes(span.start() - assetFile.rangeStart());
+            copyExactly(in, response.getOutputStream(), span.length());
+        }
+    }
+
+    private static void writeMultipleRanges(
+            HttpServletResponse response,
+            ProjectAssetService.AssetFile assetFile,
+            MediaType mediaType,
+            List<ByteSpan> spans
+    ) throws IOException {
+        String boundary = MimeTypeUtils.generateMultipartBoundaryString();
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+
+        OutputStream out = response.getOutputStream();
+        try (InputStream in = assetFile.resource().getInputStream()) {
+            long position = assetFile.rangeStart();
+            for (ByteSpan span : spans) {
+                String partHeader = "\r\n--" + boundary + "\r\n"
+                        + HttpHeaders.CONTENT_TYPE + ": " + mediaType + "\r\n"
+                        + HttpHeaders.CONTENT_RANGE + ": " + span.toContentRange(assetFile.totalLength()) + "\r\n\r\n";
+                out.write(partHeader.getBytes(StandardCharsets.US_ASCII));
+                in.skipNBytes(span.start() - position);
+                copyExactly(in, out, span.length());
+                position = span.end() + 1;
+            }
+        }
+        out.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Asks the container to send {@code length} bytes of the file from {@code start} after the servlet returns.
+     * Only used for whole files from local storage, above the size threshold, and when the connector advertises
+     * sendfile support. Tomcat opens the file only after the servlet returns, so it must stay in place until
+     * then: disk-cache entries can be evicted at any time and are served through their open handle instead.
+     * Headers, including Content-Length, must already be set.
+     */
+    private boolean trySendfile(
+            HttpServletRequest request,
+            ProjectAssetService.AssetFile assetFile,
+            long start,
+            long length
+    ) {
+        if (!sendfileEnabled
+                || length < sendfileMinBytes
+                || assetFile.rangeStart() != 0
+                || "HEAD".equalsIgnoreCase(request.getMethod())
+                || !Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))
+                || !assetFile.resource().isFile()) {
+            return false;
+        }
+
+        File file;
+        try {
+            file = assetFile.resource().getFile();
+        } catch (IOException ignored) {
+            return false;
+        }
+        request.setAttribute(SENDFILE_FILENAME_ATTR, file.getAbsolutePath());
+        request.setAttribute(SENDFILE_START_ATTR, start);
+        request.setAttribute(SENDFILE_END_ATTR, start + length);
+        return true;
+    }
+
+    /**
+     * Resolves ranges against the object length, drops unsatisfiable ones and coalesces overlapping or
+     * adjacent spans so the body can be read in a single forward pass.
+     */
+    static List<ByteSpan> resolveSpans(List<HttpRange> ranges, long totalLength) {
+        List<ByteSpan> resolved = new ArrayList<>();
+        for (HttpRange range : ranges) {
+            long start = range.getRangeStart(totalLength);
+            long end = range.getRangeEnd(totalLength);
+            // Unsatisfiable ranges are skipped; 416 is only returned if none of the ranges can be served.
+            if (start < totalLength && start <= end) {
+                resolved.add(new ByteSpan(start, end));
+            }
+        }
+        resolved.sort(Comparator.comparingLong(ByteSpan::start));
+
+        List<ByteSpan> merged = new ArrayList<>();
+        for (ByteSpan span : resolved) {
+            ByteSpan last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && span.start() <= last.end() + 1) {
+                merged.set(merged.size() - 1, new ByteSpan(last.start(), Math.max(last.end(), span.end())));
+            } else {
+                merged.add(span);
+            }
+        }
+        return merged;
+    }
+
+    static boolean ifRangeMatches(String ifRange, ProjectAssetService.AssetMetadata metadata) {
+        if (ifRange == null || ifRange.isBlank()) {
+            return true;
+        }
+        String value = ifRange.trim();
+        if (value.startsWith("W/")) {
+            // If-Range requires strong comparison, which a weak tag never satisfies.
+            return false;
+        }
+        if (value.startsWith("\"")) {
+            return value.equals(metadata.etag());
+        }
+
+        Instant lastModified = metadata.lastModified();
+        if (lastModified == null) {
+            return false;
+        }
+        try {
+            Instant since = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            return since.equals(lastModified.truncatedTo(ChronoUnit.SECONDS));
+        } catch (DateTimeParseException ignored) {
+            return false;
+        }
+    }
+
+    private static void copyExactly(InputStream in, OutputStream out, long length) throws IOException {
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        long remaining = length;
+        while (remaining > 0) {
+            int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (read < 0) {
+                throw new IOException("Unexpected end of asset body, " + remaining + " byte(s) missing");
+            }
+            out.write(buffer, 0, read);
+            remaining -= read;
+        }
+    }
+
+    private static ContentDisposition buildContentDisposition(ProjectAssetService.AssetMetadata metadata) {
+        String filename = metadata.originalName() == null ? "asset" : metadata.originalName();
+        return (metadata.inline()
+                ? ContentDisposition.inline()
+                : ContentDisposition.attachment())
+                .filename(filename, StandardCharsets.UTF_8)
+                .build();
+    }
+
+    private static MediaType resolveMediaType(String contentType, String originalName) {
+        String resolved = resolveAssetContentType(contentType, originalName);
+        try {
+            return (resolved == null || resolved.isBlank())
+                    ? MediaType.APPLICATION_OCTET_STREAM
+                    : MediaType.parseMediaType(resolved);
+        } catch (Exception ignored) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+    }
+
+    private static String resolveAssetContentType(String contentType, String originalName) {
+        if (contentType != null && !contentType.isBlank()) {
+            return contentType.trim();
+        }
+        String normalizedName = originalName == null ? "" : originalName.toLowerCase(Locale.ROOT);
+        int dot = normalizedName.lastIndexOf('.');
+        if (dot < 0 || dot == normalizedName.length() - 1) {
+            return null;
+        }
+        return switch (normalizedName.substring(dot)) {
+            case ".gif" -> "image/gif";
+            case ".png" -> "image/png";
+            case ".jpg", ".jpeg" -> "image/jpeg";
+            case ".webp" -> "image/webp";
+            case ".avif" -> "image/avif";
+            case ".svg" -> "image/svg+xml";
+            default -> null;
+        };
+    }
+
+    record ByteSpan(long start, long end) {
+        long length() {
+            return end - start + 1;
+        }
+
+        String toContentRange(long totalLength) {
+            return "bytes " + start + "-" + end + "/" + totalLength;
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.sloth.portfolio.web;
+
+import com.sloth.portfolio.domain.ProjectCategory;
+import com.sloth.portfolio.repo.ProjectSummaryView;
+import com.sloth.portfolio.service.NoticeQueryService;
+import com.sloth.portfolio.service.ProjectCursor;
+import com.sloth.portfolio.service.ProjectQueryService;
+import com.sloth.portfolio.service.PublicContentChanged;
+import com.sloth.portfolio.web.dto.CursorPageDto;
+import com.sloth.portfolio.web.dto.NoticeDto;
+import com.sloth.portfolio.web.dto.ProjectDto;
+import com.sloth.portfolio.web.dto.ProjectSummaryDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Read model behind the public project and notice routes. The whole public catalog, already mapped to
+ * response DTOs, is held in one immutable {@link Snapshot} published through a volatile field, so a public
+ * GET is a lock-free map lookup that never borrows a JDBC connection.
+ * <p>
+ * The snapshot is built at startup and rebuilt after every committed admin write
+ * ({@link PublicContentChanged}), on the writing thread so the admin sees the change on the next read.
+ * It is also rebuilt on {@code app.catalog.refresh-interval}, which bounds how long writes made on another
+ * instance stay invisible here. Until the first build, or with {@code app.catalog.enabled=false}, reads go
+ * to the database as before. A slug missing from the snapshot is looked up in the database too, so a
+ * project created elsewhere is never answered 404.
+ */
+@Component
+public class PublicCatalog {
+
+    private static final Logger log = LoggerFactory.getLogger(PublicCatalog.class);
+
+    private final ProjectQueryService projectQueryService;
+    private final NoticeQueryService noticeQueryService;
+    private final TransactionTemplate readTransaction;
+    private final boolean enabled;
+
+    private volatile Snapshot snapshot;
+
+    public PublicCatalog(
+            ProjectQueryService projectQueryService,
+            NoticeQueryService noticeQueryService,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.catalog.enabled:true}") boolean enabled
+    ) {
+        this.projectQueryService = projectQueryService;
+        this.noticeQueryService = noticeQueryService;
+        // A fresh transaction: after-commit listeners still have the finished one bound to the thread.
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        refresh();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onContentChanged(PublicContentChanged event) {
+        refresh();
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.catalog.refresh-interval:5m}",
+            fixedDelayString = "${app.catalog.refresh-interval:5m}"
+    )
+    public void poll() {
+        refresh();
+    }
+
+    /**
+     * Builds a new snapshot from the database and publishes it. A failed build keeps the previous one.
+     */
+    public synchronized void refresh() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Snapshot rebuilt = readTransaction.execute(status -> Snapshot.build(
+                    projectQueryService.listAll(null).stream().map(ProjectDto::from).toList(),
+                    loadSummaries(null),
+                    loadNotices()
+            ));
+            snapshot = rebuilt;
+            log.info("Public catalog rebuilt: projects={}, notices={}", rebuilt.projects().size(), rebuilt.notices().size());
+        } catch (RuntimeException e) {
+            log.warn("Public catalog rebuild failed, keeping the previous snapshot: {}", e.getMessage());
+        }
+    }
+
+    public List<ProjectDto> projects(ProjectCategory category) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return projectQueryService.listAll(category).stream().map(ProjectDto::from).toList();
+        }
+        return category == null ? current.projects() : current.projectsByCategory().getOrDefault(category, List.of());
+    }
+
+    public List<ProjectSummaryDto> summaries(ProjectCategory category) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return loadSummaries(category);
+        }
+        return category == null ? current.summaries() : current.summariesByCategory().getOrDefault(category, List.of());
+    }
+
+    /**
+     * One keyset page of {@link #projects}: at most {@code limit} projects after {@code cursor}.
+     */
+    public CursorPageDto<ProjectDto> projectPage(ProjectCategory category, String cursor, int limit) {
+        ProjectCursor after = ProjectCursor.decode(cursor);
+        Snapshot current = snapshot;
+        List<ProjectDto> items = current == null
+                ? projectQueryService.listPage(category, after, limit + 1).stream().map(ProjectDto::from).toList()
+                : page(projects(category), after, limit + 1, ProjectDto::createdAt, ProjectDto::id);
+        return toPage(items, limit, ProjectDto::createdAt, ProjectDto::id);
+    }
+
+    /**
+     * One keyset page of {@link #summaries}: at most {@code limit} summaries after {@code cursor}.
+     */
+    public CursorPageDto<ProjectSummaryDto> summaryPage(ProjectCategory category, String cursor, int limit) {
+        ProjectCursor after = ProjectCursor.decode(cursor);
+        Snapshot current = snapshot;
+        List<ProjectSummaryDto> items = current == null
+                ? toSummaryDtos(projectQueryService.listSummaryPage(category, after, limit + 1))
+                : page(summaries(category), after, limit + 1, ProjectSummaryDto::createdAt, ProjectSummaryDto::id);
+        return toPage(items, limit, ProjectSummaryDto::createdAt, ProjectSummaryDto::id);
+    }
+
+    public ProjectDto project(String slug) {
+        Snapshot current = snapshot;
+        ProjectDto cached = current == null ? null : current.projectsBySlug().get(slug);
+        return cached != null ? cached : ProjectDto.from(projectQueryService.getBySlug(slug));
+    }
+
+    public List<NoticeDto> notices() {
+        Snapshot current = snapshot;
+        return current == null ? loadNotices() : current.notices();
+    }
+
+    /**
+     * Summaries with each project's preview image as its only asset.
+     */
+    private List<ProjectSummaryDto> loadSummaries(ProjectCategory category) {
+        return toSummaryDtos(projectQueryService.listSummaries(category));
+    }
+
+    private static List<ProjectSummaryDto> toSummaryDtos(List<ProjectSummaryView> summaries) {
+        return summaries.stream().map(ProjectSummaryDto::from).toList();
+    }
+
+    /**
+     * The first {@code count} entries of a newest-first list that come after {@code after}. The list is
+     * ordered by {@code (createdAt, id)} like the cursor, so the first such entry is found by binary search.
+     */
+    private static <T> List<T> page(
+            List<T> sorted,
+            ProjectCursor after,
+            int count,
+            Function<T, Instant> createdAt,
+            Function<T, Long> id
+    ) {
+        int low = 0;
+        int high = sorted.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            T item = sorted.get(mid);
+            if (after.precedes(createdAt.apply(item), id.apply(item))) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return List.copyOf(sorted.subList(low, Math.min(sorted.size(), low + count)));
+    }
+
+    /**
+     * Trims a {@code limit + 1} fetch to {@code limit}; the extra row only tells whether another page exists.
+     */
+    private static <T> CursorPageDto<T> toPage(
+            List<T> fetched,
+            int limit,
+            Function<T, Instant> createdAt,
+            Function<T, Long> id
+    ) {
+        if (fetched.size() <= limit) {
+            return new CursorPageDto<>(fetched, null);
+        }
+        T last = fetched.get(limit - 1);
+        return new CursorPageDto<>(
+                List.copyOf(fetched.subList(0, limit)),
+                ProjectCursor.of(createdAt.apply(last), id.apply(last)).encode()
+        );
+    }
+
+    private List<NoticeDto> loadNotices() {
+        return noticeQueryService.listAll().stream()
+                .map(NoticeDto::from)
+                .toList();
+    }
+
+    /**
+     * One consistent, immutable view of the public catalog. Lists keep the database order: newest project
+     * first, the pinned notice first.
+     */
+    record Snapshot(
+            List<ProjectDto> projects,
+            Map<ProjectCategory, List<ProjectDto>> projectsByCategory,
+            Map<String, ProjectDto> projectsBySlug,
+            List<ProjectSummaryDto> summaries,
+            Map<ProjectCategory, List<ProjectSummaryDto>> summariesByCategory,
+            List<NoticeDto> notices
+    ) {
+        static Snapshot build(List<ProjectDto> projects, List<ProjectSummaryDto> summaries, List<NoticeDto> notices) {
+            Map<ProjectCategory, List<ProjectDto>> projectsByCategory = new EnumMap<>(ProjectCategory.class);
+            Map<ProjectCategory, List<ProjectSummaryDto>> summariesByCategory = new EnumMap<>(ProjectCategory.class);
+            Map<String, ProjectDto> projectsBySlug = new HashMap<>();
+            for (ProjectCategory category : ProjectCategory.values()) {
+                projectsByCategory.put(category, projects.stream().filter(p -> p.category() == category).toList());
+                summariesByCategory.put(category, summaries.stream().filter(s -> s.category() == category).toList());
+            }
+            projects.forEach(project -> projectsBySlug.put(project.slug(), project));
+            return new Snapshot(
+                    List.copyOf(projects),
+                    Map.copyOf(projectsByCategory),
+                    Map.copyOf(projectsBySlug),
+                    List.copyOf(summaries),
+                    Map.copyOf(summariesByCategory),
+                    List.copyOf(notices)
+            );
+        }
+    }
+}
@@ -1,36 +1,44 @@
 package com.sloth.portfolio.web;
 
-import com.sloth.portfolio.domain.ProjectAsset;
 import com.sloth.portfolio.domain.ProjectCategory;
-import com.sloth.portfolio.repo.ProjectSummaryView;
+import com.sloth.portfolio.service.AssetRedirectService;
 import com.sloth.portfolio.service.ProjectAssetService;
 import com.sloth.portfolio.service.ProjectQueryService;
-import com.sloth.portfolio.web.dto.ProjectAssetDto;
+import com.sloth.portfolio.web.dto.CursorPageDto;
 import com.sloth.portfolio.web.dto.ProjectDto;
 import com.sloth.portfolio.web.dto.ProjectSummaryDto;
-import org.springframework.core.io.Resource;
-import org.springframework.http.ContentDisposition;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
 import java.util.List;
-import java.util.Locale;
-import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/public")
 public class PublicController {
 
-    private final ProjectQueryService projectQueryService;
-    private final ProjectAssetService projectAssetService;
+    private static final int MAX_PAGE_SIZE = 100;
 
-    public PublicController(ProjectQueryService projectQueryService, ProjectAssetService projectAssetService) {
-        this.projectQueryService = projectQueryService;
+    private final PublicCatalog publicCatalog;
+    private final ProjectAssetService projectAssetService;
+    private final AssetResponseWriter assetResponseWriter;
+    private final AssetRedirectService assetRedirectService;
+
+    public PublicController(
+            PublicCatalog publicCatalog,
+            ProjectAssetService projectAssetService,
+            AssetResponseWriter assetResponseWriter,
+            AssetRedirectService assetRedirectService
+    ) {
+        this.publicCatalog = publicCatalog;
         this.projectAssetService = projectAssetService;
+        this.assetResponseWriter = assetResponseWriter;
+        this.assetRedirectService = assetRedirectService;
     }
 
     @GetMapping("/health")
@@ -46,9 +54,7 @@ public class PublicController {
      */
     @GetMapping("/projects")
     public List<ProjectDto> listProjects(@RequestParam(required = false) ProjectCategory category) {
-        return projectQueryService.listAll(category).stream()
-                .map(ProjectDto::from)
-                .toList();
+        return publicCatalog.projects(category);
     }
 
     /**
@@ -59,22 +65,39 @@ public class PublicController {
      */
     @GetMapping("/projects/summary")
     public List<ProjectSummaryDto> listProjectSummaries(@RequestParam(required = false) ProjectCategory category) {
-        List<ProjectSummaryView> summaries = projectQueryService.listSummaries(category);
-        Map<Long, ProjectAsset> previewAssets = projectQueryService.listPreviewImageAssets(
-                summaries.stream()
-                        .map(ProjectSummaryView::getId)
-                        .toList()
-        );
-
-        return summaries.stream()
-                .map(project -> {
-                    ProjectAsset previewAsset = previewAssets.get(project.getId());
-                    List<ProjectAssetDto> assets = previewAsset == null
-                            ? List.of()
-                            : List.of(ProjectAssetDto.from(previewAsset));
-                    return ProjectSummaryDto.from(project, assets);
-                })
-                .toList();
+        return publicCatalog.summaries(category);
+    }
+
+    /**
+     * 커서 기반 페이지 조회 (createdAt, id 내림차순)
+     * - /api/public/projects?limit=20
+     * - /api/public/projects?limit=20&cursor={nextCursor}
+     * - /api/public/projects/summary?category=FIRMWARE&limit=20
+     * - nextCursor가 null이면 마지막 페이지
+     */
+    @GetMapping(value = "/projects", params = "limit")
+    public CursorPageDto<ProjectDto> pageProjects(
+            @RequestParam(required = false) ProjectCategory category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam int limit
+    ) {
+        return publicCatalog.projectPage(category, cursor, checkLimit(limit));
+    }
+
+    @GetMapping(value = "/projects/summary", params = "limit")
+    public CursorPageDto<ProjectSummaryDto> pageProjectSummaries(
+            @RequestParam(required = false) ProjectCategory category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam int limit
+    ) {
+        return publicCatalog.summaryPage(category, cursor, checkLimit(limit));
+    }
+
+    private static int checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ProjectQueryService.InvalidPageRequestException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return limit;
     }
 
     /**
@@ -83,50 +106,57 @@ public class PublicController {
      */
     @GetMapping("/projects/{slug}")
     public ProjectDto getProject(@PathVariable String slug) {
-        return ProjectDto.from(projectQueryService.getBySlug(slug));
+        return publicCatalog.project(slug);
     }
 
+    /**
+     * 에셋 다운로드
+     * - /api/public/assets/{assetId}
+     * - /api/public/assets/file/{storedName}
+     * - ?w=640: 이미지면 640px 이상인 가장 작은 리사이즈본 (없으면 원본)
+     * - app.upload.redirect.enabled=true면 바이트를 중계하지 않고 서명된 저장소/CDN URL로 302 응답
+     */
     @GetMapping("/assets/{assetId}")
-    public ResponseEntity<Resource> getAsset(@PathVariable Long assetId) {
-        ProjectAssetService.AssetFile assetFile = projectAssetService.loadAsset(assetId);
-        String contentType = resolveAssetContentType(assetFile.contentType(), assetFile.originalName());
-        return buildAssetResponse(assetFile, contentType);
+    public void getAsset(
+            @PathVariable Long assetId,
+            @RequestParam(name = "w", required = false) Integer width,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        serveAsset(projectAssetService.describeAsset(assetId, width), request, response);
     }
 
     @GetMapping("/assets/file/{storedName:.+}")
-    public ResponseEntity<Resource> getAssetByStoredName(@PathVariable String storedName) {
-        ProjectAssetService.AssetFile assetFile = projectAssetService.loadAssetByStoredName(storedName);
-        String contentType = resolveAssetContentType(assetFile.contentType(), assetFile.originalName());
-        return buildAssetResponse(assetFile, contentType);
+    public void getAssetByStoredName(
+            @PathVariable String storedName,
+            @RequestParam(name = "w", required = false) Integer width,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        serveAsset(projectAssetService.describeAssetByStoredName(storedName, width), request, response);
     }
 
-    private static ResponseEntity<Resource> buildAssetResponse(ProjectAssetService.AssetFile assetFile, String contentType) {
-        MediaType mediaType;
-        try {
-            mediaType = (contentType == null || contentType.isBlank())
-                    ? MediaType.APPLICATION_OCTET_STREAM
-                    : MediaType.parseMediaType(contentType);
-        } catch (Exception ignored) {
-            mediaType = MediaType.APPLICATION_OCTET_STREAM;
+    private void serveAsset(
+            ProjectAssetService.AssetMetadata metadata,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        // 리다이렉트는 조건부 검사보다 먼저 결정: 302에 ETag/Last-Modified를 싣지 않아야
+        // 재검증 요청이 304(immutable)로 만료된 서명 URL을 되살리지 않는다.
+        Optional<AssetRedirectService.Redirect> redirect = assetRedirectService.redirectFor(metadata);
+        if (redirect.isPresent()) {
+            response.setStatus(HttpServletResponse.SC_FOUND);
+            response.setHeader(HttpHeaders.LOCATION, redirect.get().location().toString());
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "private, max-age=" + redirect.get().maxAgeSeconds());
+            return;
         }
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(mediaType);
-        try {
-            headers.setContentLength(assetFile.resource().contentLength());
-        } catch (Exception ignored) {
-            // Content-Length may be unavailable for some resources.
+        if (assetResponseWriter.checkNotModified(request, response, metadata)) {
+            return;
+        }
+        List<HttpRange> ranges = assetResponseWriter.resolveRequestedRanges(request, metadata);
+        try (ProjectAssetService.AssetFile assetFile = projectAssetService.openAsset(metadata, ranges)) {
+            assetResponseWriter.write(request, response, assetFile, ranges);
         }
-        String filename = assetFile.originalName() == null ? "asset" : assetFile.originalName();
-        ContentDisposition disposition = (assetFile.inline()
-                ? ContentDisposition.inline()
-                : ContentDisposition.attachment())
-                .filename(filename, StandardCharsets.UTF_8)
-                .build();
-        headers.setContentDisposition(disposition);
-        headers.set(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable");
-
-        return new ResponseEntity<>(assetFile.resource(), headers, HttpStatus.OK);
     }
 
     /**
@@ -144,25 +174,11 @@ public class PublicController {
         return new ErrorResponse("NOT_FOUND", e.getMessage());
     }
 
-    public record ErrorResponse(String code, String message) {}
-
-    private static String resolveAssetContentType(String contentType, String originalName) {
-        if (contentType != null && !contentType.isBlank()) {
-            return contentType.trim();
-        }
-        String normalizedName = originalName == null ? "" : originalName.toLowerCase(Locale.ROOT);
-        int dot = normalizedName.lastIndexOf('.');
-        if (dot < 0 || dot == normalizedName.length() - 1) {
-            return null;
-        }
-        return switch (normalizedName.substring(dot)) {
-            case ".gif" -> "image/gif";
-            case ".png" -> "image/png";
-            case ".jpg", ".jpeg" -> "image/jpeg";
-            case ".webp" -> "image/webp";
-            case ".avif" -> "image/avif";
-            case ".svg" -> "image/svg+xml";
-            default -> null;
-        };
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(ProjectQueryService.InvalidPageRequestException.class)
+    public ErrorResponse handleInvalidPageRequest(ProjectQueryService.InvalidPageRequestException e) {
+        return new ErrorResponse("BAD_REQUEST", e.getMessage());
     }
+
+    public record ErrorResponse(String code, String message) {}
 }
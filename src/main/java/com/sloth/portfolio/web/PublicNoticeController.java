@@ -1,6 +1,5 @@
 package com.sloth.portfolio.web;
 
-import com.sloth.portfolio.service.NoticeQueryService;
 import com.sloth.portfolio.web.dto.NoticeDto;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -12,16 +11,14 @@ import java.util.List;
 @RequestMapping("/api/public/notices")
 public class PublicNoticeController {
 
-    private final NoticeQueryService noticeQueryService;
+    private final PublicCatalog publicCatalog;
 
-    public PublicNoticeController(NoticeQueryService noticeQueryService) {
-        this.noticeQueryService = noticeQueryService;
+    public PublicNoticeController(PublicCatalog publicCatalog) {
+        this.publicCatalog = publicCatalog;
     }
 
     @GetMapping
     public List<NoticeDto> listNotices() {
-        return noticeQueryService.listAll().stream()
-                .map(NoticeDto::from)
-                .toList();
+        return publicCatalog.notices();
     }
 }
@@ -0,0 +1,19 @@
+package com.sloth.portfolio.web.dto;
+
+import com.sloth.portfolio.service.ProjectAssetService;
+
+public record AssetVerificationDto(
+        Long assetId,
+        String expectedSha256,
+        String actualSha256,
+        boolean matches
+) {
+    public static AssetVerificationDto from(ProjectAssetService.AssetVerification verification) {
+        return new AssetVerificationDto(
+                verification.assetId(),
+                verification.expectedSha256(),
+                verification.actualSha256(),
+                verification.matches()
+        );
+    }
+}
@@ -0,0 +1,12 @@
+package com.sloth.portfolio.web.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page; {@code nextCursor} is null on the last page.
+ */
+public record CursorPageDto<T>(
+        List<T> items,
+        String nextCursor
+) {
+}
@@ -0,0 +1,19 @@
+package com.sloth.portfolio.web.dto;
+
+import com.sloth.portfolio.service.ProjectAssetService;
+
+public record ProjectAssetBatchResultDto(
+        String fileName,
+        boolean uploaded,
+        ProjectAssetDto asset,
+        String error
+) {
+    public static ProjectAssetBatchResultDto from(ProjectAssetService.BatchUploadResult result) {
+        return new ProjectAssetBatchResultDto(
+                result.fileName(),
+                result.succeeded(),
+                result.succeeded() ? ProjectAssetDto.from(result.asset()) : null,
+                result.error()
+        );
+    }
+}
@@ -2,8 +2,10 @@ package com.sloth.portfolio.web.dto;
 
 import com.sloth.portfolio.domain.ProjectAsset;
 import com.sloth.portfolio.domain.ProjectAssetType;
+import com.sloth.portfolio.repo.ProjectSummaryView;
 
 import java.time.Instant;
+import java.util.List;
 
 public record ProjectAssetDto(
         Long id,
@@ -11,7 +13,12 @@ public record ProjectAssetDto(
         String originalName,
         String contentType,
         long fileSize,
+        String sha256,
         String url,
+        List<Integer> derivativeWidths,
+        Integer width,
+        Integer height,
+        String blurhash,
         Instant createdAt
 ) {
     public static ProjectAssetDto from(ProjectAsset asset) {
@@ -21,8 +28,36 @@ public record ProjectAssetDto(
                 asset.getOriginalName(),
                 asset.getContentType(),
                 asset.getFileSize(),
+                asset.getSha256(),
                 "/api/public/assets/file/" + asset.getStoredName(),
+                asset.getDerivativeWidths(),
+                asset.getImageWidth(),
+                asset.getImageHeight(),
+                asset.getBlurhash(),
                 asset.getCreatedAt()
         );
     }
+
+    /**
+     * The preview image joined onto a summary row, or {@code null} when the project has none.
+     */
+    public static ProjectAssetDto previewOf(ProjectSummaryView project) {
+        if (project.getPreviewAssetId() == null) {
+            return null;
+        }
+        return new ProjectAssetDto(
+                project.getPreviewAssetId(),
+                project.getPreviewAssetType(),
+                project.getPreviewOriginalName(),
+                project.getPreviewContentType(),
+                project.getPreviewFileSize(),
+                project.getPreviewSha256(),
+                "/api/public/assets/file/" + project.getPreviewStoredName(),
+                ProjectAsset.parseDerivativeWidths(project.getPreviewDerivativeWidths()),
+                project.getPreviewImageWidth(),
+                project.getPreviewImageHeight(),
+                project.getPreviewBlurhash(),
+                project.getPreviewCreatedAt()
+        );
+    }
 }
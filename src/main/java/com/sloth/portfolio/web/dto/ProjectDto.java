@@ -14,6 +14,7 @@ public record ProjectDto(
         String summary,
         String projectPeriod,
         String contentMarkdown,
+        String contentHtml,
         String githubUrl,
         List<ProjectAssetDto> assets,
         Instant createdAt,
@@ -28,6 +29,7 @@ public record ProjectDto(
                 p.getSummary(),
                 p.getProjectPeriod(),
                 p.getContentMarkdown(),
+                p.getContentHtml(),
                 p.getGithubUrl(),
                 p.getAssets().stream().map(ProjectAssetDto::from).toList(),
                 p.getCreatedAt(),
@@ -17,8 +17,12 @@ public record ProjectSummaryDto(
         Instant createdAt,
         Instant updatedAt
 ) {
+    /**
+     * Summary whose only asset is the joined preview image, if any.
+     */
     public static ProjectSummaryDto from(ProjectSummaryView project) {
-        return from(project, List.of());
+        ProjectAssetDto preview = ProjectAssetDto.previewOf(project);
+        return from(project, preview == null ? List.of() : List.of(preview));
     }
 
     public static ProjectSummaryDto from(ProjectSummaryView project, List<ProjectAssetDto> assets) {
@@ -0,0 +1,11 @@
+package com.sloth.portfolio.web.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+public record UploadSessionCreateRequest(
+        @NotBlank @Size(max = 260) String fileName,
+        @Size(max = 160) String contentType,
+        @Positive long length
+) {}
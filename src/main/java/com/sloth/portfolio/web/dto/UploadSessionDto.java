@@ -0,0 +1,25 @@
+package com.sloth.portfolio.web.dto;
+
+import com.sloth.portfolio.domain.UploadSession;
+
+import java.time.Instant;
+
+public record UploadSessionDto(
+        String uploadId,
+        Long projectId,
+        String fileName,
+        long offset,
+        long length,
+        Instant expiresAt
+) {
+    public static UploadSessionDto from(UploadSession session) {
+        return new UploadSessionDto(
+                session.getUploadId(),
+                session.getProjectId(),
+                session.getOriginalName(),
+                session.getReceivedBytes(),
+                session.getTotalBytes(),
+                session.getExpiresAt()
+        );
+    }
+}
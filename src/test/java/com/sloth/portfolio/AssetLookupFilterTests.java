@@ -0,0 +1,57 @@
+package com.sloth.portfolio;
+
+import com.sloth.portfolio.domain.Project;
+import com.sloth.portfolio.domain.ProjectAsset;
+import com.sloth.portfolio.domain.ProjectAssetType;
+import com.sloth.portfolio.repo.ProjectAssetRepository;
+import com.sloth.portfolio.service.AssetLookupFilter;
+import com.sloth.portfolio.service.ProjectAssetService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AssetLookupFilterTests extends AssetTestSupport {
+
+    @Autowired
+    private AssetLookupFilter assetLookupFilter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ProjectAssetRepository projectAssetRepository;
+
+    @Test
+    void rejectsUnknownNamesAndKeepsUploadsVisible() {
+        assetLookupFilter.rebuild();
+        Project project = createProject();
+        ProjectAsset asset = projectAssetService.upload(project.getId(), file("notes.txt", "filter"));
+        double rejectedBefore = meterRegistry.counter("asset.lookup.negative_cache.rejected").count();
+
+        assertThat(projectAssetService.describeAsset(asset.getId(), null).originalName()).isEqualTo("notes.txt");
+        assertThat(projectAssetService.describeAssetByStoredName(asset.getStoredName(), null).originalName()).isEqualTo("notes.txt");
+        assertThatThrownBy(() -> projectAssetService.describeAssetByStoredName("scan-" + UUID.randomUUID() + ".php", null))
+                .isInstanceOf(ProjectAssetService.NotFoundException.class);
+
+        assertThat(meterRegistry.counter("asset.lookup.negative_cache.rejected").count()).isEqualTo(rejectedBefore + 1);
+        assertThat(meterRegistry.find("asset.lookup.negative_cache.false_positive_rate").gauge()).isNotNull();
+    }
+
+    @Test
+    void assetsInsertedByAnotherInstanceAreFoundBeforeTheNextRebuild() {
+        Project project = createProject();
+        assetLookupFilter.rebuild();
+        // Saved through the repository, so this instance's filter never sees the keys, as with another node's upload.
+        ProjectAsset elsewhere = projectAssetRepository.save(new ProjectAsset(
+                project, ProjectAssetType.FILE, "elsewhere.txt", "elsewhere-" + UUID.randomUUID() + ".txt", "text/plain", 9));
+
+        assertThat(projectAssetService.describeAsset(elsewhere.getId(), null).originalName()).isEqualTo("elsewhere.txt");
+        assertThat(projectAssetService.describeAssetByStoredName(elsewhere.getStoredName(), null).originalName())
+                .isEqualTo("elsewhere.txt");
+    }
+}
@@ -0,0 +1,148 @@
+package com.sloth.portfolio;
+
+import com.sloth.portfolio.domain.Project;
+import com.sloth.portfolio.domain.ProjectAsset;
+import com.sloth.portfolio.domain.ProjectCategory;
+import com.sloth.portfolio.service.ProjectAssetService;
+import com.sloth.portfolio.service.ProjectCommandService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares serving a local asset through Tomcat sendfile against the stream-copy path.
+ * Skipped by default; run with:
+ * {@code ./mvnw test -Dtest=AssetSendfileBenchmarkTests -Dasset.benchmark=true [-Dasset.benchmark.file-mb=64] [-Dasset.benchmark.rounds=16]}
+ * CPU time is for the whole JVM, so it includes the in-process client; that share is the same for both modes.
+ */
+@EnabledIfSystemProperty(named = "asset.benchmark", matches = "true")
+class AssetSendfileBenchmarkTests {
+
+    private static final int FILE_SIZE_MB = Integer.getInteger("asset.benchmark.file-mb", 64);
+    private static final int ROUNDS = Integer.getInteger("asset.benchmark.rounds", 16);
+    private static final String FILE_NAME = "benchmark.bin";
+    private static final double BYTES_PER_GB = 1024.0 * 1024 * 1024;
+
+    @TempDir
+    static Path uploadDir;
+
+    @TempDir
+    static Path sourceDir;
+
+    @BeforeAll
+    static void createFile() throws IOException {
+        byte[] chunk = new byte[1024 * 1024];
+        new Random(42).nextBytes(chunk);
+        try (OutputStream out = Files.newOutputStream(sourceDir.resolve(FILE_NAME))) {
+            for (int i = 0; i < FILE_SIZE_MB; i++) {
+                out.write(chunk);
+            }
+        }
+    }
+
+    @Test
+    void compareSendfileWithStreamCopy() throws Exception {
+        Result streamCopy = run(false);
+        Result sendfile = run(true);
+
+        System.out.println("Asset serving benchmark (" + FILE_SIZE_MB + " MB x " + ROUNDS + " rounds)");
+        System.out.println(streamCopy.describe("stream copy"));
+        System.out.println(sendfile.describe("sendfile"));
+
+        assertThat(sendfile.bytes()).isEqualTo(streamCopy.bytes());
+    }
+
+    private static Result run(boolean sendfileEnabled) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(PortfolioApplication.class)
+                .profiles("test")
+                .run(
+                        "--server.port=0",
+                        "--app.upload.provider=local",
+                        "--app.upload.dir=" + uploadDir,
+                        "--app.upload.sendfile.enabled=" + sendfileEnabled
+                )) {
+            ProjectAsset asset = upload(context);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + "/api/public/assets/file/" + asset.getStoredName());
+            HttpClient client = HttpClient.newHttpClient();
+
+            download(client, uri);
+
+            com.sun.management.OperatingSystemMXBean os =
+                    (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+            long cpuStart = os.getProcessCpuTime();
+            long started = System.nanoTime();
+            long bytes = 0;
+            for (int i = 0; i < ROUNDS; i++) {
+                bytes += download(client, uri);
+            }
+            return new Result(bytes, System.nanoTime() - started, os.getProcessCpuTime() - cpuStart);
+        }
+    }
+
+    private static ProjectAsset upload(ConfigurableApplicationContext context) throws IOException {
+        Project project = context.getBean(ProjectCommandService.class).create(new Project(
+                ProjectCategory.SOFTWARE,
+                "Benchmark",
+                "benchmark-" + UUID.randomUUID().toString().substring(0, 8),
+                "summary",
+                null,
+                "content",
+                null
+        ));
+        byte[] body = Files.readAllBytes(sourceDir.resolve(FILE_NAME));
+        return context.getBean(ProjectAssetService.class)
+                .upload(project.getId(), new MockMultipartFile("file", FILE_NAME, "application/octet-stream", body));
+    }
+
+    private static long download(HttpClient client, URI uri) throws Exception {
+        HttpResponse<InputStream> response = client.send(
+                HttpRequest.newBuilder(uri).GET().build(),
+                HttpResponse.BodyHandlers.ofInputStream()
+        );
+        assertThat(response.statusCode()).isEqualTo(200);
+
+        long total = 0;
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream body = response.body()) {
+            int read;
+            while ((read = body.read(buffer)) >= 0) {
+                total += read;
+            }
+        }
+        return total;
+    }
+
+    private record Result(long bytes, long elapsedNanos, long cpuNanos) {
+        String describe(String mode) {
+            double gigabytes = bytes / BYTES_PER_GB;
+            double seconds = elapsedNanos / 1e9;
+            return String.format(
+                    "  %-12s %8.1f MB/s  %8.1f CPU ms/GB",
+                    mode,
+                    bytes / (1024.0 * 1024) / seconds,
+                    cpuNanos / 1e6 / gigabytes
+            );
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.sloth.portfolio;
+
+import com.sloth.portfolio.domain.Project;
+import com.sloth.portfolio.domain.ProjectCategory;
+import com.sloth.portfolio.repo.AssetBlobRepository;
+import com.sloth.portfolio.repo.ProjectRepository;
+import com.sloth.portfolio.service.ProjectAssetService;
+import com.sloth.portfolio.service.ProjectCommandService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+/**
+ * Shared setup for tests that upload project assets. Every subclass runs in the same application context,
+ * on the local storage backend under one temp directory, so the context is started once for all of them.
+ * Repositories some tests make fail are spied here rather than per class, which would split the context.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+abstract class AssetTestSupport {
+
+    protected static final Path UPLOAD_DIR = createTempDir("portfolio-uploads-");
+    protected static final Path PART_DIR = createTempDir("portfolio-parts-");
+
+    @DynamicPropertySource
+    static void uploadProperties(DynamicPropertyRegistry registry) {
+        registry.add("app.upload.provider", () -> "local");
+        registry.add("app.upload.dir", UPLOAD_DIR::toString);
+        registry.add("app.upload.resumable.dir", PART_DIR::toString);
+        registry.add("app.upload.batch.concurrency", () -> "2");
+    }
+
+    @Autowired
+    protected ProjectAssetService projectAssetService;
+
+    @Autowired
+    protected ProjectCommandService projectCommandService;
+
+    @MockitoSpyBean
+    protected AssetBlobRepository assetBlobRepository;
+
+    @MockitoSpyBean
+    protected ProjectRepository projectRepository;
+
+    protected Project createProject() {
+        String slug = "test-" + UUID.randomUUID().toString().substring(0, 8);
+        return projectCommandService.create(new Project(
+                ProjectCategory.SOFTWARE,
+                "Test",
+                slug,
+                "summary",
+                null,
+                "content",
+                null
+        ));
+    }
+
+    protected static MockMultipartFile file(String name, String body) {
+        return new MockMultipartFile("file", name, "text/plain", body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Path createTempDir(String prefix) {
+        try {
+            Path dir = Files.createTempDirectory(prefix);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> FileSystemUtils.deleteRecursively(dir.toFile())));
+            return dir;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.sloth.portfolio;
+
+import com.sloth.portfolio.domain.Project;
+import com.sloth.portfolio.repo.ProjectAssetRepository;
+import com.sloth.portfolio.service.ProjectAssetService;
+import com.sloth.portfolio.service.StorageDeletionWorker;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Files;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjectAssetBatchUploadTests extends AssetTestSupport {
+
+    @Autowired
+    private StorageDeletionWorker storageDeletionWorker;
+
+    @Autowired
+    private ProjectAssetRepository projectAssetRepository;
+
+    @Test
+    void uploadsEveryPartAndReportsFailuresPerFile() {
+        Project project = createProject();
+        String shared = "shared " + UUID.randomUUID();
+        List<MultipartFile> files = List.of(
+                file("one.txt", "one " + UUID.randomUUID()),
+                file("empty.txt", ""),
+                file("two.txt", shared),
+                file("three.txt", shared)
+        );
+
+        List<ProjectAssetService.BatchUploadResult> results = projectAssetService.uploadBatch(project.getId(), files);
+
+        assertThat(results).extracting(ProjectAssetService.BatchUploadResult::fileName)
+                .containsExactly("one.txt", "empty.txt", "two.txt", "three.txt");
+        assertThat(results).extracting(ProjectAssetService.BatchUploadResult::succeeded)
+                .containsExactly(true, false, true, true);
+        assertThat(results.get(1).error()).isEqualTo("File must not be empty");
+        assertThat(results.get(0).asset().getId()).isNotNull();
+        assertThat(projectAssetRepository.findByProjectIdOrderByCreatedAtAsc(project.getId())).hasSize(3);
+
+        String sharedObject = projectAssetService.describeAsset(results.get(2).asset().getId(), null).storedName();
+        assertThat(projectAssetService.describeAsset(results.get(3).asset().getId(), null).storedName()).isEqualTo(sharedObject);
+        assertThat(Files.exists(UPLOAD_DIR.resolve(sharedObject))).isTrue();
+
+        projectAssetService.deleteAllByProjectId(project.getId());
+        storageDeletionWorker.drain();
+        assertThat(Files.exists(UPLOAD_DIR.resolve(sharedObject))).isFalse();
+    }
+}
@@ -0,0 +1,111 @@
+package com.sloth.portfolio;
+
+import com.sloth.portfolio.domain.Project;
+import com.sloth.portfolio.domain.ProjectAsset;
+import com.sloth.portfolio.repo.ProjectAssetRepository;
+import com.sloth.portfolio.service.AssetChecksumBackfillWorker;
+import com.sloth.portfolio.service.ProjectAssetService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjectAssetChecksumTests extends AssetTestSupport {
+
+    @Autowired
+    private ProjectAssetRepository projectAssetRepository;
+
+    @Autowired
+    private AssetChecksumBackfillWorker backfillWorker;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void uploadRecordsDigestAndUsesItAsEntityTag() {
+        Project project = createProject();
+        String body = "checksum " + UUID.randomUUID();
+
+        ProjectAsset asset = projectAssetService.upload(project.getId(), file("notes.txt", body));
+
+        assertThat(asset.getSha256()).isEqualTo(sha256(body));
+        assertThat(projectAssetService.describeAssetByStoredName(asset.getStoredName(), null).etag())
+                .isEqualTo("\"" + sha256(body) + "\"");
+    }
+
+    @Test
+    void derivativesCarryNeitherTheSourceDigestNorItsSize() throws Exception {
+        Project project = createProject();
+        BufferedImage image = new BufferedImage(400, 300, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(0, 0, UUID.randomUUID().hashCode());
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", png);
+        ProjectAsset asset = projectAssetService.upload(project.getId(), new MockMultipartFile("file", "photo.png", "image/png", png.toByteArray()));
+
+        ProjectAssetService.AssetMetadata derivative = projectAssetService.describeAsset(asset.getId(), 320);
+
+        assertThat(derivative.storedName()).isNotEqualTo(projectAssetService.describeAsset(asset.getId(), null).storedName());
+        assertThat(derivative.sha256()).isNull();
+        // The source's size would make range reads judge a small derivative by the original.
+        assertThat(derivative.fileSize()).isEqualTo(-1);
+    }
+
+    @Test
+    void verificationDetectsChangedBytes() throws Exception {
+        Project project = createProject();
+        ProjectAsset asset = projectAssetService.upload(project.getId(), file("notes.txt", "original " + UUID.randomUUID()));
+
+        assertThat(projectAssetService.verifyAsset(project.getId(), asset.getId()).matches()).isTrue();
+
+        String objectName = projectAssetService.describeAsset(asset.getId(), null).storedName();
+        Files.writeString(UPLOAD_DIR.resolve(objectName), "tampered");
+        ProjectAssetService.AssetVerification verification = projectAssetService.verifyAsset(project.getId(), asset.getId());
+
+        assertThat(verification.matches()).isFalse();
+        assertThat(verification.actualSha256()).isEqualTo(sha256("tampered"));
+    }
+
+    @Test
+    void backfillRecordsDigestsForOlderAssets() throws Exception {
+        Project project = createProject();
+        ProjectAsset blobBacked = projectAssetService.upload(project.getId(), file("shared.txt", "shared " + UUID.randomUUID()));
+        jdbcTemplate.update("update project_assets set sha256 = null where id = ?", blobBacked.getId());
+
+        String legacyName = project.getId() + "-" + UUID.randomUUID() + ".txt";
+        String legacyBody = "legacy " + UUID.randomUUID();
+        Files.writeString(UPLOAD_DIR.resolve(legacyName), legacyBody);
+        jdbcTemplate.update(
+                "insert into project_assets (project_id, asset_type, original_name, stored_name, content_type, file_size, created_at) "
+                        + "values (?, 'FILE', 'legacy.txt', ?, 'text/plain', ?, ?)",
+                project.getId(), legacyName, legacyBody.length(), Timestamp.from(Instant.now())
+        );
+
+        backfillWorker.backfillBatch();
+
+        assertThat(projectAssetRepository.findById(blobBacked.getId()).orElseThrow().getSha256())
+                .isEqualTo(blobBacked.getSha256());
+        assertThat(projectAssetRepository.findByStoredName(legacyName).orElseThrow().getSha256())
+                .isEqualTo(sha256(legacyBody));
+    }
+
+    private static String sha256(String body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.sloth.portfolio;
+
+import com.sloth.portfolio.domain.Project;
+import com.sloth.portfolio.domain.ProjectAsset;
+import com.sloth.portfolio.domain.StorageDeletion;
+import com.sloth.portfolio.repo.StorageDeletionRepository;
+import com.sloth.portfolio.service.ProjectAssetService;
+import com.sloth.portfolio.service.StorageDeletionWorker;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.reset;
+
+class ProjectAssetDeduplicationTests extends AssetTestSupport {
+
+    @Autowired
+    private StorageDeletionWorker storageDeletionWorker;
+
+    @Autowired
+    private StorageDeletionRepository storageDeletionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void identicalUploadsShareOneStoredObjectUntilTheLastIsDeleted() {
+        Project first = createProject();
+        Project second = createProject();
+        String body = "same bytes " + UUID.randomUUID();
+
+        ProjectAsset firstAsset = projectAssetService.upload(first.getId(), file("spec.txt", body));
+        ProjectAsset secondAsset = projectAssetService.upload(second.getId(), file("copy.txt", body));
+
+        assertThat(secondAsset.getStoredName()).isNotEqualTo(firstAsset.getStoredName());
+        String objectName = projectAssetService.describeAsset(firstAsset.getId(), null).storedName();
+        assertThat(projectAssetService.describeAsset(secondAsset.getId(), null).storedName()).isEqualTo(objectName);
+        assertThat(Files.exists(UPLOAD_DIR.resolve(objectName))).isTrue();
+        assertThat(assetBlobRepository.findAll())
+                .filteredOn(blob -> blob.getStoredName().equals(objectName))
+                .singleElement()
+                .satisfies(blob -> assertThat(blob.getRefCount()).isEqualTo(2));
+
+        assertThat(projectAssetService.describeAssetByStoredName(firstAsset.getStoredName(), null).fileSize())
+                .isEqualTo(firstAsset.getFileSize());
+
+        projectAssetService.deleteAsset(first.getId(), firstAsset.getId());
+        assertThatThrownBy(() -> projectAssetService.describeAssetByStoredName(firstAsset.getStoredName(), null))
+                .isInstanceOf(ProjectAssetService.NotFoundException.class);
+        storageDeletionWorker.drain();
+        assertThat(Files.exists(UPLOAD_DIR.resolve(objectName))).isTrue();
+
+        projectAssetService.deleteAsset(second.getId(), secondAsset.getId());
+        assertThat(assetBlobRepository.findAll()).noneMatch(blob -> blob.getStoredName().equals(objectName));
+        storageDeletionWorker.drain();
+        assertThat(Files.exists(UPLOAD_DIR.resolve(objectName))).isFalse();
+    }
+
+    @Test
+    void drainRacingAReUploadOfDeletedBytesLeavesTheNewObjectInPlace() throws Exception {
+        Project project = createProject();
+        String body = "re-uploaded " + UUID.randomUUID();
+        ProjectAsset original = projectAssetService.upload(project.getId(), file("v1.txt", body));
+        String objectName = projectAssetService.describeAsset(original.getId(), null).storedName();
+
+        projectAssetService.deleteAsset(project.getId(), original.getId());
+        // Waits out the after-commit drain, then queues the name again as a batch still waiting on its backoff.
+        storageDeletionWorker.drain();
+        StorageDeletion pending = new StorageDeletion(objectName, Instant.now());
+        pending.recordFailure("storage unavailable", Instant.now().plusMillis(200));
+        storageDeletionRepository.save(pending);
+        Thread.sleep(250);
+
+        // The drain runs after the re-upload has written its object but before the new rows commit.
+        ProjectAsset reUploaded = new TransactionTemplate(transactionManager).execute(status -> {
+            ProjectAsset asset = projectAssetService.upload(project.getId(), file("v2.txt", body));
+            assertThat(CompletableFuture.supplyAsync(storageDeletionWorker::drain).join()).isEqualTo(1);
+            return asset;
+        });
+
+        String reUploadedName = projectAssetService.describeAsset(reUploaded.getId(), null).storedName();
+        assertThat(reUploadedName).isNotEqualTo(objectName).startsWith(reUploaded.getSha256());
+        assertThat(Files.exists(UPLOAD_DIR.resolve(reUploadedName))).isTrue();
+        assertThat(Files.exists(UPLOAD_DIR.resolve(objectName))).isFalse();
+    }
+
+    @Test
+    void uploadLosingTheRaceForNewBytesReusesTheWinningBlob() {
+        Project first = createProject();
+        Project second = createProject();
+        String body = "raced " + UUID.randomUUID();
+        ProjectAsset winner = projectAssetService.upload(first.getId(), file("winner.txt", body));
+        String objectName = projectAssetService.describeAsset(winner.getId(), null).storedName();
+
+        // The second upload checked for the digest before the first one committed, so it writes its own object.
+        doReturn(Set.of()).when(assetBlobRepository).findExistingDigests(anyCollection());
+        ProjectAsset loser;
+        try {
+            loser = projectAssetService.upload(second.getId(), file("loser.txt", body));
+        } finally {
+            reset(assetBlobRepository);
+        }
+
+        assertThat(projectAssetService.describeAsset(loser.getId(), null).storedName()).isEqualTo(objectName);
+        assertThat(assetBlobRepository.findAll())
+                .filteredOn(blob -> blob.getSha256().equals(winner.getSha256()))
+                .singleElement()
+                .satisfies(blob -> assertThat(blob.getRefCount()).isEqualTo(2));
+        storageDeletionWorker.drain();
+        try (Stream<Path> objects = Files.list(UPLOAD_DIR)) {
+            assertThat(objects.map(path -> path.getFileName().toString()))
+                    .filteredOn(name -> name.startsWith(winner.getSha256()))
+                    .containsExactly(objectName);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Test
+    void differentBytesGetSeparateObjects() {
+        Project project = createProject();
+
+        ProjectAsset a = projectAssetService.upload(project.getId(), file("a.txt", "alpha " + UUID.randomUUID()));
+        ProjectAsset b = projectAssetService.upload(project.getId(), file("b.txt", "beta " + UUID.randomUUID()));
+
+        assertThat(projectAssetService.describeAsset(a.getId(), null).storedName())
+                .isNotEqualTo(projectAssetService.describeAsset(b.getId(), null).storedName());
+    }
+
+    @Test
+    void identicalImagesShareImageMetadata() throws Exception {
+        Project project = createProject();
+        BufferedImage image = new BufferedImage(400, 300, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(10, 10, 0xff0000 + UUID.randomUUID().hashCode() % 0xff);
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", png);
+
+        ProjectAsset first = projectAssetService.upload(project.getId(), new MockMultipartFile("file", "a.png", "image/png", png.toByteArray()));
+        ProjectAsset second = projectAssetService.upload(project.getId(), new MockMultipartFile("file", "b.png", "image/png", png.toByteArray()));
+
+        assertThat(first.getImageWidth()).isEqualTo(400);
+        assertThat(first.getImageHeight()).isEqualTo(300);
+        assertThat(first.getBlurhash()).isNotBlank();
+        assertThat(second.getImageWidth()).isEqualTo(400);
+        assertThat(second.getBlurhash()).isEqualTo(first.getBlurhash());
+    }
+}
@@ -0,0 +1,81 @@
+package com.sloth.portfolio;
+
+import com.sloth.portfolio.domain.Project;
+import com.sloth.portfolio.domain.ProjectCategory;
+import com.sloth.portfolio.repo.ProjectRepository;
+import com.sloth.portfolio.service.MarkdownRenderer;
+import com.sloth.portfolio.service.ProjectCommandService;
+import com.sloth.portfolio.service.ProjectContentRenderWorker;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProjectContentRenderTests {
+
+    @Autowired
+    private ProjectCommandService projectCommandService;
+
+    @Autowired
+    private ProjectContentRenderWorker renderWorker;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void rendersContentOnWriteAndOnlyWhenTheSourceChanges() {
+        Project project = projectCommandService.create(project("# Title\n\n<b>raw</b>"));
+
+        assertThat(project.getContentHtml()).contains("<h1>Title</h1>", "&lt;b&gt;raw&lt;/b&gt;");
+        assertThat(project.getContentHash()).isEqualTo(MarkdownRenderer.hash("# Title\n\n<b>raw</b>"));
+        assertThat(project.getContentRendererVersion()).isEqualTo(MarkdownRenderer.VERSION);
+
+        Project updated = projectCommandService.update(project.getId(), project("## Changed"));
+        assertThat(updated.getContentHtml()).isEqualTo("<h2>Changed</h2>\n");
+        assertThat(projectRepository.findById(project.getId()).orElseThrow().getContentHtml())
+                .isEqualTo("<h2>Changed</h2>\n");
+    }
+
+    @Test
+    void reRendersOutdatedContentInTheBackgroundWithoutTouchingUpdatedAt() {
+        Project project = projectCommandService.create(project("*stale*"));
+        jdbcTemplate.update(
+                "update projects set content_html = 'old', content_renderer_version = ? where id = ?",
+                MarkdownRenderer.VERSION - 1,
+                project.getId()
+        );
+        Instant updatedAt = projectRepository.findById(project.getId()).orElseThrow().getUpdatedAt();
+
+        while (renderWorker.renderBatch() > 0) {
+            // Drain projects left behind by other tests too.
+        }
+
+        Project rendered = projectRepository.findById(project.getId()).orElseThrow();
+        assertThat(rendered.getContentHtml()).isEqualTo("<p><em>stale</em></p>\n");
+        assertThat(rendered.getContentRendererVersion()).isEqualTo(MarkdownRenderer.VERSION);
+        assertThat(rendered.getUpdatedAt()).isEqualTo(updatedAt);
+    }
+
+    private static Project project(String markdown) {
+        return new Project(
+                ProjectCategory.SOFTWARE,
+                "Rendered",
+                "rendered-" + UUID.randomUUID().toString().substring(0, 8),
+                "summary",
+                null,
+                markdown,
+                null
+        );
+    }
+}
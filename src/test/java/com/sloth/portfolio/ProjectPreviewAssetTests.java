@@ -0,0 +1,79 @@
+package com.sloth.portfolio;
+
+import com.sloth.portfolio.config.ProjectPreviewAssetMigrationRunner;
+import com.sloth.portfolio.domain.Project;
+import com.sloth.portfolio.domain.ProjectAsset;
+import com.sloth.portfolio.domain.ProjectCategory;
+import com.sloth.portfolio.repo.ProjectSummaryView;
+import com.sloth.portfolio.service.ProjectQueryService;
+import com.sloth.portfolio.web.dto.ProjectSummaryDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjectPreviewAssetTests extends AssetTestSupport {
+
+    @Autowired
+    private ProjectQueryService projectQueryService;
+
+    @Autowired
+    private ProjectPreviewAssetMigrationRunner migrationRunner;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void keepsTheOldestImageAsPreviewAcrossUploadsAndDeletes() {
+        Project project = createProject();
+        upload(project, "notes.txt", "text/plain");
+        assertThat(summaryOf(project).getPreviewAssetId()).isNull();
+
+        ProjectAsset cover = upload(project, "cover.png", "image/png");
+        ProjectAsset second = upload(project, "second.png", "image/png");
+        ProjectSummaryView summary = summaryOf(project);
+        assertThat(summary.getPreviewAssetId()).isEqualTo(cover.getId());
+        assertThat(summary.getPreviewStoredName()).isEqualTo(cover.getStoredName());
+        assertThat(summary.getPreviewContentType()).isEqualTo("image/png");
+        assertThat(ProjectSummaryDto.from(summary).assets()).extracting(asset -> asset.originalName())
+                .containsExactly("cover.png");
+
+        projectAssetService.deleteAsset(project.getId(), cover.getId());
+        assertThat(summaryOf(project).getPreviewAssetId()).isEqualTo(second.getId());
+
+        projectAssetService.deleteAsset(project.getId(), second.getId());
+        assertThat(summaryOf(project).getPreviewAssetId()).isNull();
+        assertThat(ProjectSummaryDto.from(summaryOf(project)).assets()).isEmpty();
+    }
+
+    @Test
+    void backfillsProjectsWithoutAPreview() throws Exception {
+        Project project = createProject();
+        ProjectAsset cover = upload(project, "cover.webp", "image/webp");
+        jdbcTemplate.update("update projects set preview_asset_id = null where id = ?", project.getId());
+        assertThat(summaryOf(project).getPreviewAssetId()).isNull();
+
+        migrationRunner.run(null);
+
+        assertThat(summaryOf(project).getPreviewAssetId()).isEqualTo(cover.getId());
+    }
+
+    private ProjectSummaryView summaryOf(Project project) {
+        List<ProjectSummaryView> summaries = projectQueryService.listSummaries(ProjectCategory.SOFTWARE);
+        return summaries.stream()
+                .filter(summary -> summary.getId().equals(project.getId()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private ProjectAsset upload(Project project, String name, String contentType) {
+        return projectAssetService.upload(project.getId(), new MockMultipartFile(
+                "file", name, contentType, (name + " " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8)));
+    }
+}
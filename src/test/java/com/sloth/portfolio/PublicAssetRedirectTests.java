@@ -0,0 +1,86 @@
+package com.sloth.portfolio;
+
+import com.sloth.portfolio.domain.Project;
+import com.sloth.portfolio.domain.ProjectAsset;
+import com.sloth.portfolio.domain.ProjectCategory;
+import com.sloth.portfolio.service.ProjectAssetService;
+import com.sloth.portfolio.service.ProjectCommandService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class PublicAssetRedirectTests {
+
+    @TempDir
+    static Path uploadDir;
+
+    @DynamicPropertySource
+    static void uploadProperties(DynamicPropertyRegistry registry) {
+        registry.add("app.upload.provider", () -> "local");
+        registry.add("app.upload.dir", uploadDir::toString);
+        registry.add("app.upload.redirect.enabled", () -> "true");
+        registry.add("app.upload.redirect.cdn-base-url", () -> "https://cdn.example.com");
+        registry.add("app.upload.redirect.cdn-secret", () -> "secret");
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProjectAssetService projectAssetService;
+
+    @Autowired
+    private ProjectCommandService projectCommandService;
+
+    @Test
+    void revalidatingARedirectGetsAFreshRedirectWithoutValidators() throws Exception {
+        Project project = projectCommandService.create(new Project(
+                ProjectCategory.SOFTWARE,
+                "Redirect",
+                "redirect-" + UUID.randomUUID().toString().substring(0, 8),
+                "summary",
+                null,
+                "content",
+                null
+        ));
+        ProjectAsset asset = projectAssetService.upload(project.getId(), new MockMultipartFile(
+                "file", "notes.txt", "text/plain", ("redirect " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8)));
+        String etag = projectAssetService.describeAsset(asset.getId(), null).etag();
+
+        HttpResponse<Void> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/public/assets/" + asset.getId()))
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .GET()
+                        .build(),
+                HttpResponse.BodyHandlers.discarding()
+        );
+
+        assertThat(etag).isNotNull();
+        assertThat(response.statusCode()).isEqualTo(302);
+        assertThat(response.headers().firstValue(HttpHeaders.LOCATION)).hasValueSatisfying(
+                location -> assertThat(location).startsWith("https://cdn.example.com/"));
+        assertThat(response.headers().firstValue(HttpHeaders.CACHE_CONTROL)).hasValueSatisfying(
+                cacheControl -> assertThat(cacheControl).startsWith("private, max-age="));
+        assertThat(response.headers().firstValue(HttpHeaders.ETAG)).isEmpty();
+        assertThat(response.headers().firstValue(HttpHeaders.LAST_MODIFIED)).isEmpty();
+    }
+}
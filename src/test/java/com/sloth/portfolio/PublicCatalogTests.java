@@ -0,0 +1,160 @@
+package com.sloth.portfolio;
+
+import com.sloth.portfolio.domain.Notice;
+import com.sloth.portfolio.domain.Project;
+import com.sloth.portfolio.domain.ProjectCategory;
+import com.sloth.portfolio.repo.ProjectSummaryView;
+import com.sloth.portfolio.service.NoticeCommandService;
+import com.sloth.portfolio.service.ProjectAssetService;
+import com.sloth.portfolio.service.ProjectCommandService;
+import com.sloth.portfolio.service.ProjectCursor;
+import com.sloth.portfolio.service.ProjectQueryService;
+import com.sloth.portfolio.web.PublicCatalog;
+import com.sloth.portfolio.web.dto.CursorPageDto;
+import com.sloth.portfolio.web.dto.NoticeDto;
+import com.sloth.portfolio.web.dto.ProjectDto;
+import com.sloth.portfolio.web.dto.ProjectSummaryDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "app.upload.provider=memory")
+class PublicCatalogTests {
+
+    @Autowired
+    private PublicCatalog publicCatalog;
+
+    @Autowired
+    private ProjectCommandService projectCommandService;
+
+    @Autowired
+    private ProjectAssetService projectAssetService;
+
+    @Autowired
+    private NoticeCommandService noticeCommandService;
+
+    @Autowired
+    private ProjectQueryService projectQueryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void reflectsCommittedProjectWritesWithoutQueryingAgain() {
+        Project project = createProject("Catalog");
+        String slug = project.getSlug();
+
+        assertThat(publicCatalog.projects(ProjectCategory.FIRMWARE)).extracting(ProjectDto::slug).contains(slug);
+        assertThat(publicCatalog.projects(ProjectCategory.SOFTWARE)).extracting(ProjectDto::slug).doesNotContain(slug);
+
+        projectAssetService.upload(project.getId(), new MockMultipartFile(
+                "file", "cover.png", "image/png", ("png " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8)));
+        ProjectSummaryDto summary = publicCatalog.summaries(null).stream()
+                .filter(candidate -> candidate.slug().equals(slug))
+                .findFirst()
+                .orElseThrow();
+        assertThat(summary.assets()).extracting(asset -> asset.originalName()).containsExactly("cover.png");
+
+        // Bypasses the command services, so only a refresh can pick it up.
+        jdbcTemplate.update("update projects set title = 'Changed behind the catalog' where id = ?", project.getId());
+        assertThat(publicCatalog.project(slug).title()).isEqualTo("Catalog");
+        publicCatalog.refresh();
+        assertThat(publicCatalog.project(slug).title()).isEqualTo("Changed behind the catalog");
+
+        projectCommandService.delete(project.getId());
+        assertThat(publicCatalog.projects(null)).extracting(ProjectDto::slug).doesNotContain(slug);
+        assertThatThrownBy(() -> publicCatalog.project(slug)).isInstanceOf(ProjectQueryService.NotFoundException.class);
+    }
+
+    @Test
+    void pagesThroughProjectsByCursorInListingOrder() {
+        for (int i = 0; i < 5; i++) {
+            createProject("Paged " + i);
+        }
+        List<String> listed = publicCatalog.projects(ProjectCategory.FIRMWARE).stream().map(ProjectDto::slug).toList();
+
+        List<String> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageDto<ProjectDto> page = publicCatalog.projectPage(ProjectCategory.FIRMWARE, cursor, 2);
+            assertThat(page.items()).hasSizeLessThanOrEqualTo(2);
+            page.items().forEach(project -> paged.add(project.slug()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        assertThat(paged).containsExactlyElementsOf(listed);
+
+        CursorPageDto<ProjectSummaryDto> firstSummaries = publicCatalog.summaryPage(null, null, 3);
+        List<ProjectSummaryView> fromDatabase = projectQueryService.listSummaryPage(null, ProjectCursor.START, 3);
+        assertThat(firstSummaries.items()).extracting(ProjectSummaryDto::id)
+                .containsExactlyElementsOf(fromDatabase.stream().map(ProjectSummaryView::getId).toList());
+        ProjectCursor next = ProjectCursor.decode(firstSummaries.nextCursor());
+        assertThat(projectQueryService.listPage(null, next, 2)).extracting(Project::getId)
+                .containsExactlyElementsOf(publicCatalog.projectPage(null, firstSummaries.nextCursor(), 2).items().stream()
+                        .map(ProjectDto::id)
+                        .toList());
+
+        assertThatThrownBy(() -> publicCatalog.projectPage(null, "not a cursor", 2))
+                .isInstanceOf(ProjectQueryService.InvalidPageRequestException.class);
+    }
+
+    @Test
+    void previewsTheOldestImageOfEachProject() {
+        Project gallery = createProject("Gallery");
+        Project documents = createProject("Documents");
+        upload(gallery, "notes.txt", "text/plain");
+        upload(gallery, "cover.png", "image/png");
+        upload(gallery, "second.png", "image/png");
+        upload(documents, "manual.txt", "text/plain");
+
+        Map<Long, ProjectSummaryDto> summaries = publicCatalog.summaries(null).stream()
+                .collect(Collectors.toMap(ProjectSummaryDto::id, Function.identity()));
+
+        assertThat(summaries.get(gallery.getId()).assets()).extracting(asset -> asset.originalName())
+                .containsExactly("cover.png");
+        assertThat(summaries.get(documents.getId()).assets()).isEmpty();
+    }
+
+    @Test
+    void listsThePinnedNoticeFirst() {
+        noticeCommandService.create(new Notice("Pinned " + UUID.randomUUID(), true, 18));
+        Notice latest = noticeCommandService.create(new Notice("Latest " + UUID.randomUUID(), false, 18));
+
+        assertThat(publicCatalog.notices()).first().satisfies(notice -> assertThat(notice.pinned()).isTrue());
+        assertThat(publicCatalog.notices()).extracting(NoticeDto::id).contains(latest.getId());
+    }
+
+    private void upload(Project project, String name, String contentType) {
+        projectAssetService.upload(project.getId(), new MockMultipartFile(
+                "file", name, contentType, (name + " " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Project createProject(String title) {
+        String slug = "catalog-" + UUID.randomUUID().toString().substring(0, 8);
+        return projectCommandService.create(new Project(
+                ProjectCategory.FIRMWARE,
+                title,
+                slug,
+                "summary",
+                null,
+                "content",
+                null
+        ));
+    }
+}
@@ -0,0 +1,146 @@
+package com.sloth.portfolio;
+
+import com.sloth.portfolio.domain.Project;
+import com.sloth.portfolio.domain.ProjectAsset;
+import com.sloth.portfolio.domain.UploadSession;
+import com.sloth.portfolio.repo.StorageDeletionRepository;
+import com.sloth.portfolio.repo.UploadSessionRepository;
+import com.sloth.portfolio.service.ProjectAssetService;
+import com.sloth.portfolio.service.ResumableUploadService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+
+class ResumableUploadTests extends AssetTestSupport {
+
+    @Autowired
+    private ResumableUploadService resumableUploadService;
+
+    @Autowired
+    private UploadSessionRepository uploadSessionRepository;
+
+    @Autowired
+    private StorageDeletionRepository storageDeletionRepository;
+
+    @Test
+    void assemblesChunksIntoAnAssetAndDiscardsTheSession() throws Exception {
+        Project project = createProject();
+        byte[] content = ("firmware " + UUID.randomUUID() + " ").repeat(2000).getBytes(StandardCharsets.UTF_8);
+        UploadSession session = resumableUploadService.create(project.getId(), "firmware.bin", null, content.length);
+        String uploadId = session.getUploadId();
+
+        int split = content.length / 3;
+        assertThat(append(project, uploadId, 0, Arrays.copyOfRange(content, 0, split)).getReceivedBytes()).isEqualTo(split);
+        assertThatThrownBy(() -> append(project, uploadId, 0, Arrays.copyOfRange(content, 0, split)))
+                .isInstanceOfSatisfying(ResumableUploadService.OffsetMismatchException.class,
+                        e -> assertThat(e.currentOffset()).isEqualTo(split));
+        assertThatThrownBy(() -> resumableUploadService.complete(project.getId(), uploadId))
+                .isInstanceOf(ResumableUploadService.OffsetMismatchException.class);
+        append(project, uploadId, split, Arrays.copyOfRange(content, split, content.length));
+
+        ProjectAsset asset = resumableUploadService.complete(project.getId(), uploadId);
+
+        assertThat(asset.getOriginalName()).isEqualTo("firmware.bin");
+        assertThat(asset.getFileSize()).isEqualTo(content.length);
+        assertThat(asset.getSha256()).isEqualTo(sha256(content));
+        String objectName = projectAssetService.describeAsset(asset.getId(), null).storedName();
+        assertThat(Files.readAllBytes(UPLOAD_DIR.resolve(objectName))).isEqualTo(content);
+        assertThat(uploadSessionRepository.findByUploadId(uploadId)).isEmpty();
+        assertThat(Files.exists(PART_DIR.resolve(uploadId + ".part"))).isFalse();
+    }
+
+    @Test
+    void keepsBytesOfAnInterruptedChunkAndResumesFromThem() throws Exception {
+        Project project = createProject();
+        byte[] content = ("resume " + UUID.randomUUID()).repeat(500).getBytes(StandardCharsets.UTF_8);
+        String uploadId = resumableUploadService.create(project.getId(), "image.img", "application/octet-stream", content.length)
+                .getUploadId();
+
+        int delivered = 1000;
+        InputStream dropped = new InputStream() {
+            private final InputStream delegate = new ByteArrayInputStream(content, 0, delivered);
+
+            @Override
+            public int read() throws IOException {
+                int value = delegate.read();
+                if (value < 0) {
+                    throw new IOException("connection reset");
+                }
+                return value;
+            }
+        };
+        assertThatThrownBy(() -> resumableUploadService.appendChunk(project.getId(), uploadId, 0, dropped))
+                .isInstanceOf(ProjectAssetService.InvalidFileException.class);
+        long offset = resumableUploadService.status(project.getId(), uploadId).getReceivedBytes();
+        assertThat(offset).isEqualTo(delivered);
+
+        append(project, uploadId, offset, Arrays.copyOfRange(content, (int) offset, content.length));
+        assertThat(resumableUploadService.complete(project.getId(), uploadId).getSha256()).isEqualTo(sha256(content));
+    }
+
+    @Test
+    void rejectsBodiesPastTheDeclaredLengthAndOversizedSessions() {
+        Project project = createProject();
+        String uploadId = resumableUploadService.create(project.getId(), "small.bin", null, 4).getUploadId();
+
+        assertThatThrownBy(() -> append(project, uploadId, 0, new byte[]{1, 2, 3, 4, 5}))
+                .isInstanceOf(ProjectAssetService.InvalidFileException.class);
+        assertThat(resumableUploadService.status(project.getId(), uploadId).getReceivedBytes()).isZero();
+
+        assertThatThrownBy(() -> resumableUploadService.create(project.getId(), "huge.bin", null, Long.MAX_VALUE))
+                .isInstanceOf(ProjectAssetService.InvalidFileException.class);
+        assertThatThrownBy(() -> resumableUploadService.status(project.getId() + 1, uploadId))
+                .isInstanceOf(ProjectAssetService.NotFoundException.class);
+
+        resumableUploadService.abort(project.getId(), uploadId);
+        assertThat(uploadSessionRepository.findByUploadId(uploadId)).isEmpty();
+        assertThat(Files.exists(PART_DIR.resolve(uploadId + ".part"))).isFalse();
+    }
+
+    @Test
+    void failedCompletionKeepsTheUploadSoItCanBeRetried() throws Exception {
+        Project project = createProject();
+        byte[] content = ("retried " + UUID.randomUUID()).repeat(200).getBytes(StandardCharsets.UTF_8);
+        String uploadId = resumableUploadService.create(project.getId(), "retried.bin", null, content.length).getUploadId();
+        append(project, uploadId, 0, content);
+
+        // Fails the transaction that records the asset, after its object was written.
+        doThrow(new IllegalStateException("database unavailable")).when(projectRepository).findById(project.getId());
+        assertThatThrownBy(() -> resumableUploadService.complete(project.getId(), uploadId))
+                .isInstanceOf(IllegalStateException.class);
+        reset(projectRepository);
+
+        assertThat(resumableUploadService.status(project.getId(), uploadId).getReceivedBytes()).isEqualTo(content.length);
+        assertThat(Files.readAllBytes(PART_DIR.resolve(uploadId + ".part"))).isEqualTo(content);
+        String digest = sha256(content);
+        assertThat(storageDeletionRepository.findAll())
+                .anyMatch(deletion -> deletion.getObjectName().startsWith(digest));
+
+        ProjectAsset asset = resumableUploadService.complete(project.getId(), uploadId);
+        String objectName = projectAssetService.describeAsset(asset.getId(), null).storedName();
+        assertThat(Files.readAllBytes(UPLOAD_DIR.resolve(objectName))).isEqualTo(content);
+        assertThat(Files.exists(PART_DIR.resolve(uploadId + ".part"))).isFalse();
+    }
+
+    private UploadSession append(Project project, String uploadId, long offset, byte[] chunk) {
+        return resumableUploadService.appendChunk(project.getId(), uploadId, offset, new ByteArrayInputStream(chunk));
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+}
@@ -0,0 +1,70 @@
+package com.sloth.portfolio;
+
+import com.sloth.portfolio.domain.Project;
+import com.sloth.portfolio.domain.ProjectAsset;
+import com.sloth.portfolio.repo.ProjectAssetRepository;
+import com.sloth.portfolio.service.StorageOrphanReconciler;
+import com.sloth.portfolio.storage.AssetStorage;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StorageOrphanReconcilerTests extends AssetTestSupport {
+
+    @Autowired
+    private AssetStorage assetStorage;
+
+    @Autowired
+    private ProjectAssetRepository projectAssetRepository;
+
+    @Test
+    void deletesUnreferencedObjectsAndKeepsLiveOnesWithTheirDerivatives() {
+        Project project = createProject();
+        ProjectAsset asset = projectAssetService.upload(project.getId(), file("live.txt", "live " + UUID.randomUUID()));
+        String liveObject = projectAssetService.describeAsset(asset.getId(), null).storedName();
+        String liveDerivative = ProjectAsset.derivativeStoredName(liveObject, 320);
+        String orphan = "orphan-" + UUID.randomUUID() + ".bin";
+        String orphanDerivative = ProjectAsset.derivativeStoredName(orphan, 320);
+        put(liveDerivative);
+        put(orphan);
+        put(orphanDerivative);
+
+        StorageOrphanReconciler sweeping = new StorageOrphanReconciler(
+                assetStorage, projectAssetRepository, assetBlobRepository, projectAssetService, true, true, Duration.ZERO, 2);
+        StorageOrphanReconciler.ReconcileReport report = sweeping.reconcile();
+
+        assertThat(report.deleted()).isGreaterThanOrEqualTo(2);
+        assertThat(assetStorage.exists(liveObject)).isTrue();
+        assertThat(assetStorage.exists(liveDerivative)).isTrue();
+        assertThat(assetStorage.exists(orphan)).isFalse();
+        assertThat(assetStorage.exists(orphanDerivative)).isFalse();
+    }
+
+    @Test
+    void leavesRecentObjectsAloneAndOnlyReportsWhenDeletionIsOff() {
+        String recent = "recent-" + UUID.randomUUID() + ".bin";
+        put(recent);
+        StorageOrphanReconciler patient = new StorageOrphanReconciler(
+                assetStorage, projectAssetRepository, assetBlobRepository, projectAssetService, true, true, Duration.ofHours(1), 10);
+        patient.reconcile();
+        assertThat(assetStorage.exists(recent)).isTrue();
+
+        StorageOrphanReconciler reportOnly = new StorageOrphanReconciler(
+                assetStorage, projectAssetRepository, assetBlobRepository, projectAssetService, true, false, Duration.ZERO, 10);
+        StorageOrphanReconciler.ReconcileReport report = reportOnly.reconcile();
+        assertThat(report.orphans()).isPositive();
+        assertThat(report.deleted()).isZero();
+        assertThat(assetStorage.exists(recent)).isTrue();
+    }
+
+    private void put(String objectName) {
+        byte[] bytes = objectName.getBytes(StandardCharsets.UTF_8);
+        assetStorage.put(objectName, new ByteArrayResource(bytes), bytes.length, "application/octet-stream");
+    }
+}
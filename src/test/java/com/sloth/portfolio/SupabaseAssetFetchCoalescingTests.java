@@ -0,0 +1,176 @@
+package com.sloth.portfolio;
+
+import com.sloth.portfolio.service.ProjectAssetService;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpRange;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SupabaseAssetFetchCoalescingTests {
+
+    private static final byte[] BODY = "coalesced body ".repeat(2000).getBytes(StandardCharsets.UTF_8);
+    private static final Map<String, AtomicInteger> REQUESTS = new ConcurrentHashMap<>();
+    private static final HttpServer STORAGE = startStorage();
+
+    @TempDir
+    static Path cacheDir;
+
+    @DynamicPropertySource
+    static void uploadProperties(DynamicPropertyRegistry registry) {
+        registry.add("app.upload.provider", () -> "supabase");
+        registry.add("app.upload.supabase.url", () -> "http://localhost:" + STORAGE.getAddress().getPort());
+        registry.add("app.upload.supabase.bucket", () -> "assets");
+        registry.add("app.upload.supabase.service-role-key", () -> "test-key");
+        registry.add("app.upload.cache.dir", cacheDir::toString);
+    }
+
+    @AfterAll
+    static void stopStorage() {
+        STORAGE.stop(0);
+    }
+
+    @Autowired
+    private ProjectAssetService projectAssetService;
+
+    @Test
+    void concurrentMissesShareOneUpstreamFetch() throws Exception {
+        List<byte[]> bodies = openConcurrently("herd.bin", List.of());
+
+        assertThat(REQUESTS.get("herd.bin")).hasValue(1);
+        assertThat(bodies).hasSize(16).allSatisfy(body -> assertThat(body).isEqualTo(BODY));
+    }
+
+    @Test
+    void rangeMissesJoinTheSharedFetchWhenTheObjectFitsTheCache() throws Exception {
+        List<byte[]> bodies = openConcurrently("video.bin", HttpRange.parseRanges("bytes=0-99"));
+
+        assertThat(REQUESTS.get("video.bin")).hasValue(1);
+        assertThat(bodies).allSatisfy(body -> assertThat(body).isEqualTo(BODY));
+    }
+
+    @Test
+    void upstreamNotFoundIsSharedWithWaiters() throws Exception {
+        List<Future<byte[]>> results = openConcurrentlyAndWait("missing.bin", List.of());
+
+        assertThat(REQUESTS.get("missing.bin")).hasValue(1);
+        assertThat(results).allSatisfy(result -> assertThatThrownBy(result::get)
+                .hasCauseInstanceOf(ProjectAssetService.NotFoundException.class));
+    }
+
+    @Test
+    void integrityDigestsReadStorageAndLeaveTheCacheAlone() throws Exception {
+        String expected = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(BODY));
+
+        assertThat(projectAssetService.digestStoredObject("checked.bin")).isEqualTo(expected);
+        openConcurrently("checked.bin", List.of());
+        assertThat(projectAssetService.digestStoredObject("checked.bin")).isEqualTo(expected);
+
+        // Neither digest filled nor used the cache: one fetch each, plus the one the readers shared.
+        assertThat(REQUESTS.get("checked.bin")).hasValue(3);
+    }
+
+    private List<byte[]> openConcurrently(String storedName, List<HttpRange> ranges) throws Exception {
+        List<byte[]> bodies = new ArrayList<>();
+        for (Future<byte[]> future : openConcurrentlyAndWait(storedName, ranges)) {
+            bodies.add(future.get());
+        }
+        return bodies;
+    }
+
+    private List<Future<byte[]>> openConcurrentlyAndWait(String storedName, List<HttpRange> ranges) throws Exception {
+        int callers = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Callable<byte[]>> tasks = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                tasks.add(() -> {
+                    start.await();
+                    try (ProjectAssetService.AssetFile file = projectAssetService.openAsset(metadata(storedName), ranges);
+                         InputStream in = file.resource().getInputStream()) {
+                        return in.readAllBytes();
+                    }
+                });
+            }
+            List<Future<byte[]>> futures = new ArrayList<>();
+            for (Callable<byte[]> task : tasks) {
+                futures.add(executor.submit(task));
+            }
+            start.countDown();
+            executor.shutdown();
+            assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+            return futures;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ProjectAssetService.AssetMetadata metadata(String storedName) {
+        return new ProjectAssetService.AssetMetadata(storedName, storedName, "application/octet-stream", false, BODY.length, Instant.now(), null);
+    }
+
+    private static HttpServer startStorage() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.createContext("/storage/v1/object/assets/", exchange -> {
+                String path = exchange.getRequestURI().getPath();
+                String name = path.substring(path.lastIndexOf('/') + 1);
+                REQUESTS.computeIfAbsent(name, key -> new AtomicInteger()).incrementAndGet();
+                try {
+                    // Slow enough that every concurrent caller arrives while the first fetch is in flight.
+                    Thread.sleep(300);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (name.startsWith("missing")) {
+                    exchange.sendResponseHeaders(404, -1);
+                    exchange.close();
+                    return;
+                }
+                exchange.getResponseHeaders().add("Content-Type", "application/octet-stream");
+                exchange.sendResponseHeaders(200, BODY.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(BODY);
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.sloth.portfolio.service;
+
+import com.sloth.portfolio.storage.AssetStorage;
+import com.sloth.portfolio.storage.InMemoryAssetStorage;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AssetRedirectServiceTests {
+
+    private static final ProjectAssetService.AssetMetadata IMAGE = new ProjectAssetService.AssetMetadata(
+            "abc.png", "photo.png", "image/png", true, 10, Instant.now(), null);
+    private static final ProjectAssetService.AssetMetadata ATTACHMENT = new ProjectAssetService.AssetMetadata(
+            "def.bin", "firmware v2.bin", "application/octet-stream", false, 10, Instant.now(), null);
+
+    @Test
+    void streamsWhenDisabledOrWhenStorageCannotSign() {
+        AssetRedirectService disabled = new AssetRedirectService(
+                new SigningStorage(), false, Duration.ofMinutes(15), Duration.ofMinutes(2), 16, "", "");
+        AssetRedirectService unsigned = new AssetRedirectService(
+                new InMemoryAssetStorage(), true, Duration.ofMinutes(15), Duration.ofMinutes(2), 16, "", "");
+
+        assertThat(disabled.redirectFor(IMAGE)).isEmpty();
+        assertThat(unsigned.redirectFor(IMAGE)).isEmpty();
+    }
+
+    @Test
+    void cachesStorageSignedUrlsUntilShortlyBeforeTheyExpire() {
+        SigningStorage storage = new SigningStorage();
+        AssetRedirectService service = new AssetRedirectService(
+                storage, true, Duration.ofMinutes(15), Duration.ofMinutes(2), 16, "", "");
+
+        AssetRedirectService.Redirect first = service.redirectFor(IMAGE).orElseThrow();
+        AssetRedirectService.Redirect second = service.redirectFor(IMAGE).orElseThrow();
+
+        assertThat(second.location()).isEqualTo(first.location());
+        assertThat(storage.signCalls.get()).isEqualTo(1);
+        assertThat(first.maxAgeSeconds()).isBetween(12 * 60L, 13 * 60L);
+
+        service.redirectFor(ATTACHMENT);
+        assertThat(storage.lastDownloadName).isEqualTo("firmware v2.bin");
+    }
+
+    @Test
+    void signsCdnUrlsWithHmac() throws Exception {
+        AssetRedirectService service = new AssetRedirectService(
+                new InMemoryAssetStorage(), true, Duration.ofMinutes(15), Duration.ofMinutes(2), 16, "https://cdn.example.com/", "secret");
+
+        URI location = service.redirectFor(ATTACHMENT).orElseThrow().location();
+
+        assertThat(location.getPath()).isEqualTo("/def.bin");
+        String expires = location.getQuery().replaceAll(".*expires=(\\d+).*", "$1");
+        assertThat(Long.parseLong(expires)).isGreaterThan(Instant.now().getEpochSecond());
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec("secret".getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        String signature = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(mac.doFinal(("/def.bin:" + expires).getBytes(StandardCharsets.UTF_8)));
+        assertThat(location.getRawQuery())
+                .isEqualTo("expires=" + expires + "&signature=" + signature + "&download=firmware%20v2.bin");
+    }
+
+    private static final class SigningStorage extends InMemoryAssetStorage {
+
+        private final AtomicInteger signCalls = new AtomicInteger();
+        private volatile String lastDownloadName;
+
+        @Override
+        public Optional<SignedUrl> signedUrl(String objectName, Duration ttl, String downloadName) {
+            signCalls.incrementAndGet();
+            lastDownloadName = downloadName;
+            return Optional.of(new AssetStorage.SignedUrl(
+                    URI.create("https://storage.example.com/" + objectName + "?token=" + signCalls.get()),
+                    Instant.now().plus(ttl)
+            ));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.sloth.portfolio.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTests {
+
+    @Test
+    void neverRejectsAnAddedKey() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("name:" + i + "-asset.png");
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("name:" + i + "-asset.png")).isTrue();
+        }
+    }
+
+    @Test
+    void keepsFalsePositivesNearTheConfiguredRate() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("id:" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("absent:" + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+        assertThat(filter.expectedFalsePositiveRate()).isBetween(0.005, 0.02);
+    }
+}
@@ -0,0 +1,51 @@
+package com.sloth.portfolio.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BlurHashTests {
+
+    private static final String BASE83 =
+            "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz#$%*+,-.:;=?@[]^_{|}~";
+
+    @Test
+    void encodesSizeFlagAndAverageColor() {
+        BufferedImage image = new BufferedImage(8, 6, BufferedImage.TYPE_INT_RGB);
+        fill(image, new Color(255, 0, 0), 0, 8);
+
+        String hash = BlurHash.encode(image, 4, 3);
+
+        // "L" is (4 - 1) + (3 - 1) * 9; "TI:j" is the average color 0xFF0000 in four base83 digits.
+        assertThat(hash).hasSize(2 + 4 + 2 * 11).startsWith("L");
+        assertThat(hash.substring(2, 6)).isEqualTo("TI:j");
+    }
+
+    @Test
+    void contrastRaisesTheAcMaximum() {
+        BufferedImage flat = new BufferedImage(32, 16, BufferedImage.TYPE_INT_RGB);
+        fill(flat, Color.GRAY, 0, 32);
+        BufferedImage split = new BufferedImage(32, 16, BufferedImage.TYPE_INT_RGB);
+        fill(split, Color.BLACK, 0, 16);
+        fill(split, Color.WHITE, 16, 32);
+
+        String flatHash = BlurHash.encode(flat, 4, 3);
+        String splitHash = BlurHash.encode(split, 4, 3);
+
+        assertThat(BASE83.indexOf(splitHash.charAt(1))).isGreaterThan(BASE83.indexOf(flatHash.charAt(1)));
+    }
+
+    private static void fill(BufferedImage image, Color color, int fromX, int toX) {
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setColor(color);
+            graphics.fillRect(fromX, 0, toX - fromX, image.getHeight());
+        } finally {
+            graphics.dispose();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.sloth.portfolio.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpiringLruCacheTests {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void evictsLeastRecentlyUsedEntryWhenFull() {
+        ExpiringLruCache<String, String> cache = new ExpiringLruCache<>(2, Duration.ofMinutes(1), now::get);
+        cache.put("a", "A");
+        cache.put("b", "B");
+        cache.get("a");
+        cache.put("c", "C");
+
+        assertThat(cache.get("a")).isEqualTo("A");
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("c")).isEqualTo("C");
+    }
+
+    @Test
+    void expiresEntriesAfterTheirTimeToLive() {
+        ExpiringLruCache<String, String> cache = new ExpiringLruCache<>(10, Duration.ofSeconds(10), now::get);
+        cache.put("a", "A");
+        cache.put("b", "B", Duration.ofSeconds(30));
+
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.get("b")).isEqualTo("B");
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void storesNothingWhenDisabled() {
+        ExpiringLruCache<String, String> cache = new ExpiringLruCache<>(0, Duration.ofMinutes(1), now::get);
+        cache.put("a", "A");
+
+        assertThat(cache.get("a")).isNull();
+    }
+}
@@ -0,0 +1,92 @@
+package com.sloth.portfolio.service;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageDerivativeGeneratorTests {
+
+    private final ImageDerivativeGenerator generator = new ImageDerivativeGenerator(true, List.of(1280, 320, 640), 40_000_000, true);
+
+    @Test
+    void producesOnlyWidthsNarrowerThanSource() throws IOException {
+        List<ImageDerivativeGenerator.ImageDerivative> derivatives = generator.analyze(image(1000, 500, "png"), "image/png").derivatives();
+
+        assertThat(derivatives).extracting(ImageDerivativeGenerator.ImageDerivative::width).containsExactly(320, 640);
+        assertThat(derivatives).extracting(ImageDerivativeGenerator.ImageDerivative::height).containsExactly(160, 320);
+
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(derivatives.get(1).bytes()));
+        assertThat(decoded.getWidth()).isEqualTo(640);
+        assertThat(decoded.getHeight()).isEqualTo(320);
+        assertThat(derivatives.get(1).contentType()).isEqualTo("image/png");
+    }
+
+    @Test
+    void encodesJpegSourcesAsJpeg() throws IOException {
+        List<ImageDerivativeGenerator.ImageDerivative> derivatives = generator.analyze(image(800, 600, "jpeg"), "image/jpeg").derivatives();
+
+        assertThat(derivatives).extracting(ImageDerivativeGenerator.ImageDerivative::contentType).containsOnly("image/jpeg");
+    }
+
+    @Test
+    void encodesInTheStoredContentTypeRatherThanTheDecodedFormat() throws IOException {
+        List<ImageDerivativeGenerator.ImageDerivative> mislabelled = generator.analyze(image(800, 600, "png"), "image/jpeg").derivatives();
+        List<ImageDerivativeGenerator.ImageDerivative> unlabelled = generator.analyze(image(800, 600, "jpeg"), null).derivatives();
+
+        assertThat(mislabelled).isNotEmpty().extracting(ImageDerivativeGenerator.ImageDerivative::contentType).containsOnly("image/jpeg");
+        assertThat(formatOf(mislabelled.get(0).bytes())).isEqualTo("jpeg");
+        assertThat(unlabelled).isNotEmpty().extracting(ImageDerivativeGenerator.ImageDerivative::contentType).containsOnly("image/jpeg");
+        assertThat(formatOf(unlabelled.get(0).bytes())).isEqualTo("jpeg");
+    }
+
+    @Test
+    void skipsUnsupportedFormatsAndOversizedSources() throws IOException {
+        ImageDerivativeGenerator limited = new ImageDerivativeGenerator(true, List.of(320), 100_000, true);
+
+        assertThat(generator.analyze(image(1000, 500, "png"), "image/gif").derivatives()).isEmpty();
+        assertThat(limited.analyze(image(1000, 500, "png"), "image/png").derivatives()).isEmpty();
+    }
+
+    @Test
+    void analysisReportsDimensionsAndPlaceholder() throws IOException {
+        ImageDerivativeGenerator.ImageAnalysis analysis = generator.analyze(image(1000, 500, "png"), "image/png");
+
+        assertThat(analysis.width()).isEqualTo(1000);
+        assertThat(analysis.height()).isEqualTo(500);
+        assertThat(analysis.placeholder()).hasSize(28);
+        assertThat(analysis.derivatives()).hasSize(2);
+    }
+
+    @Test
+    void oversizedSourcesStillReportDimensions() throws IOException {
+        ImageDerivativeGenerator limited = new ImageDerivativeGenerator(true, List.of(320), 100_000, true);
+
+        ImageDerivativeGenerator.ImageAnalysis analysis = limited.analyze(image(1000, 500, "png"), "image/png");
+
+        assertThat(analysis.width()).isEqualTo(1000);
+        assertThat(analysis.placeholder()).isNull();
+        assertThat(analysis.derivatives()).isEmpty();
+    }
+
+    private static String formatOf(byte[] bytes) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+            return ImageIO.getImageReaders(in).next().getFormatName().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static ByteArrayInputStream image(int width, int height, String format) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+}
@@ -0,0 +1,38 @@
+package com.sloth.portfolio.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MarkdownRendererTests {
+
+    private final MarkdownRenderer renderer = new MarkdownRenderer();
+
+    @Test
+    void rendersGfmAndKeepsSingleLineBreaks() {
+        String html = renderer.render("""
+                | a | b |
+                |---|---|
+                | 1 | 2 |
+
+                ~~old~~ line one
+                line two
+                """);
+
+        assertThat(html).contains("<table>", "<td>1</td>", "<del>old</del>", "line one<br />\nline two");
+    }
+
+    @Test
+    void escapesRawHtmlAndDropsUnsafeLinks() {
+        String html = renderer.render("<script>alert(1)</script>\n\n[click](javascript:alert(1)) ![x](/api/public/assets/file/a.png)");
+
+        assertThat(html).doesNotContain("<script>", "javascript:");
+        assertThat(html).contains("&lt;script&gt;", "src=\"/api/public/assets/file/a.png\"");
+    }
+
+    @Test
+    void hashesTheSource() {
+        assertThat(MarkdownRenderer.hash("# title")).hasSize(64).isEqualTo(MarkdownRenderer.hash("# title"));
+        assertThat(MarkdownRenderer.hash("# title")).isNotEqualTo(MarkdownRenderer.hash("# title "));
+    }
+}
@@ -0,0 +1,73 @@
+package com.sloth.portfolio.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AssetDiskCacheTests {
+
+    @TempDir
+    Path cacheDir;
+
+    @Test
+    void evictsLeastRecentlyUsedEntryWhenBudgetIsExceeded() throws IOException {
+        AssetDiskCache cache = new AssetDiskCache(cacheDir, 10, 10);
+        cache.fill("1-a.png", body(4), 4);
+        cache.fill("1-b.png", body(4), 4);
+        assertThat(cache.find("1-a.png")).isNotNull();
+
+        cache.fill("1-c.png", body(4), 4);
+
+        assertThat(cache.find("1-b.png")).isNull();
+        assertThat(cache.find("1-a.png")).isNotNull();
+        assertThat(cache.find("1-c.png")).isNotNull();
+        assertThat(cache.totalBytes()).isEqualTo(8);
+        assertThat(Files.exists(cacheDir.resolve("1-b.png"))).isFalse();
+    }
+
+    @Test
+    void rebuildsIndexFromDirectoryAndDropsUnfinishedFills() throws IOException {
+        AssetDiskCache first = new AssetDiskCache(cacheDir, 100, 100);
+        first.fill("1-a.png", body(5), 5);
+        Files.write(cacheDir.resolve(".fill-123.part"), new byte[3]);
+
+        AssetDiskCache restarted = new AssetDiskCache(cacheDir, 100, 100);
+
+        assertThat(restarted.find("1-a.png")).isEqualTo(cacheDir.resolve("1-a.png"));
+        assertThat(restarted.totalBytes()).isEqualTo(5);
+        assertThat(Files.exists(cacheDir.resolve(".fill-123.part"))).isFalse();
+    }
+
+    @Test
+    void rejectsTruncatedBodyWithoutLeavingPartialEntry() throws IOException {
+        AssetDiskCache cache = new AssetDiskCache(cacheDir, 100, 100);
+
+        assertThatThrownBy(() -> cache.fill("1-a.png", body(3), 5)).isInstanceOf(IOException.class);
+
+        assertThat(cache.find("1-a.png")).isNull();
+        try (var listing = Files.list(cacheDir)) {
+            assertThat(listing).isEmpty();
+        }
+    }
+
+    @Test
+    void refusesEntriesLargerThanEntryLimitOrOutsideCacheDirectory() {
+        AssetDiskCache cache = new AssetDiskCache(cacheDir, 100, 10);
+
+        assertThat(cache.accepts("1-a.png", 10)).isTrue();
+        assertThat(cache.accepts("1-a.png", 11)).isFalse();
+        assertThat(cache.accepts("../1-a.png", 1)).isFalse();
+        assertThat(cache.accepts(".fill-1.part", 1)).isFalse();
+    }
+
+    private static ByteArrayInputStream body(int length) {
+        return new ByteArrayInputStream(new byte[length]);
+    }
+}
@@ -0,0 +1,137 @@
+package com.sloth.portfolio.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpRange;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Behaviour every {@link AssetStorage} backend and decorator must share. Subclasses only supply the
+ * storage under test.
+ */
+abstract class AssetStorageContractTests {
+
+    private static final byte[] BODY = "0123456789abcdefghijklmnopqrstuvwxyz".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+    protected AssetStorage storage;
+
+    protected abstract AssetStorage createStorage() throws Exception;
+
+    @BeforeEach
+    void setUpStorage() throws Exception {
+        storage = createStorage();
+    }
+
+    @Test
+    void getReturnsWhatWasPut() throws IOException {
+        put("object.bin", BODY);
+
+        try (AssetStorage.StoredObject object = storage.get("object.bin")) {
+            assertThat(object.rangeStart()).isZero();
+            assertThat(object.totalLength()).isEqualTo(BODY.length);
+            assertThat(read(object)).isEqualTo(BODY);
+        }
+    }
+
+    @Test
+    void putReplacesAnExistingObject() throws IOException {
+        put("object.bin", BODY);
+        put("object.bin", "replaced".getBytes(StandardCharsets.UTF_8));
+
+        try (AssetStorage.StoredObject object = storage.get("object.bin")) {
+            assertThat(new String(read(object), StandardCharsets.UTF_8)).isEqualTo("replaced");
+        }
+    }
+
+    @Test
+    void rangeReturnsBytesCoveringTheRequest() throws IOException {
+        put("object.bin", BODY);
+
+        for (String header : List.of("bytes=100-199", "bytes=3000-", "bytes=-50", "bytes=10-19,500-509")) {
+            List<HttpRange> ranges = HttpRange.parseRanges(header);
+            try (AssetStorage.StoredObject object = storage.range("object.bin", ranges, BODY.length)) {
+                byte[] bytes = read(object);
+                long start = object.rangeStart();
+                assertThat(object.totalLength()).as(header).isEqualTo(BODY.length);
+                assertThat(bytes).as(header).isEqualTo(Arrays.copyOfRange(BODY, (int) start, (int) start + bytes.length));
+                for (HttpRange range : ranges) {
+                    assertThat(start).as(header).isLessThanOrEqualTo(range.getRangeStart(BODY.length));
+                    assertThat(start + bytes.length - 1).as(header).isGreaterThanOrEqualTo(range.getRangeEnd(BODY.length));
+                }
+            }
+        }
+    }
+
+    @Test
+    void missingObjectsAreNotFound() {
+        assertThatThrownBy(() -> storage.get("missing.bin")).isInstanceOf(AssetStorage.ObjectNotFoundException.class);
+        assertThatThrownBy(() -> storage.range("missing.bin", HttpRange.parseRanges("bytes=0-9"), -1))
+                .isInstanceOf(AssetStorage.ObjectNotFoundException.class);
+        assertThat(storage.exists("missing.bin")).isFalse();
+        assertThat(storage.stat("missing.bin")).isEmpty();
+    }
+
+    @Test
+    void namesOutsideTheStoreAreNotFound() {
+        assertThatThrownBy(() -> storage.get("../escape.bin")).isInstanceOf(AssetStorage.ObjectNotFoundException.class);
+        assertThatThrownBy(() -> storage.get(" ")).isInstanceOf(AssetStorage.ObjectNotFoundException.class);
+        assertThat(storage.exists("../escape.bin")).isFalse();
+        assertThatThrownBy(() -> put("../escape.bin", BODY)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void statReportsSizeOfStoredObject() {
+        put("object.bin", BODY);
+
+        assertThat(storage.exists("object.bin")).isTrue();
+        assertThat(storage.stat("object.bin")).hasValueSatisfying(stat -> assertThat(stat.size()).isEqualTo(BODY.length));
+    }
+
+    @Test
+    void deleteRemovesObjectsAndSkipsMissingOnes() {
+        put("one.bin", BODY);
+        put("two.bin", BODY);
+
+        storage.delete(List.of("one.bin", "missing.bin"));
+
+        assertThat(storage.exists("one.bin")).isFalse();
+        assertThat(storage.exists("two.bin")).isTrue();
+        assertThatThrownBy(() -> storage.get("one.bin")).isInstanceOf(AssetStorage.ObjectNotFoundException.class);
+    }
+
+    @Test
+    void listReturnsEveryStoredObject() {
+        put("one.bin", BODY);
+        put("two.bin", new byte[]{1, 2, 3});
+
+        try (Stream<AssetStorage.ObjectEntry> listing = storage.list()) {
+            assertThat(listing.toList())
+                    .extracting(AssetStorage.ObjectEntry::name, AssetStorage.ObjectEntry::size)
+                    .containsExactlyInAnyOrder(
+                            tuple("one.bin", (long) BODY.length),
+                            tuple("two.bin", 3L)
+                    );
+        }
+    }
+
+    protected void put(String objectName, byte[] bytes) {
+        storage.put(objectName, new ByteArrayResource(bytes), bytes.length, "application/octet-stream");
+    }
+
+    protected static byte[] read(AssetStorage.StoredObject object) throws IOException {
+        try (InputStream in = object.body().getInputStream()) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.sloth.portfolio.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpRange;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingAssetStorageTests extends AssetStorageContractTests {
+
+    @TempDir
+    Path cacheDir;
+
+    private StorageApiStandIn standIn;
+
+    @Override
+    protected AssetStorage createStorage() {
+        standIn = new StorageApiStandIn("assets", "test-key");
+        return new CachingAssetStorage(
+                new SupabaseAssetStorage(standIn.url(), "assets", "test-key"),
+                cacheDir,
+                1024 * 1024,
+                64 * 1024,
+                Duration.ofSeconds(5)
+        );
+    }
+
+    @AfterEach
+    void stopStandIn() {
+        standIn.close();
+    }
+
+    @Test
+    void repeatedReadsAreServedFromTheCache() throws IOException {
+        put("object.bin", new byte[]{1, 2, 3});
+        int requestsAfterPut = standIn.requestCount();
+
+        for (int i = 0; i < 3; i++) {
+            try (AssetStorage.StoredObject object = storage.get("object.bin")) {
+                assertThat(read(object)).containsExactly(1, 2, 3);
+            }
+        }
+        try (AssetStorage.StoredObject object = storage.range("object.bin", HttpRange.parseRanges("bytes=1-1"), -1)) {
+            assertThat(object.rangeStart()).isZero();
+        }
+
+        assertThat(standIn.requestCount() - requestsAfterPut).isEqualTo(1);
+    }
+
+    @Test
+    void cachedBodyStaysReadableWhenItsEntryIsEvicted() throws IOException {
+        put("evicted.bin", new byte[]{4, 5, 6});
+        storage.get("evicted.bin").close();
+
+        try (AssetStorage.StoredObject object = storage.get("evicted.bin")) {
+            storage.delete(List.of("evicted.bin"));
+
+            assertThat(object.body().isFile()).isFalse();
+            assertThat(read(object)).containsExactly(4, 5, 6);
+        }
+    }
+
+    @Test
+    void rangeMissOnAnObjectTooLargeToCacheIsPassedThrough() throws IOException {
+        put("large.bin", new byte[128 * 1024]);
+
+        try (AssetStorage.StoredObject object = storage.range("large.bin", HttpRange.parseRanges("bytes=10-19"), 128 * 1024)) {
+            assertThat(object.rangeStart()).isEqualTo(10);
+            assertThat(read(object)).hasSize(10);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.sloth.portfolio.storage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CircuitBreakingAssetStorageTests extends AssetStorageContractTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong nanos = new AtomicLong();
+    private StorageApiStandIn standIn;
+    private CircuitBreakingAssetStorage breaker;
+
+    @Override
+    protected AssetStorage createStorage() {
+        standIn = new StorageApiStandIn("assets", "test-key");
+        breaker = new CircuitBreakingAssetStorage(
+                new SupabaseAssetStorage(standIn.url(), "assets", "test-key"),
+                3,
+                Duration.ofSeconds(30),
+                meterRegistry,
+                nanos::get
+        );
+        return breaker;
+    }
+
+    @AfterEach
+    void stopStandIn() {
+        standIn.close();
+    }
+
+    @Test
+    void opensAfterConsecutiveFailuresAndFailsFast() {
+        put("object.bin", new byte[]{1});
+        standIn.failNextRequests(3);
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> storage.get("object.bin")).isInstanceOf(AssetStorage.StorageAccessException.class);
+        }
+        assertThat(breaker.state()).isEqualTo(CircuitBreakingAssetStorage.State.OPEN);
+        int before = standIn.requestCount();
+
+        assertThatThrownBy(() -> storage.get("object.bin"))
+                .isInstanceOfSatisfying(AssetStorage.StorageAccessException.class, e -> assertThat(e.isRetryable()).isFalse());
+        assertThat(standIn.requestCount()).isEqualTo(before);
+        assertThat(meterRegistry.get("asset.storage.circuit.state").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void missingObjectsDoNotCountAsFailures() {
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> storage.get("missing.bin")).isInstanceOf(AssetStorage.ObjectNotFoundException.class);
+        }
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreakingAssetStorage.State.CLOSED);
+    }
+
+    @Test
+    void probeAfterOpenDurationClosesOrReopensTheCircuit() {
+        put("object.bin", new byte[]{1});
+        standIn.failNextRequests(4);
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> storage.get("object.bin")).isInstanceOf(AssetStorage.StorageAccessException.class);
+        }
+
+        nanos.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertThat(breaker.state()).isEqualTo(CircuitBreakingAssetStorage.State.HALF_OPEN);
+        assertThatThrownBy(() -> storage.get("object.bin")).isInstanceOf(AssetStorage.StorageAccessException.class);
+        assertThat(breaker.state()).isEqualTo(CircuitBreakingAssetStorage.State.OPEN);
+
+        nanos.addAndGet(Duration.ofSeconds(30).toNanos());
+        storage.get("object.bin").close();
+        assertThat(breaker.state()).isEqualTo(CircuitBreakingAssetStorage.State.CLOSED);
+    }
+}
@@ -0,0 +1,97 @@
+package com.sloth.portfolio.storage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HedgingAssetStorageTests extends AssetStorageContractTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private StorageApiStandIn standIn;
+    private HedgingAssetStorage hedging;
+
+    @Override
+    protected AssetStorage createStorage() {
+        standIn = new StorageApiStandIn("assets", "test-key");
+        hedging = new HedgingAssetStorage(
+                new SupabaseAssetStorage(standIn.url(), "assets", "test-key"),
+                Duration.ofMillis(100),
+                Duration.ofMillis(500),
+                8,
+                meterRegistry
+        );
+        return hedging;
+    }
+
+    @AfterEach
+    void stopStandIn() {
+        hedging.close();
+        standIn.close();
+    }
+
+    @Test
+    void fastReadsSendOneRequest() throws IOException {
+        put("object.bin", new byte[]{1, 2});
+        int before = standIn.requestCount();
+
+        try (AssetStorage.StoredObject object = storage.get("object.bin")) {
+            assertThat(read(object)).containsExactly(1, 2);
+        }
+        assertThat(standIn.requestCount() - before).isEqualTo(1);
+        assertThat(hedgedRequests()).isZero();
+    }
+
+    @Test
+    void slowReadsAreHedged() throws IOException {
+        put("object.bin", new byte[]{1, 2});
+        standIn.delayResponses(300);
+        int before = standIn.requestCount();
+
+        try (AssetStorage.StoredObject object = storage.get("object.bin")) {
+            assertThat(read(object)).containsExactly(1, 2);
+        }
+        assertThat(standIn.requestCount() - before).isEqualTo(2);
+        assertThat(hedgedRequests()).isEqualTo(1);
+    }
+
+    @Test
+    void slowMissingObjectsStillFailAsNotFound() {
+        standIn.delayResponses(300);
+
+        assertThatThrownBy(() -> storage.get("missing.bin")).isInstanceOf(AssetStorage.ObjectNotFoundException.class);
+    }
+
+    @Test
+    void hedgedReadsGiveUpAfterTheReadTimeout() {
+        put("object.bin", new byte[]{1, 2});
+        standIn.delayResponses(2000);
+
+        assertThatThrownBy(() -> storage.get("object.bin"))
+                .isInstanceOf(AssetStorage.StorageAccessException.class)
+                .hasMessageContaining("Timed out");
+    }
+
+    @Test
+    void closingTheOutermostDecoratorStopsTheReadPool() {
+        AssetStorage stack = new CircuitBreakingAssetStorage(
+                new RetryingAssetStorage(hedging, 2, Duration.ofMillis(10)),
+                5,
+                Duration.ofSeconds(30),
+                meterRegistry
+        );
+
+        stack.close();
+
+        assertThat(hedging.isClosed()).isTrue();
+    }
+
+    private double hedgedRequests() {
+        return meterRegistry.get("asset.storage.hedged_requests").counter().count();
+    }
+}
@@ -0,0 +1,9 @@
+package com.sloth.portfolio.storage;
+
+class InMemoryAssetStorageTests extends AssetStorageContractTests {
+
+    @Override
+    protected AssetStorage createStorage() {
+        return new InMemoryAssetStorage();
+    }
+}
@@ -0,0 +1,30 @@
+package com.sloth.portfolio.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalAssetStorageTests extends AssetStorageContractTests {
+
+    @TempDir
+    Path root;
+
+    @Override
+    protected AssetStorage createStorage() {
+        return new LocalAssetStorage(root);
+    }
+
+    @Test
+    void readsAreServedFromTheFileItself() {
+        put("object.bin", new byte[]{1, 2, 3});
+
+        try (AssetStorage.StoredObject object = storage.get("object.bin")) {
+            assertThat(object.body()).isInstanceOf(FileSystemResource.class);
+            assertThat(((FileSystemResource) object.body()).getFile().toPath()).isEqualTo(root.resolve("object.bin"));
+        }
+    }
+}
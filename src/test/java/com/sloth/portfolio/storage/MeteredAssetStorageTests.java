@@ -0,0 +1,35 @@
+package com.sloth.portfolio.storage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MeteredAssetStorageTests extends AssetStorageContractTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Override
+    protected AssetStorage createStorage() {
+        return new MeteredAssetStorage(new InMemoryAssetStorage(), meterRegistry);
+    }
+
+    @Test
+    void recordsCallsByOperationAndOutcome() {
+        put("object.bin", new byte[]{1});
+        storage.get("object.bin").close();
+        assertThatThrownBy(() -> storage.get("missing.bin")).isInstanceOf(AssetStorage.ObjectNotFoundException.class);
+
+        assertThat(count("put", "success")).isEqualTo(1);
+        assertThat(count("get", "success")).isEqualTo(1);
+        assertThat(count("get", "not_found")).isEqualTo(1);
+    }
+
+    private long count(String operation, String outcome) {
+        return meterRegistry.get("asset.storage.requests")
+                .tags("backend", "memory", "operation", operation, "outcome", outcome)
+                .timer()
+                .count();
+    }
+}
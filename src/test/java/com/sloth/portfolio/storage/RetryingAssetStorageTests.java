@@ -0,0 +1,57 @@
+package com.sloth.portfolio.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RetryingAssetStorageTests extends AssetStorageContractTests {
+
+    private StorageApiStandIn standIn;
+
+    @Override
+    protected AssetStorage createStorage() {
+        standIn = new StorageApiStandIn("assets", "test-key");
+        return new RetryingAssetStorage(new SupabaseAssetStorage(standIn.url(), "assets", "test-key"), 3, Duration.ofMillis(1));
+    }
+
+    @AfterEach
+    void stopStandIn() {
+        standIn.close();
+    }
+
+    @Test
+    void retriesTransientFailuresUpToTheAttemptLimit() throws IOException {
+        put("object.bin", new byte[]{7});
+
+        standIn.failNextRequests(2);
+        try (AssetStorage.StoredObject object = storage.get("object.bin")) {
+            assertThat(read(object)).containsExactly(7);
+        }
+
+        standIn.failNextRequests(3);
+        assertThatThrownBy(() -> storage.get("object.bin")).isInstanceOf(AssetStorage.StorageAccessException.class);
+    }
+
+    @Test
+    void missingObjectsAreNotRetried() {
+        int before = standIn.requestCount();
+
+        assertThatThrownBy(() -> storage.get("missing.bin")).isInstanceOf(AssetStorage.ObjectNotFoundException.class);
+        assertThat(standIn.requestCount() - before).isEqualTo(1);
+    }
+
+    @Test
+    void rejectedRequestsAreNotRetried() {
+        AssetStorage wrongKey = new RetryingAssetStorage(
+                new SupabaseAssetStorage(standIn.url(), "assets", "wrong-key"), 3, Duration.ofMillis(1));
+        int before = standIn.requestCount();
+
+        assertThatThrownBy(() -> wrongKey.get("object.bin")).isInstanceOf(AssetStorage.StorageAccessException.class);
+        assertThat(standIn.requestCount() - before).isEqualTo(1);
+    }
+}
@@ -0,0 +1,264 @@
+package com.sloth.portfolio.storage;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-process stand-in for the Supabase Storage object API: upload ({@code POST}), download with single
+ * ranges ({@code GET}), {@code HEAD}, bulk delete, paged listing and signed URLs. Lets the remote backend run its contract tests without
+ * network access. {@link #failNextRequests} makes the next calls answer 503, {@link #delayResponses}
+ * holds every answer back and {@link #omitUnsatisfiedContentRange} drops the length from a 416.
+ */
+final class StorageApiStandIn implements AutoCloseable {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)");
+
+    private final HttpServer server;
+    private final String bucket;
+    private final String serviceRoleKey;
+    private final Map<String, StoredBody> objects = new ConcurrentHashMap<>();
+    private final AtomicInteger failuresToInject = new AtomicInteger();
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private volatile long responseDelayMillis;
+    private volatile boolean omitUnsatisfiedContentRange;
+
+    StorageApiStandIn(String bucket, String serviceRoleKey) {
+        this.bucket = bucket;
+        this.serviceRoleKey = serviceRoleKey;
+        try {
+            server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/storage/v1/object/" + bucket, this::handle);
+        server.createContext("/storage/v1/object/list/" + bucket, this::handleList);
+        server.createContext("/storage/v1/object/sign/" + bucket, this::handleSign);
+        server.start();
+    }
+
+    String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    void failNextRequests(int count) {
+        failuresToInject.set(count);
+    }
+
+    void delayResponses(long millis) {
+        responseDelayMillis = millis;
+    }
+
+    /**
+     * Answers unsatisfiable ranges with a bare 416, as some proxies in front of the API do.
+     */
+    void omitUnsatisfiedContentRange() {
+        omitUnsatisfiedContentRange = true;
+    }
+
+    int requestCount() {
+        return requestCount.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requestCount.incrementAndGet();
+            if (responseDelayMillis > 0) {
+                try {
+                    Thread.sleep(responseDelayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            if (!("Bearer " + serviceRoleKey).equals(exchange.getRequestHeaders().getFirst("Authorization"))) {
+                exchange.sendResponseHeaders(403, -1);
+                return;
+            }
+            if (failuresToInject.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+
+            String prefix = "/storage/v1/object/" + bucket;
+            String path = exchange.getRequestURI().getRawPath().substring(prefix.length());
+            String name = URLDecoder.decode(path.startsWith("/") ? path.substring(1) : path, StandardCharsets.UTF_8);
+            switch (exchange.getRequestMethod()) {
+                case "POST" -> upload(exchange, name);
+                case "GET" -> download(exchange, name);
+                case "HEAD" -> head(exchange, name);
+                case "DELETE" -> bulkDelete(exchange);
+                default -> exchange.sendResponseHeaders(405, -1);
+            }
+        }
+    }
+
+    private void handleList(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requestCount.incrementAndGet();
+            if (!("Bearer " + serviceRoleKey).equals(exchange.getRequestHeaders().getFirst("Authorization"))) {
+                exchange.sendResponseHeaders(403, -1);
+                return;
+            }
+            JsonNode request = JSON.readTree(exchange.getRequestBody());
+            int limit = request.path("limit").asInt(100);
+            int offset = request.path("offset").asInt(0);
+            List<Map<String, Object>> page = objects.keySet().stream()
+                    .sorted()
+                    .skip(offset)
+                    .limit(limit)
+                    .map(name -> {
+                        StoredBody object = objects.get(name);
+                        Map<String, Object> item = new LinkedHashMap<>();
+                        item.put("name", name);
+                        item.put("id", name);
+                        item.put("updated_at", object.storedAt().toString());
+                        item.put("metadata", Map.of("size", object.bytes().length));
+                        return item;
+                    })
+                    .toList();
+            sendJson(exchange, 200, page);
+        }
+    }
+
+    /**
+     * {@code POST} signs an object; {@code GET} with the issued token serves it without credentials.
+     */
+    private void handleSign(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requestCount.incrementAndGet();
+            String prefix = "/storage/v1/object/sign/" + bucket + "/";
+            String name = URLDecoder.decode(exchange.getRequestURI().getRawPath().substring(prefix.length()), StandardCharsets.UTF_8);
+            if ("GET".equals(exchange.getRequestMethod())) {
+                String query = exchange.getRequestURI().getRawQuery();
+                if (query == null || !query.contains("token=" + signToken(name))) {
+                    exchange.sendResponseHeaders(400, -1);
+                    return;
+                }
+                download(exchange, name);
+                return;
+            }
+            if (!("Bearer " + serviceRoleKey).equals(exchange.getRequestHeaders().getFirst("Authorization"))) {
+                exchange.sendResponseHeaders(403, -1);
+                return;
+            }
+            int expiresIn = JSON.readTree(exchange.getRequestBody()).path("expiresIn").asInt();
+            if (!objects.containsKey(name)) {
+                sendJson(exchange, 400, Map.of("statusCode", "404", "error", "not_found", "message", "Object not found"));
+                return;
+            }
+            sendJson(exchange, 200, Map.of("signedURL", "/object/sign/" + bucket + "/" + name + "?token=" + signToken(name) + "&e=" + expiresIn));
+        }
+    }
+
+    private static String signToken(String name) {
+        return Integer.toHexString(name.hashCode());
+    }
+
+    private void upload(HttpExchange exchange, String name) throws IOException {
+        byte[] bytes = exchange.getRequestBody().readAllBytes();
+        if (objects.containsKey(name) && !"true".equals(exchange.getRequestHeaders().getFirst("x-upsert"))) {
+            exchange.sendResponseHeaders(409, -1);
+            return;
+        }
+        objects.put(name, new StoredBody(bytes, exchange.getRequestHeaders().getFirst("Content-Type"), Instant.now()));
+        sendJson(exchange, 200, Map.of("Key", bucket + "/" + name));
+    }
+
+    private void download(HttpExchange exchange, String name) throws IOException {
+        StoredBody object = objects.get(name);
+        if (object == null) {
+            sendJson(exchange, 404, Map.of("error", "not_found"));
+            return;
+        }
+        byte[] bytes = object.bytes();
+        if (object.contentType() != null) {
+            exchange.getResponseHeaders().add("Content-Type", object.contentType());
+        }
+        String range = exchange.getRequestHeaders().getFirst("Range");
+        Matcher matcher = range == null ? null : RANGE.matcher(range.trim());
+        if (matcher == null || !matcher.matches()) {
+            send(exchange, 200, bytes);
+            return;
+        }
+
+        long start;
+        long end;
+        if (matcher.group(1).isEmpty()) {
+            long suffix = Long.parseLong(matcher.group(2));
+            start = Math.max(0, bytes.length - suffix);
+            end = bytes.length - 1;
+        } else {
+            start = Long.parseLong(matcher.group(1));
+            end = matcher.group(2).isEmpty() ? bytes.length - 1 : Math.min(bytes.length - 1, Long.parseLong(matcher.group(2)));
+        }
+        if (start >= bytes.length || start > end) {
+            if (!omitUnsatisfiedContentRange) {
+                exchange.getResponseHeaders().add("Content-Range", "bytes */" + bytes.length);
+            }
+            exchange.sendResponseHeaders(416, -1);
+            return;
+        }
+        exchange.getResponseHeaders().add("Content-Range", "bytes " + start + "-" + end + "/" + bytes.length);
+        send(exchange, 206, Arrays.copyOfRange(bytes, (int) start, (int) end + 1));
+    }
+
+    private void head(HttpExchange exchange, String name) throws IOException {
+        StoredBody object = objects.get(name);
+        if (object == null) {
+            exchange.sendResponseHeaders(404, -1);
+            return;
+        }
+        if (object.contentType() != null) {
+            exchange.getResponseHeaders().add("Content-Type", object.contentType());
+        }
+        exchange.getResponseHeaders().add("Content-Length", String.valueOf(object.bytes().length));
+        exchange.sendResponseHeaders(200, -1);
+    }
+
+    private void bulkDelete(HttpExchange exchange) throws IOException {
+        JsonNode request = JSON.readTree(exchange.getRequestBody());
+        request.path("prefixes").forEach(prefix -> objects.remove(prefix.asText()));
+        sendJson(exchange, 200, Map.of());
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, Object body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        send(exchange, status, JSON.writeValueAsBytes(body));
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private record StoredBody(byte[] bytes, String contentType, Instant storedAt) {
+    }
+}
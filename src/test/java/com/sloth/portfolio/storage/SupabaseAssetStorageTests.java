@@ -0,0 +1,109 @@
+package com.sloth.portfolio.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpRange;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SupabaseAssetStorageTests extends AssetStorageContractTests {
+
+    private StorageApiStandIn standIn;
+
+    @Override
+    protected AssetStorage createStorage() {
+        standIn = new StorageApiStandIn("assets", "test-key");
+        return new SupabaseAssetStorage(standIn.url(), "assets", "test-key");
+    }
+
+    @AfterEach
+    void stopStandIn() {
+        standIn.close();
+    }
+
+    @Test
+    void statReportsStoredContentType() {
+        put("object.bin", new byte[]{1, 2, 3});
+
+        assertThat(storage.stat("object.bin")).hasValueSatisfying(stat -> {
+            assertThat(stat.size()).isEqualTo(3);
+            assertThat(stat.contentType()).isEqualTo("application/octet-stream");
+        });
+    }
+
+    @Test
+    void serverErrorsAreStorageAccessFailures() {
+        standIn.failNextRequests(1);
+
+        assertThatThrownBy(() -> storage.get("object.bin")).isInstanceOf(AssetStorage.StorageAccessException.class);
+    }
+
+    @Test
+    void rejectedRequestsAreNotRetryable() {
+        AssetStorage wrongKey = new SupabaseAssetStorage(standIn.url(), "assets", "wrong-key");
+
+        assertThatThrownBy(() -> wrongKey.get("object.bin"))
+                .isInstanceOfSatisfying(AssetStorage.StorageAccessException.class, e -> assertThat(e.isRetryable()).isFalse());
+    }
+
+    @Test
+    void slowResponsesTimeOut() {
+        put("object.bin", new byte[]{1});
+        AssetStorage impatient = new SupabaseAssetStorage(
+                SupabaseAssetStorage.newHttpClient(Duration.ofSeconds(1)),
+                standIn.url(),
+                "assets",
+                "test-key",
+                Duration.ofMillis(100),
+                Duration.ofSeconds(1)
+        );
+        standIn.delayResponses(1_000);
+
+        assertThatThrownBy(() -> impatient.get("object.bin"))
+                .isInstanceOfSatisfying(AssetStorage.StorageAccessException.class, e -> assertThat(e.isRetryable()).isTrue());
+    }
+
+    @Test
+    void unsatisfiableRangeWithoutContentRangeStillReportsTheTotalLength() throws IOException {
+        put("object.bin", new byte[]{1, 2, 3});
+        standIn.omitUnsatisfiedContentRange();
+        List<HttpRange> pastTheEnd = HttpRange.parseRanges("bytes=10-20");
+
+        try (AssetStorage.StoredObject hinted = storage.range("object.bin", pastTheEnd, 3)) {
+            assertThat(hinted.totalLength()).isEqualTo(3);
+            assertThat(hinted.body().contentLength()).isZero();
+        }
+        try (AssetStorage.StoredObject unhinted = storage.range("object.bin", pastTheEnd, -1)) {
+            assertThat(unhinted.totalLength()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void signedUrlsServeTheObjectWithoutCredentials() throws Exception {
+        put("object.bin", new byte[]{4, 5, 6});
+
+        AssetStorage.SignedUrl signed = storage.signedUrl("object.bin", Duration.ofMinutes(5), "firmware v1.bin").orElseThrow();
+
+        assertThat(signed.expiresAt()).isAfter(Instant.now().plus(Duration.ofMinutes(4)));
+        assertThat(signed.uri().toString())
+                .startsWith(standIn.url() + "/storage/v1/object/sign/assets/object.bin?token=")
+                .contains("e=300")
+                .endsWith("&download=firmware%20v1.bin");
+        HttpResponse<byte[]> response = HttpClient.newHttpClient()
+                .send(HttpRequest.newBuilder(signed.uri()).build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).containsExactly(4, 5, 6);
+
+        assertThatThrownBy(() -> storage.signedUrl("missing.bin", Duration.ofMinutes(5), null))
+                .isInstanceOf(AssetStorage.ObjectNotFoundException.class);
+    }
+}
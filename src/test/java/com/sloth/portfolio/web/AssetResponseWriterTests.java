@@ -0,0 +1,197 @@
+package com.sloth.portfolio.web;
+
+import com.sloth.portfolio.service.ProjectAssetService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpRange;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AssetResponseWriterTests {
+
+    private static final Instant CREATED_AT = Instant.parse("2026-01-05T10:15:30Z");
+    private static final byte[] BODY = "0123456789abcdefghij".getBytes(StandardCharsets.US_ASCII);
+
+    private static final ProjectAssetService.AssetMetadata METADATA = new ProjectAssetService.AssetMetadata(
+            "1-asset.bin",
+            "asset.bin",
+            "application/octet-stream",
+            false,
+            BODY.length,
+            CREATED_AT,
+            null
+    );
+
+    private final AssetResponseWriter writer = new AssetResponseWriter(true, DataSize.ofBytes(16));
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void writesSingleRangeAsPartialContent() throws Exception {
+        MockHttpServletResponse response = write("bytes=2-5", null);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes 2-5/20");
+        assertThat(response.getContentAsString()).isEqualTo("2345");
+    }
+
+    @Test
+    void writesMultipleRangesAsMultipartByteranges() throws Exception {
+        MockHttpServletResponse response = write("bytes=15-16,0-1", null);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentType()).startsWith("multipart/byteranges; boundary=");
+        assertThat(response.getContentAsString())
+                .contains("Content-Range: bytes 0-1/20\r\n\r\n01")
+                .contains("Content-Range: bytes 15-16/20\r\n\r\nfg");
+    }
+
+    @Test
+    void servesFullBodyWhenIfRangeDoesNotMatch() throws Exception {
+        MockHttpServletResponse response = write("bytes=2-5", "Tue, 06 Jan 2026 10:15:30 GMT");
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).isEqualTo(BODY);
+    }
+
+    @Test
+    void honoursRangeWhenIfRangeMatchesLastModified() throws Exception {
+        MockHttpServletResponse response = write("bytes=-3", "Mon, 05 Jan 2026 10:15:30 GMT");
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsString()).isEqualTo("hij");
+    }
+
+    @Test
+    void honoursRangeWhenIfRangeMatchesEntityTag() throws Exception {
+        MockHttpServletResponse response = write("bytes=0-0", METADATA.etag());
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader("ETag")).isEqualTo(METADATA.etag());
+        assertThat(response.getContentAsString()).isEqualTo("0");
+    }
+
+    @Test
+    void answersNotModifiedForMatchingEntityTag() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/public/assets/file/1-asset.bin");
+        request.addHeader("If-None-Match", METADATA.etag());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(writer.checkNotModified(request, response, METADATA)).isTrue();
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getHeader("ETag")).isEqualTo(METADATA.etag());
+        assertThat(response.getHeader("Cache-Control")).contains("immutable");
+    }
+
+    @Test
+    void answersNotModifiedForUnchangedLastModified() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/public/assets/file/1-asset.bin");
+        request.addHeader("If-Modified-Since", "Mon, 05 Jan 2026 10:15:30 GMT");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(writer.checkNotModified(request, response, METADATA)).isTrue();
+        assertThat(response.getStatus()).isEqualTo(304);
+    }
+
+    @Test
+    void rejectsUnsatisfiableRange() throws Exception {
+        MockHttpServletResponse response = write("bytes=40-50", null);
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes */20");
+    }
+
+    @Test
+    void refusesRangeWithoutCachingWhenStorageDidNotReportTheSize() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        writer.write(
+                request,
+                response,
+                new ProjectAssetService.AssetFile(METADATA, new ByteArrayResource(new byte[0]), 0, -1),
+                HttpRange.parseRanges("bytes=40-50")
+        );
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes */*");
+        assertThat(response.getHeader("ETag")).isNull();
+        assertThat(response.getHeader("Cache-Control")).isNull();
+    }
+
+    @Test
+    void delegatesLargeFileBodyToContainerSendfile() throws Exception {
+        Path file = Files.write(tempDir.resolve("1-asset.bin"), BODY);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/public/assets/file/1-asset.bin");
+        request.setAttribute(AssetResponseWriter.SENDFILE_SUPPORTED_ATTR, Boolean.TRUE);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        writer.write(request, response, fileAsset(file), List.of());
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentLengthLong()).isEqualTo(BODY.length);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(request.getAttribute(AssetResponseWriter.SENDFILE_FILENAME_ATTR)).isEqualTo(file.toFile().getAbsolutePath());
+        assertThat(request.getAttribute(AssetResponseWriter.SENDFILE_START_ATTR)).isEqualTo(0L);
+        assertThat(request.getAttribute(AssetResponseWriter.SENDFILE_END_ATTR)).isEqualTo((long) BODY.length);
+    }
+
+    @Test
+    void copiesBodyWhenContainerDoesNotSupportSendfile() throws Exception {
+        Path file = Files.write(tempDir.resolve("1-asset.bin"), BODY);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/public/assets/file/1-asset.bin");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        writer.write(request, response, fileAsset(file), List.of());
+
+        assertThat(response.getContentAsByteArray()).isEqualTo(BODY);
+        assertThat(request.getAttribute(AssetResponseWriter.SENDFILE_FILENAME_ATTR)).isNull();
+    }
+
+    @Test
+    void coalescesOverlappingRanges() {
+        List<AssetResponseWriter.ByteSpan> spans = AssetResponseWriter.resolveSpans(
+                HttpRange.parseRanges("bytes=10-12,0-3,2-6,7-8"),
+                20
+        );
+
+        assertThat(spans).containsExactly(
+                new AssetResponseWriter.ByteSpan(0, 8),
+                new AssetResponseWriter.ByteSpan(10, 12)
+        );
+    }
+
+    private MockHttpServletResponse write(String range, String ifRange) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Range", range);
+        if (ifRange != null) {
+            request.addHeader("If-Range", ifRange);
+        }
+
+        List<HttpRange> ranges = writer.resolveRequestedRanges(request, METADATA);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        writer.write(
+                request,
+                response,
+                new ProjectAssetService.AssetFile(METADATA, new ByteArrayResource(BODY), 0, BODY.length),
+                ranges
+        );
+        return response;
+    }
+
+    private static ProjectAssetService.AssetFile fileAsset(Path file) {
+        return new ProjectAssetService.AssetFile(METADATA, new FileSystemResource(file.toFile()), 0, BODY.length);
+    }
+}